@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark;
+
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.Order;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.OrderLine;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shared setup of the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String COLLECTION_NAME = "orders";
+    public static final String ORDER_ID = "order-1";
+    public static final String CUSTOMER = "customer-1";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static MappingDocumentDbConverter createConverter() {
+        final DocumentDbMappingContext mappingContext = new DocumentDbMappingContext();
+
+        mappingContext.setInitialEntitySet(Collections.singleton(Order.class));
+        mappingContext.initialize();
+
+        return new MappingDocumentDbConverter(mappingContext, null);
+    }
+
+    /**
+     * @param lineCount count of order lines, which sets the size of the document
+     */
+    public static Order createOrder(int lineCount) {
+        final List<OrderLine> lines = new ArrayList<>(lineCount);
+
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine("sku-" + i, i % 5 + 1, 9.99 + i));
+        }
+
+        return new Order(ORDER_ID, CUSTOMER, "OPEN", lines);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.Order;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between entities and documents, for entities of growing size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int lineCount;
+
+    private MappingDocumentDbConverter converter;
+    private Order order;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        converter = BenchmarkFixtures.createConverter();
+        order = BenchmarkFixtures.createOrder(lineCount);
+        document = new Document();
+        converter.write(order, document);
+    }
+
+    @Benchmark
+    public Document write() {
+        final Document target = new Document();
+
+        converter.write(order, target);
+
+        return target;
+    }
+
+    @Benchmark
+    public Order read() {
+        return converter.read(Order.class, document);
+    }
+}
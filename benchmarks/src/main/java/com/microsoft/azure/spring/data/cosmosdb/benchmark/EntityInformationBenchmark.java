@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark;
+
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.Order;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflection over the entity class, run for each repository and on each template call resolving a collection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityInformationBenchmark {
+
+    @Benchmark
+    public DocumentDbEntityInformation<Order, String> create() {
+        return new DocumentDbEntityInformation<>(Order.class);
+    }
+
+    @Benchmark
+    public DocumentDbEntityInformation<Order, String> getCached() {
+        return DocumentDbEntityInformation.getInstance(Order.class);
+    }
+}
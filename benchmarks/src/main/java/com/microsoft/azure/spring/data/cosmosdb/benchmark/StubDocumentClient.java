@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark;
+
+import com.microsoft.azure.documentdb.ConnectionPolicy;
+import com.microsoft.azure.documentdb.ConsistencyLevel;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.Resource;
+import com.microsoft.azure.documentdb.ResourceResponse;
+import com.microsoft.azure.documentdb.internal.DocumentServiceResponse;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Document client answering point operations in memory without any network call, so that benchmarks of the
+ * template measure the cost of the library and of the SDK request handling only. Written documents are echoed
+ * back, reads return the document set by {@link #setReadDocument(Document)}.
+ */
+public class StubDocumentClient extends DocumentClient {
+
+    private static final String SERVICE_ENDPOINT = "https://localhost:8081/";
+    // Well known key of the local emulator, never used to sign a request sent anywhere
+    private static final String MASTER_KEY =
+            "C2y6yDjf5/R+ob0N8A7Cgv30VRDJIWEHLM+4QDU5DE2nQ9nDuVTqobD4b8mGGyPMbIZnqyMsEcaGQy67XIw/Jw==";
+    private static final String REQUEST_CHARGE = "5.71";
+
+    private static final Constructor<?> RESPONSE_CONSTRUCTOR = getResponseConstructor();
+
+    private volatile String readDocumentJson = "{}";
+
+    public StubDocumentClient() {
+        super(SERVICE_ENDPOINT, MASTER_KEY, ConnectionPolicy.GetDefault(), ConsistencyLevel.Session);
+    }
+
+    public void setReadDocument(Document document) {
+        this.readDocumentJson = document.toJson();
+    }
+
+    @Override
+    public ResourceResponse<Document> createDocument(String collectionLink, Object document, RequestOptions options,
+                                                     boolean disableAutomaticIdGeneration) {
+        return createResponse(toJson(document));
+    }
+
+    @Override
+    public ResourceResponse<Document> upsertDocument(String collectionLink, Object document, RequestOptions options,
+                                                     boolean disableAutomaticIdGeneration) {
+        return createResponse(toJson(document));
+    }
+
+    @Override
+    public ResourceResponse<Document> readDocument(String documentLink, RequestOptions options) {
+        return createResponse(readDocumentJson);
+    }
+
+    @Override
+    public ResourceResponse<Document> deleteDocument(String documentLink, RequestOptions options) {
+        return createResponse("{}");
+    }
+
+    private static String toJson(Object document) {
+        return document instanceof Resource ? ((Resource) document).toJson() : String.valueOf(document);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResourceResponse<Document> createResponse(String json) {
+        final BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+
+        httpResponse.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        httpResponse.addHeader(HttpConstants.HttpHeaders.REQUEST_CHARGE, REQUEST_CHARGE);
+
+        try {
+            return (ResourceResponse<Document>) RESPONSE_CONSTRUCTOR.newInstance(
+                    new DocumentServiceResponse(httpResponse, false), Document.class);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create stub response", e);
+        }
+    }
+
+    /**
+     * Responses of the SDK are created by the SDK only, the package private constructor is used to fake them.
+     */
+    private static Constructor<?> getResponseConstructor() {
+        try {
+            final Constructor<?> constructor = ResourceResponse.class.getDeclaredConstructor(
+                    DocumentServiceResponse.class, Class.class);
+
+            constructor.setAccessible(true);
+
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("unexpected document client version", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.Order;
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point operations of the template against a client answering in memory, the overhead added by the library
+ * and the SDK on top of the network round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+    private static final String DATABASE_NAME = "benchmarkdb";
+
+    @Param({"0", "10", "100"})
+    private int lineCount;
+
+    private StubDocumentClient documentClient;
+    private DocumentDbTemplate template;
+    private Order order;
+    private PartitionKey partitionKey;
+
+    @Setup
+    public void setUp() {
+        final MappingDocumentDbConverter converter = BenchmarkFixtures.createConverter();
+        final Document document = new Document();
+
+        order = BenchmarkFixtures.createOrder(lineCount);
+        partitionKey = new PartitionKey(order.getCustomer());
+        converter.write(order, document);
+
+        documentClient = new StubDocumentClient();
+        documentClient.setReadDocument(document);
+        template = new DocumentDbTemplate(new DocumentDbFactory(documentClient), converter, DATABASE_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        documentClient.close();
+    }
+
+    @Benchmark
+    public Order insert() {
+        return template.insert(BenchmarkFixtures.COLLECTION_NAME, order, partitionKey);
+    }
+
+    @Benchmark
+    public Order findById() {
+        return template.findById(BenchmarkFixtures.COLLECTION_NAME, BenchmarkFixtures.ORDER_ID, Order.class);
+    }
+
+    @Benchmark
+    public Order upsert() {
+        template.upsert(BenchmarkFixtures.COLLECTION_NAME, order, partitionKey);
+
+        return order;
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.benchmark.domain;
+
+import com.microsoft.azure.spring.data.cosmosdb.repository.DocumentDbRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepository extends DocumentDbRepository<Order, String> {
+
+    List<Order> findByCustomer(String customer);
+
+    List<Order> findByCustomerAndTotalGreaterThanAndPaidTrue(String customer, double total);
+
+    List<Order> findByStatusInOrCustomerStartingWithOrderByTotalDesc(Collection<String> statuses, String prefix);
+}
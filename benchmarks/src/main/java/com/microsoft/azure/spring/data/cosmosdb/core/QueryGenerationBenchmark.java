@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.BenchmarkFixtures;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.Order;
+import com.microsoft.azure.spring.data.cosmosdb.benchmark.domain.OrderRepository;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.DocumentDbParameterParameterAccessor;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.DocumentDbQueryCreator;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.DocumentDbQueryMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compilation of derived queries, from the parsed method name to the SQL query spec sent to database. The
+ * generator is in the package of the template, so is this benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryGenerationBenchmark {
+
+    @Param({"findByCustomer", "findByCustomerAndTotalGreaterThanAndPaidTrue",
+            "findByStatusInOrCustomerStartingWithOrderByTotalDesc"})
+    private String methodName;
+
+    private MappingDocumentDbConverter converter;
+    private MappingContext<?, DocumentDbPersistentProperty> mappingContext;
+    private QuerySpecGenerator generator;
+    private DocumentDbQueryMethod queryMethod;
+    private PartTree tree;
+    private Object[] arguments;
+    private Query query;
+
+    @Setup
+    public void setUp() {
+        final Method method = Arrays.stream(OrderRepository.class.getMethods())
+                .filter(m -> m.getName().equals(methodName)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown repository method " + methodName));
+
+        converter = BenchmarkFixtures.createConverter();
+        mappingContext = converter.getMappingContext();
+        generator = new QuerySpecGenerator(converter);
+        queryMethod = new DocumentDbQueryMethod(method, new DefaultRepositoryMetadata(OrderRepository.class),
+                new SpelAwareProxyProjectionFactory());
+        tree = new PartTree(methodName, Order.class);
+        arguments = createArguments(method);
+        query = createQuery();
+    }
+
+    private static Object[] createArguments(Method method) {
+        final Object[] values = new Object[method.getParameterCount()];
+
+        for (int i = 0; i < values.length; i++) {
+            final Class<?> type = method.getParameterTypes()[i];
+
+            if (type == String.class) {
+                values[i] = BenchmarkFixtures.CUSTOMER;
+            } else if (type == double.class) {
+                values[i] = 100.0;
+            } else {
+                values[i] = Arrays.asList("OPEN", "SHIPPED");
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Criteria of the query from the parsed method name and the arguments, as done on each repository call.
+     */
+    @Benchmark
+    public Query createQuery() {
+        return new DocumentDbQueryCreator(tree, new DocumentDbParameterParameterAccessor(queryMethod, arguments),
+                mappingContext).createQuery();
+    }
+
+    /**
+     * SQL of the query, with the text of the query shape cached by the generator.
+     */
+    @Benchmark
+    public SqlQuerySpec generate() {
+        return generator.generate(query, Order.class);
+    }
+
+    /**
+     * SQL of the query generated from scratch, the cost paid once per query shape.
+     */
+    @Benchmark
+    public SqlQuerySpec generateUncached() {
+        return new QuerySpecGenerator(converter).generate(query, Order.class);
+    }
+
+    /**
+     * Parsing of the method name, done once per repository method at startup.
+     */
+    @Benchmark
+    public PartTree parseMethodName() {
+        return new PartTree(methodName, Order.class);
+    }
+}
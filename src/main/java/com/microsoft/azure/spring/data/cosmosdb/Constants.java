@@ -18,8 +18,20 @@ public class Constants {
     public static final IndexingMode DEFAULT_INDEXINGPOLICY_MODE = IndexingMode.Consistent;
     public static final String DEFAULT_REPOSITORY_IMPLEMENT_POSTFIX = "Impl";
     public static final int DEFAULT_TIME_TO_LIVE = -1; // Indicates never expire
+    public static final long DEFAULT_COLLECTION_CACHE_TIME_TO_LIVE = 300; // In seconds
+    public static final int DEFAULT_BULK_WRITE_PARALLELISM = 8;
+    public static final int DEFAULT_BULK_WRITE_BATCH_SIZE = 100;
+    public static final int DEFAULT_BULK_WRITE_THROTTLE_RETRIES = 5;
+    public static final int DEFAULT_THROTTLE_RETRIES = 5;
+    public static final int DEFAULT_QUERY_PARALLELISM = 8;
+    public static final int DEFAULT_FIND_BY_IDS_CHUNK_SIZE = 100;
+    public static final int DEFAULT_ASYNC_PARALLELISM = 16;
+    public static final int DEFAULT_UPDATE_BATCH_SIZE = 100;
+    public static final int DEFAULT_ENTITY_CACHE_MAXIMUM_SIZE = 10000;
+    public static final long DEFAULT_ENTITY_CACHE_TIME_TO_LIVE = 60; // In seconds
 
     public static final String ID_PROPERTY_NAME = "id";
+    public static final String ETAG_PROPERTY_NAME = "_etag";
 
     public static final String DOCUMENTDB_MODULE_NAME = "cosmosdb";
     public static final String DOCUMENTDB_MODULE_PREFIX = "cosmosdb";
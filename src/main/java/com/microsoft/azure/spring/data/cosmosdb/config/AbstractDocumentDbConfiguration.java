@@ -10,13 +10,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.documentdb.DocumentClient;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 public abstract class AbstractDocumentDbConfiguration extends DocumentDbConfigurationSupport {
 
@@ -35,7 +39,34 @@ public abstract class AbstractDocumentDbConfiguration extends DocumentDbConfigur
 
     @Bean
     public DocumentDbTemplate documentDbTemplate() throws ClassNotFoundException {
-        return new DocumentDbTemplate(this.documentDbFactory(), this.mappingDocumentDbConverter(), this.getDatabase());
+        final DocumentDbTemplate template = new DocumentDbTemplate(this.documentDbFactory(),
+                this.mappingDocumentDbConverter(), this.getDatabase());
+
+        template.setMetricsListener(this.metricsListener());
+
+        return template;
+    }
+
+    /**
+     * Listener receiving the request charge and latency of each template operation, no metrics by default.
+     */
+    protected DocumentDbMetricsListener metricsListener() {
+        return DocumentDbMetricsListener.NOOP;
+    }
+
+    @Bean
+    public AsyncDocumentDbTemplate asyncDocumentDbTemplate() throws ClassNotFoundException {
+        final Executor executor = this.asyncExecutor();
+
+        return executor == null ? new AsyncDocumentDbTemplate(this.documentDbTemplate())
+                : new AsyncDocumentDbTemplate(this.documentDbTemplate(), executor);
+    }
+
+    /**
+     * Executor running the operations of {@link AsyncDocumentDbTemplate}, null to let the template create its own.
+     */
+    protected Executor asyncExecutor() {
+        return null;
     }
 
     @Bean
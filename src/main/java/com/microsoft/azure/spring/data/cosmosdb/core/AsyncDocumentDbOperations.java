@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Non blocking counterpart of {@link DocumentDbOperations}, each operation returns at once and completes its
+ * future when database responds. A failed operation completes its future exceptionally with the exception the
+ * blocking operation would throw, as received by {@code exceptionally} or {@code handle}, while {@code join}
+ * wraps it in a {@link java.util.concurrent.CompletionException} as for any future.
+ */
+public interface AsyncDocumentDbOperations {
+
+    /**
+     * Run any blocking operation the way the other operations are run, e.g. to compose several operations in
+     * one asynchronous step.
+     */
+    <R> CompletableFuture<R> execute(Function<DocumentDbOperations, R> action);
+
+    CompletableFuture<DocumentCollection> createCollectionIfNotExists(DocumentDbEntityInformation information,
+                                                                     String partitionKeyFieldName);
+
+    <T> CompletableFuture<List<T>> findAll(String collectionName, Class<T> entityClass);
+
+    <T> CompletableFuture<T> findById(String collectionName,
+                                      Object id,
+                                      Class<T> entityClass);
+
+    <T> CompletableFuture<List<T>> findByIds(String collectionName,
+                                             Iterable<?> ids,
+                                             Class<T> entityClass);
+
+    CompletableFuture<Boolean> existsById(String collectionName,
+                                          Object id,
+                                          PartitionKey partitionKey);
+
+    <T> CompletableFuture<Boolean> exists(Query query,
+                                          Class<T> domainClass,
+                                          String collectionName);
+
+    <T> CompletableFuture<List<T>> find(Query query,
+                                        Class<T> entityClass,
+                                        String collectionName);
+
+    /**
+     * Read one page of entities. The next page is only read when requested by {@code nextPageable()} of the
+     * completed page, so the consumer decides when more entities are fetched.
+     */
+    <T> CompletableFuture<Page<T>> findAll(Pageable pageable, Class<T> domainClass, String collectionName);
+
+    <T> CompletableFuture<Page<T>> paginationQuery(Query query, Class<T> domainClass, String collectionName);
+
+    <T> CompletableFuture<Slice<T>> sliceQuery(Query query, Class<T> domainClass, String collectionName);
+
+    CompletableFuture<Long> count(String collectionName);
+
+    <T> CompletableFuture<Long> count(Query query, Class<T> domainClass, String collectionName);
+
+    <T> CompletableFuture<T> insert(String collectionName,
+                                    T objectToSave,
+                                    PartitionKey partitionKey);
+
+    <T> CompletableFuture<Void> upsert(String collectionName,
+                                       T object,
+                                       PartitionKey partitionKey);
+
+    <T> CompletableFuture<BulkWriteResult<T>> insertAll(String collectionName, Iterable<T> objectsToSave);
+
+    <T> CompletableFuture<BulkWriteResult<T>> upsertAll(String collectionName, Iterable<T> objects);
+
+    CompletableFuture<Void> deleteById(String collectionName,
+                                       Object id,
+                                       PartitionKey partitionKey);
+
+    CompletableFuture<Void> deleteAll(String collectionName);
+
+    <T> CompletableFuture<List<T>> delete(Query query, Class<T> entityClass, String collectionName);
+}
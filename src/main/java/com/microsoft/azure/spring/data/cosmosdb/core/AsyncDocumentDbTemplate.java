@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Run the blocking operations of a {@link DocumentDbOperations} on an executor. The calling thread only submits
+ * the operation, the network round trip is waited on by a thread of the executor.
+ * <p>
+ * Without a given executor, one thread per operation is started when the runtime supports virtual threads, else
+ * a pool of {@link Constants#DEFAULT_ASYNC_PARALLELISM} threads is used. Such owned executor is shut down on
+ * {@link #destroy()}, a given executor is left to its owner.
+ */
+public class AsyncDocumentDbTemplate implements AsyncDocumentDbOperations, DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "documentdb-async-";
+
+    private final DocumentDbOperations operations;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    public AsyncDocumentDbTemplate(DocumentDbOperations operations) {
+        Assert.notNull(operations, "operations should not be null");
+
+        this.operations = operations;
+        this.ownedExecutor = createDefaultExecutor();
+        this.executor = this.ownedExecutor;
+    }
+
+    public AsyncDocumentDbTemplate(DocumentDbOperations operations, Executor executor) {
+        Assert.notNull(operations, "operations should not be null");
+        Assert.notNull(executor, "executor should not be null");
+
+        this.operations = operations;
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        try {
+            final Method virtualThreadExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) virtualThreadExecutor.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Constants.DEFAULT_ASYNC_PARALLELISM,
+                    new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        }
+    }
+
+    public DocumentDbOperations getOperations() {
+        return operations;
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(Function<DocumentDbOperations, R> action) {
+        Assert.notNull(action, "action should not be null");
+
+        final String repositoryMethod = DocumentDbMetricsContext.getRepositoryMethod();
+
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        // Completed here instead of by supplyAsync, which would wrap the failure in a CompletionException
+        executor.execute(() -> {
+            final String previous = DocumentDbMetricsContext.setRepositoryMethod(repositoryMethod);
+
+            try {
+                future.complete(action.apply(operations));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                DocumentDbMetricsContext.setRepositoryMethod(previous);
+            }
+        });
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<DocumentCollection> createCollectionIfNotExists(DocumentDbEntityInformation information,
+                                                                            String partitionKeyFieldName) {
+        return execute(ops -> ops.createCollectionIfNotExists(information, partitionKeyFieldName));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> findAll(String collectionName, Class<T> entityClass) {
+        return execute(ops -> ops.findAll(collectionName, entityClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> findById(String collectionName, Object id, Class<T> entityClass) {
+        return execute(ops -> ops.findById(collectionName, id, entityClass));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> findByIds(String collectionName, Iterable<?> ids, Class<T> entityClass) {
+        return execute(ops -> ops.findByIds(collectionName, ids, entityClass));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsById(String collectionName, Object id, PartitionKey partitionKey) {
+        return execute(ops -> ops.existsById(collectionName, id, partitionKey));
+    }
+
+    @Override
+    public <T> CompletableFuture<Boolean> exists(Query query, Class<T> domainClass, String collectionName) {
+        return execute(ops -> ops.exists(query, domainClass, collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> find(Query query, Class<T> entityClass, String collectionName) {
+        return execute(ops -> ops.find(query, entityClass, collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<T>> findAll(Pageable pageable, Class<T> domainClass, String collectionName) {
+        return execute(ops -> ops.findAll(pageable, domainClass, collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<T>> paginationQuery(Query query, Class<T> domainClass, String collectionName) {
+        return execute(ops -> ops.paginationQuery(query, domainClass, collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<Slice<T>> sliceQuery(Query query, Class<T> domainClass, String collectionName) {
+        return execute(ops -> ops.sliceQuery(query, domainClass, collectionName));
+    }
+
+    @Override
+    public CompletableFuture<Long> count(String collectionName) {
+        return execute(ops -> ops.count(collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<Long> count(Query query, Class<T> domainClass, String collectionName) {
+        return execute(ops -> ops.count(query, domainClass, collectionName));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> insert(String collectionName, T objectToSave, PartitionKey partitionKey) {
+        return execute(ops -> ops.insert(collectionName, objectToSave, partitionKey));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> upsert(String collectionName, T object, PartitionKey partitionKey) {
+        return execute(ops -> {
+            ops.upsert(collectionName, object, partitionKey);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<BulkWriteResult<T>> insertAll(String collectionName, Iterable<T> objectsToSave) {
+        return execute(ops -> ops.insertAll(collectionName, objectsToSave));
+    }
+
+    @Override
+    public <T> CompletableFuture<BulkWriteResult<T>> upsertAll(String collectionName, Iterable<T> objects) {
+        return execute(ops -> ops.upsertAll(collectionName, objects));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(String collectionName, Object id, PartitionKey partitionKey) {
+        return execute(ops -> {
+            ops.deleteById(collectionName, id, partitionKey);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(String collectionName) {
+        return execute(ops -> {
+            ops.deleteAll(collectionName);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> delete(Query query, Class<T> entityClass, String collectionName) {
+        return execute(ops -> ops.delete(query, entityClass, collectionName));
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+}
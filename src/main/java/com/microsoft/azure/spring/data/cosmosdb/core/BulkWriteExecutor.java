@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Run single item writes of a bulk concurrently. Items are grouped by partition key value and cut into
+ * batches, each batch is written serially by one worker while up to {@code parallelism} workers take batches
+ * in turn on the given executor, which is shared with other operations and bounds their threads overall.
+ * Writes are admitted by the rate limiter of the collection, a throttled (429) write holds all workers for the
+ * retry interval returned by database, then the item is retried.
+ */
+class BulkWriteExecutor {
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int batchSize;
+    private final int maxThrottleRetries;
+    private final RequestRateLimiter rateLimiter;
+
+    BulkWriteExecutor(ExecutorService executor, int parallelism, int batchSize, int maxThrottleRetries) {
+        this(executor, parallelism, batchSize, maxThrottleRetries, new RequestRateLimiter(0));
+    }
+
+    BulkWriteExecutor(ExecutorService executor, int parallelism, int batchSize, int maxThrottleRetries,
+                      RequestRateLimiter rateLimiter) {
+        Assert.notNull(executor, "executor should not be null");
+        Assert.isTrue(parallelism > 0, "parallelism should be positive");
+        Assert.isTrue(batchSize > 0, "batchSize should be positive");
+        Assert.isTrue(maxThrottleRetries >= 0, "maxThrottleRetries should not be negative");
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.maxThrottleRetries = maxThrottleRetries;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @param items          items to write
+     * @param partitionKeyOf partition key value of item, used to group items into batches
+     * @param writer         single item write, returns the written item
+     */
+    <T> BulkWriteResult<T> execute(List<T> items, Function<T, Object> partitionKeyOf, Function<T, T> writer) {
+        if (items.isEmpty()) {
+            return BulkWriteResult.empty();
+        }
+
+        final List<List<Integer>> batches = createBatches(items, partitionKeyOf);
+        final Object[] results = new Object[items.size()];
+        final RuntimeException[] errors = new RuntimeException[items.size()];
+        final AtomicInteger nextBatch = new AtomicInteger();
+        final int workerCount = Math.min(parallelism, batches.size());
+        final List<Future<?>> futures = new ArrayList<>(workerCount);
+
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int next = nextBatch.getAndIncrement(); next < batches.size();
+                         next = nextBatch.getAndIncrement()) {
+                        writeBatch(items, batches.get(next), writer, results, errors);
+                    }
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentDBAccessException("bulk write interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DocumentDBAccessException("bulk write exception", e.getCause());
+        } finally {
+            // Workers still running take no further batch once the caller stopped waiting
+            nextBatch.set(batches.size());
+        }
+
+        return collect(items, results, errors);
+    }
+
+    private <T> void writeBatch(List<T> items, List<Integer> batch, Function<T, T> writer, Object[] results,
+                                RuntimeException[] errors) {
+        for (final Integer index : batch) {
+            try {
+                results[index] = write(items.get(index), writer);
+            } catch (RuntimeException e) {
+                errors[index] = e;
+            }
+        }
+    }
+
+    private <T> List<List<Integer>> createBatches(List<T> items, Function<T, Object> partitionKeyOf) {
+        final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            groups.computeIfAbsent(partitionKeyOf.apply(items.get(i)), key -> new ArrayList<>()).add(i);
+        }
+
+        final List<List<Integer>> batches = new ArrayList<>();
+
+        for (final List<Integer> group : groups.values()) {
+            for (int start = 0; start < group.size(); start += batchSize) {
+                batches.add(group.subList(start, Math.min(start + batchSize, group.size())));
+            }
+        }
+
+        return batches;
+    }
+
+    private <T> T write(T item, Function<T, T> writer) {
+        int retries = 0;
+
+        while (true) {
+            rateLimiter.acquire();
+
+            try {
+                return writer.apply(item);
+            } catch (RuntimeException e) {
+                final DocumentClientException throttled = RequestRateLimiter.getThrottledException(e);
+
+                if (throttled == null || retries++ >= maxThrottleRetries) {
+                    throw e;
+                }
+
+                rateLimiter.onThrottled(throttled.getRetryAfterInMilliseconds());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BulkWriteResult<T> collect(List<T> items, Object[] results, RuntimeException[] errors) {
+        final List<T> succeeded = new ArrayList<>(items.size());
+        final List<BulkWriteResult.Failure<T>> failures = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                succeeded.add((T) results[i]);
+            } else {
+                failures.add(new BulkWriteResult.Failure<>(i, items.get(i), errors[i]));
+            }
+        }
+
+        return new BulkWriteResult<>(succeeded, failures);
+    }
+}
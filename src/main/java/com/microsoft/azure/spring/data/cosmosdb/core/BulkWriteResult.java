@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per item outcome of a bulk write. Results and failures are both kept in the order of the written items.
+ *
+ * @param <T> type of the written items
+ */
+public class BulkWriteResult<T> {
+
+    private final List<T> results;
+    private final List<Failure<T>> failures;
+
+    public BulkWriteResult(List<T> results, List<Failure<T>> failures) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+        this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    public static <T> BulkWriteResult<T> empty() {
+        return new BulkWriteResult<>(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * @return items returned by database for each successful write
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    public List<Failure<T>> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    public static class Failure<T> {
+        private final int index;
+        private final T item;
+        private final RuntimeException cause;
+
+        public Failure(int index, T item, RuntimeException cause) {
+            this.index = index;
+            this.item = item;
+            this.cause = cause;
+        }
+
+        /**
+         * @return position of the failed item in the written items
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public RuntimeException getCause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time bounded cache of resolved collections, keyed by database and collection name. A cached
+ * {@link DocumentCollection} carries the self link, partition key definition and indexing policy,
+ * which saves the collection lookup round trip in front of every query.
+ */
+public class DocumentCollectionCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long timeToLiveInNanos;
+
+    public DocumentCollectionCache(long timeToLiveInSeconds) {
+        setTimeToLive(timeToLiveInSeconds);
+    }
+
+    public void setTimeToLive(long timeToLiveInSeconds) {
+        Assert.isTrue(timeToLiveInSeconds >= 0, "timeToLiveInSeconds should not be negative");
+
+        this.timeToLiveInNanos = TimeUnit.SECONDS.toNanos(timeToLiveInSeconds);
+    }
+
+    @Nullable
+    public DocumentCollection get(@NonNull String databaseName, @NonNull String collectionName) {
+        final String key = getKey(databaseName, collectionName);
+        final Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        } else if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry.getCollection();
+    }
+
+    /**
+     * Return the cached collection, or resolve it with the given loader and cache the result.
+     * Concurrent callers missing the same key may each invoke the loader, the last one wins.
+     */
+    @NonNull
+    public DocumentCollection get(@NonNull String databaseName, @NonNull String collectionName,
+                                  @NonNull Supplier<DocumentCollection> loader) {
+        final DocumentCollection cached = get(databaseName, collectionName);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final DocumentCollection collection = loader.get();
+        Assert.notNull(collection, "loaded collection should not be null");
+
+        put(databaseName, collectionName, collection);
+
+        return collection;
+    }
+
+    public void put(@NonNull String databaseName, @NonNull String collectionName,
+                    @NonNull DocumentCollection collection) {
+        final long expireAt = System.nanoTime() + timeToLiveInNanos;
+
+        entries.put(getKey(databaseName, collectionName), new Entry(collection, expireAt));
+    }
+
+    public void invalidate(@NonNull String databaseName, @NonNull String collectionName) {
+        entries.remove(getKey(databaseName, collectionName));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private static String getKey(String databaseName, String collectionName) {
+        return databaseName + "/" + collectionName;
+    }
+
+    private static final class Entry {
+        private final DocumentCollection collection;
+        private final long expireAt;
+
+        Entry(DocumentCollection collection, long expireAt) {
+            this.collection = collection;
+            this.expireAt = expireAt;
+        }
+
+        DocumentCollection getCollection() {
+            return collection;
+        }
+
+        boolean isExpired(long now) {
+            return now - expireAt >= 0;
+        }
+    }
+}
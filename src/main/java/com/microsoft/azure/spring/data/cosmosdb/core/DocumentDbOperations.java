@@ -10,7 +10,12 @@ import com.microsoft.azure.documentdb.DocumentCollection;
 import com.microsoft.azure.documentdb.PartitionKey;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
 
 import java.util.List;
 
@@ -25,6 +30,12 @@ public interface DocumentDbOperations {
 
     <T> List<T> findAll(String collectionName, Class<T> entityClass);
 
+    /**
+     * Read all entities of the collection lazily, page by page. The returned iterator should be closed when
+     * not consumed to the end.
+     */
+    <T> CloseableIterator<T> streamAll(String collectionName, Class<T> entityClass);
+
     <T> T findById(Object id,
                    Class<T> entityClass);
 
@@ -32,10 +43,47 @@ public interface DocumentDbOperations {
                    Object id,
                    Class<T> entityClass);
 
+    <T> List<T> findByIds(String collectionName,
+                          Iterable<?> ids,
+                          Class<T> entityClass);
+
+    <T> List<T> findByIds(String collectionName,
+                          Iterable<?> ids,
+                          Class<T> entityClass,
+                          PartitionKey partitionKey);
+
+    boolean existsById(String collectionName,
+                       Object id,
+                       PartitionKey partitionKey);
+
+    <T> boolean exists(Query query,
+                       Class<T> domainClass,
+                       String collectionName);
+
     <T> List<T> find(Query query,
                      Class<T> entityClass,
                      String collectionName);
 
+    /**
+     * Read entities matching the query lazily, page by page. The returned iterator should be closed when
+     * not consumed to the end.
+     */
+    <T> CloseableIterator<T> stream(Query query,
+                                    Class<T> entityClass,
+                                    String collectionName);
+
+    <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName);
+
+    /**
+     * Read the page of {@link Query#getPageable()}, with the total count of matching documents.
+     */
+    <T> Page<T> paginationQuery(Query query, Class<T> domainClass, String collectionName);
+
+    /**
+     * Read the page of {@link Query#getPageable()} without counting matching documents.
+     */
+    <T> Slice<T> sliceQuery(Query query, Class<T> domainClass, String collectionName);
+
     <T> T insert(T objectToSave, PartitionKey partitionKey);
 
     <T> T insert(String collectionName,
@@ -48,13 +96,37 @@ public interface DocumentDbOperations {
                     T object,
                     PartitionKey partitionKey);
 
+    <T> BulkWriteResult<T> insertAll(String collectionName, Iterable<T> objectsToSave);
+
+    <T> BulkWriteResult<T> upsertAll(String collectionName, Iterable<T> objects);
+
     <T> void deleteById(String collectionName,
                         Object id,
                         PartitionKey partitionKey);
 
     void deleteAll(String collectionName);
 
+    long count(String collectionName);
+
+    <T> long count(Query query, Class<T> domainClass, String collectionName);
+
     <T> List<T> delete(Query query, Class<T> entityClass, String collectionName);
 
+    /**
+     * Apply the update to the document of the id on database side, without reading and writing it whole.
+     *
+     * @param partitionKey partition of the document, null to look it up across partitions
+     * @return the updated entity, null if no document has the id
+     */
+    <T> T updateById(String collectionName, Object id, PartitionKey partitionKey, Update update,
+                     Class<T> entityClass);
+
+    /**
+     * Apply the update to the documents matching the query on database side.
+     *
+     * @return the updated entities
+     */
+    <T> List<T> update(Query query, Update update, Class<T> entityClass, String collectionName);
+
     MappingDocumentDbConverter getConverter();
 }
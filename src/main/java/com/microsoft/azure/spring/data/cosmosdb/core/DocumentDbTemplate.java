@@ -8,9 +8,18 @@ package com.microsoft.azure.spring.data.cosmosdb.core;
 
 import com.microsoft.azure.documentdb.*;
 import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsListener;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaDefinition;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageImpl;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbSliceImpl;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
 import com.microsoft.azure.spring.data.cosmosdb.exception.DatabaseCreationException;
 import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalCollectionException;
@@ -19,26 +28,69 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
-public class DocumentDbTemplate implements DocumentDbOperations, ApplicationContextAware {
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class DocumentDbTemplate implements DocumentDbOperations, ApplicationContextAware, DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(DocumentDbTemplate.class);
+    private static final String WORKER_THREAD_NAME_PREFIX = "documentdb-worker-";
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+    private static final String COUNT_SELECT_CLAUSE = "SELECT VALUE COUNT(1) FROM ROOT r";
+    private static final String EXISTS_SELECT_CLAUSE = "SELECT TOP 1 r.id FROM ROOT r";
+    private static final String AGGREGATE_PROPERTY_NAME = "_aggregate";
+    private static final int NOT_MODIFIED = 304;
+    private static final int CONFLICT = 409;
+    private static final int PRECONDITION_FAILED = 412;
 
     private final DocumentDbFactory documentDbFactory;
     private final MappingDocumentDbConverter mappingDocumentDbConverter;
+    private final QuerySpecGenerator querySpecGenerator;
     private final String databaseName;
 
     private Database databaseCache;
-    private List<String> collectionCache;
+    private final Map<String, DocumentCollection> collectionCache;
+    private final DocumentCollectionCache collectionMetadataCache;
+    private int bulkWriteParallelism = Constants.DEFAULT_BULK_WRITE_PARALLELISM;
+    private int bulkWriteBatchSize = Constants.DEFAULT_BULK_WRITE_BATCH_SIZE;
+    private int queryParallelism = Constants.DEFAULT_QUERY_PARALLELISM;
+    private DocumentDbMetricsListener metricsListener = DocumentDbMetricsListener.NOOP;
+    private boolean rateLimitingEnabled = true;
+    private int maxThrottleRetries = Constants.DEFAULT_THROTTLE_RETRIES;
+    private final Map<String, RequestRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final Map<String, DocumentReadCache> entityCaches = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor workerExecutor;
 
     public DocumentDbTemplate(DocumentDbFactory documentDbFactory,
                               MappingDocumentDbConverter mappingDocumentDbConverter,
@@ -49,7 +101,9 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         this.databaseName = dbName;
         this.documentDbFactory = documentDbFactory;
         this.mappingDocumentDbConverter = mappingDocumentDbConverter;
-        this.collectionCache = new ArrayList<>();
+        this.querySpecGenerator = new QuerySpecGenerator(mappingDocumentDbConverter);
+        this.collectionCache = new ConcurrentHashMap<>();
+        this.collectionMetadataCache = new DocumentCollectionCache(Constants.DEFAULT_COLLECTION_CACHE_TIME_TO_LIVE);
     }
 
     public DocumentDbTemplate(DocumentClient client,
@@ -62,6 +116,235 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
     }
 
+    /**
+     * Set how long resolved collection metadata is reused before it is looked up again.
+     *
+     * @param timeToLiveInSeconds 0 disables the collection metadata cache
+     */
+    public void setCollectionCacheTimeToLive(long timeToLiveInSeconds) {
+        this.collectionMetadataCache.setTimeToLive(timeToLiveInSeconds);
+    }
+
+    /**
+     * Set how many batches of a bulk write are written concurrently.
+     */
+    public void setBulkWriteParallelism(int bulkWriteParallelism) {
+        Assert.isTrue(bulkWriteParallelism > 0, "bulkWriteParallelism should be positive");
+        this.bulkWriteParallelism = bulkWriteParallelism;
+        resizeWorkerExecutor();
+    }
+
+    /**
+     * Set how many items of the same partition are written serially by one worker of a bulk write.
+     */
+    public void setBulkWriteBatchSize(int bulkWriteBatchSize) {
+        Assert.isTrue(bulkWriteBatchSize > 0, "bulkWriteBatchSize should be positive");
+        this.bulkWriteBatchSize = bulkWriteBatchSize;
+    }
+
+    /**
+     * Set how many queries of a multi query read, like findByIds, run concurrently.
+     */
+    public void setQueryParallelism(int queryParallelism) {
+        Assert.isTrue(queryParallelism > 0, "queryParallelism should be positive");
+        this.queryParallelism = queryParallelism;
+        resizeWorkerExecutor();
+    }
+
+    /**
+     * @return pool running the concurrent parts of bulk writes and multi query reads of all callers, so that their
+     * threads are bounded by the larger parallelism overall. It is created on first use, and its idle threads end.
+     */
+    private synchronized ExecutorService getWorkerExecutor() {
+        if (this.workerExecutor == null) {
+            final int size = getWorkerCount();
+
+            this.workerExecutor = new ThreadPoolExecutor(size, size, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new CustomizableThreadFactory(WORKER_THREAD_NAME_PREFIX));
+            this.workerExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return this.workerExecutor;
+    }
+
+    private synchronized void resizeWorkerExecutor() {
+        if (this.workerExecutor == null) {
+            return;
+        }
+
+        final int size = getWorkerCount();
+
+        if (size > this.workerExecutor.getMaximumPoolSize()) {
+            this.workerExecutor.setMaximumPoolSize(size);
+            this.workerExecutor.setCorePoolSize(size);
+        } else {
+            this.workerExecutor.setCorePoolSize(size);
+            this.workerExecutor.setMaximumPoolSize(size);
+        }
+    }
+
+    private int getWorkerCount() {
+        return Math.max(this.bulkWriteParallelism, this.queryParallelism);
+    }
+
+    /**
+     * Stop the worker pool, operations running on it are left to complete.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (this.workerExecutor != null) {
+            this.workerExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Set the listener receiving latency, request charge and item counts of each operation.
+     */
+    public void setMetricsListener(DocumentDbMetricsListener metricsListener) {
+        Assert.notNull(metricsListener, "metricsListener should not be null");
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Set whether requests to a collection are paced to its provisioned throughput, and held by all callers once
+     * a request is throttled. Otherwise a throttled operation only waits for its own retry.
+     */
+    public void setRateLimitingEnabled(boolean rateLimitingEnabled) {
+        this.rateLimitingEnabled = rateLimitingEnabled;
+        this.rateLimiters.clear();
+    }
+
+    /**
+     * Set how many times an operation throttled (429) by database is retried, 0 to never retry.
+     */
+    public void setMaxThrottleRetries(int maxThrottleRetries) {
+        Assert.isTrue(maxThrottleRetries >= 0, "maxThrottleRetries should not be negative");
+        this.maxThrottleRetries = maxThrottleRetries;
+    }
+
+    /**
+     * @return cache of findById of the collection, null unless an entity annotated with
+     * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.EntityCache} is read from it
+     */
+    @Nullable
+    public DocumentReadCache getEntityCache(String collectionName) {
+        return this.entityCaches.get(collectionName);
+    }
+
+    private DocumentReadCache getEntityCache(String collectionName, Class<?> entityClass) {
+        final DocumentDbEntityInformation<?, ?> information = DocumentDbEntityInformation.getInstance(entityClass);
+
+        if (!information.isEntityCacheEnabled()) {
+            return null;
+        }
+
+        return this.entityCaches.computeIfAbsent(collectionName, name -> new DocumentReadCache(
+                information.getEntityCacheMaximumSize(), information.getEntityCacheTimeToLive(),
+                information.isEntityCacheRevalidated()));
+    }
+
+    private void invalidateEntityCache(String collectionName, String id) {
+        final DocumentReadCache cache = this.entityCaches.get(collectionName);
+
+        if (cache != null && id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    private void invalidateEntityCache(String collectionName) {
+        final DocumentReadCache cache = this.entityCaches.get(collectionName);
+
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private RequestRateLimiter getRateLimiter(String collectionName) {
+        return getRateLimiter(collectionName, null);
+    }
+
+    /**
+     * Get the rate limiter of the collection, which is paced by the request unit of the domain class from its
+     * first request. The request unit is {@link Constants#DEFAULT_REQUEST_UNIT} without {@code @Document(ru)},
+     * as for the collection created from the class, so a collection provisioned otherwise should declare it.
+     * A limiter created without domain class, like for {@link #count(String)}, is paced once one is known.
+     */
+    private RequestRateLimiter getRateLimiter(String collectionName, Class<?> domainClass) {
+        if (!this.rateLimitingEnabled) {
+            return new RequestRateLimiter(0);
+        }
+
+        final RequestRateLimiter rateLimiter = this.rateLimiters.computeIfAbsent(collectionName,
+                name -> new RequestRateLimiter(getRequestUnit(domainClass)));
+
+        if (domainClass != null && !rateLimiter.isProvisionedThroughputKnown()) {
+            rateLimiter.setProvisionedThroughput(getRequestUnit(domainClass));
+        }
+
+        return rateLimiter;
+    }
+
+    /**
+     * @return the request unit of the entity class, 0 for a class which is not an entity, like {@link Document}
+     */
+    private static int getRequestUnit(Class<?> domainClass) {
+        if (domainClass == null || Resource.class.isAssignableFrom(domainClass)) {
+            return 0;
+        }
+
+        try {
+            return DocumentDbEntityInformation.getInstance(domainClass).getRequestUnit();
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private OperationRecording startRecording(String operation, String collectionName,
+                                              RequestRateLimiter rateLimiter) {
+        return new OperationRecording(operation, collectionName, DocumentDbMetricsContext.getRepositoryMethod(),
+                this.metricsListener, rateLimiter::consume);
+    }
+
+    /**
+     * Run the operation with a recording of its metrics, which is finished when the operation returns or throws.
+     * The operation is admitted by the rate limiter of the collection, and run again when throttled.
+     */
+    private <R> R recorded(String operation, String collectionName, Function<OperationRecording, R> action) {
+        return recorded(operation, collectionName, null, action);
+    }
+
+    private <R> R recorded(String operation, String collectionName, Class<?> domainClass,
+                           Function<OperationRecording, R> action) {
+        final RequestRateLimiter rateLimiter = getRateLimiter(collectionName, domainClass);
+        final OperationRecording recording = startRecording(operation, collectionName, rateLimiter);
+
+        try {
+            int retries = 0;
+
+            while (true) {
+                rateLimiter.acquire();
+
+                try {
+                    return action.apply(recording);
+                } catch (RuntimeException e) {
+                    final DocumentClientException throttled = RequestRateLimiter.getThrottledException(e);
+
+                    if (throttled == null || retries++ >= this.maxThrottleRetries) {
+                        throw e;
+                    }
+
+                    recording.addThrottledResponse(throttled);
+                    rateLimiter.onThrottled(throttled.getRetryAfterInMilliseconds());
+                }
+            }
+        } catch (RuntimeException e) {
+            recording.fail(e);
+            throw e;
+        } finally {
+            recording.finish();
+        }
+    }
+
     public <T> T insert(T objectToSave, PartitionKey partitionKey) {
         Assert.notNull(objectToSave, "entityClass should not be null");
 
@@ -76,6 +359,12 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(objectToSave, "objectToSave should not be null");
 
+        return recorded("insert", collectionName, objectToSave.getClass(),
+                recording -> insertDocument(collectionName, objectToSave, partitionKey, recording));
+    }
+
+    private <T> T insertDocument(String collectionName, T objectToSave, PartitionKey partitionKey,
+                                 OperationRecording recording) {
         final Document document = new Document();
         mappingDocumentDbConverter.write(objectToSave, document);
 
@@ -85,10 +374,13 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         }
 
         try {
-            final Resource result = documentDbFactory.getDocumentClient()
+            final ResourceResponse<Document> response = documentDbFactory.getDocumentClient()
                     .createDocument(getCollectionLink(this.databaseName, collectionName), document,
                             getRequestOptions(partitionKey, null),
-                            false).getResource();
+                            false);
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), 1);
+
+            final Resource result = response.getResource();
 
             if (result instanceof Document) {
                 final Document documentInserted = (Document) result;
@@ -99,7 +391,10 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
                 return null;
             }
         } catch (DocumentClientException e) {
+            invalidateCollectionIfGone(collectionName, e);
             throw new DocumentDBAccessException("insert exception", e);
+        } finally {
+            invalidateEntityCache(collectionName, document.getId());
         }
     }
 
@@ -120,23 +415,284 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(entityClass, "entityClass should not be null");
 
+        final DocumentReadCache cache = getEntityCache(collectionName, entityClass);
+        final String documentId = id.toString();
+        final DocumentReadCache.CachedDocument revalidated = getForRevalidation(cache, documentId, entityClass);
+
+        if (revalidated != null && !revalidated.isExpired()) {
+            return entityClass.cast(revalidated.getEntity());
+        } else if (cache != null && !cache.isRevalidating()) {
+            final Document cached = cache.get(documentId);
+
+            if (cached != null) {
+                return mappingDocumentDbConverter.read(entityClass, cached);
+            }
+        }
+
+        return recorded("findById", collectionName, entityClass, recording -> {
+            final long loadToken = cache == null ? 0 : cache.startLoad();
+
+            try {
+                final ResourceResponse<Document> response = documentDbFactory.getDocumentClient()
+                        .readDocument(getDocumentLink(this.databaseName, collectionName, id),
+                                createReadOptions(revalidated));
+
+                if (revalidated != null && response.getStatusCode() == NOT_MODIFIED) {
+                    recording.addResponse(response.getRequestCharge(), response.getActivityId(), 0);
+                    cache.putNotModified(documentId, revalidated, loadToken);
+
+                    return entityClass.cast(revalidated.getEntity());
+                }
+
+                recording.addResponse(response.getRequestCharge(), response.getActivityId(), 1);
+
+                final Resource resource = response.getResource();
+
+                if (resource instanceof Document) {
+                    final Document document = (Document) resource;
+                    final T entity = mappingDocumentDbConverter.read(entityClass, document);
+
+                    if (cache != null) {
+                        cache.put(documentId, document, cache.isRevalidating() ? entity : null, loadToken);
+                    }
+
+                    return entity;
+                } else {
+                    return null;
+                }
+            } catch (DocumentClientException e) {
+                if (revalidated != null && e.getStatusCode() == NOT_MODIFIED) {
+                    recording.addResponse(e);
+                    cache.putNotModified(documentId, revalidated, loadToken);
+
+                    return entityClass.cast(revalidated.getEntity());
+                } else if (e.getStatusCode() == HttpConstants.StatusCodes.NOTFOUND) {
+                    recording.addResponse(e);
+                    return null;
+                }
+
+                throw new DocumentDBAccessException("findById exception", e);
+            }
+        });
+    }
+
+    /**
+     * @return cached document of a revalidating cache holding an entity of the class, null otherwise
+     */
+    private static DocumentReadCache.CachedDocument getForRevalidation(DocumentReadCache cache, String id,
+                                                                       Class<?> entityClass) {
+        if (cache == null || !cache.isRevalidating()) {
+            return null;
+        }
+
+        final DocumentReadCache.CachedDocument cached = cache.getForRevalidation(id);
+
+        return cached != null && entityClass.isInstance(cached.getEntity()) ? cached : null;
+    }
+
+    /**
+     * Read the document only if its etag changed since the cached one was read, otherwise database answers
+     * not modified without the document.
+     */
+    private static RequestOptions createReadOptions(DocumentReadCache.CachedDocument revalidated) {
+        final RequestOptions options = new RequestOptions();
+
+        if (revalidated != null && revalidated.getETag() != null) {
+            final AccessCondition condition = new AccessCondition();
+
+            condition.setType(AccessConditionType.IfNoneMatch);
+            condition.setCondition(revalidated.getETag());
+            options.setAccessCondition(condition);
+        }
+
+        return options;
+    }
+
+    /**
+     * Check presence of a document by a TOP 1 query projecting only the id, so neither the document body is
+     * transferred nor an entity is mapped.
+     *
+     * @param partitionKey partition to query in, null to query across partitions
+     */
+    public boolean existsById(String collectionName, Object id, PartitionKey partitionKey) {
+        assertValidId(id);
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final SqlQuerySpec sqlQuerySpec = new SqlQuerySpec(EXISTS_SELECT_CLAUSE + " WHERE r.id=@id",
+                new SqlParameterCollection(new SqlParameter("@id", id.toString())));
+
+        return recorded("existsById", collectionName, recording ->
+                !queryDocuments(collectionName, sqlQuerySpec, createFeedOptions(partitionKey), recording).isEmpty());
+    }
+
+    public <T> boolean exists(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final SqlQuerySpec sqlQuerySpec = querySpecGenerator.generate(EXISTS_SELECT_CLAUSE, query, domainClass);
+
+        final FeedOptions feedOptions = createFeedOptions(query, domainClass);
+
+        return recorded("exists", collectionName, domainClass, recording ->
+                !queryDocuments(collectionName, sqlQuerySpec, feedOptions, recording).isEmpty());
+    }
+
+    public <T> List<T> findByIds(String collectionName, Iterable<?> ids, Class<T> entityClass) {
+        return findByIds(collectionName, ids, entityClass, null);
+    }
+
+    /**
+     * Find documents by parameterized IN queries of at most {@link Constants#DEFAULT_FIND_BY_IDS_CHUNK_SIZE} ids
+     * each, the queries run concurrently. Entities are returned in the order of given ids, ids without a document
+     * are skipped.
+     *
+     * @param partitionKey partition to query in, null to query across partitions
+     */
+    public <T> List<T> findByIds(String collectionName, Iterable<?> ids, Class<T> entityClass,
+                                 PartitionKey partitionKey) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(ids, "ids should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        final Set<String> distinctIds = new LinkedHashSet<>();
+
+        for (final Object id : ids) {
+            assertValidId(id);
+            distinctIds.add(id.toString());
+        }
+
+        final List<String> documentIds = new ArrayList<>(distinctIds);
+
+        return recorded("findByIds", collectionName, entityClass,
+                recording -> findDocumentsByIds(collectionName, documentIds, entityClass, partitionKey, recording));
+    }
+
+    private <T> List<T> findDocumentsByIds(String collectionName, List<String> documentIds, Class<T> entityClass,
+                                           PartitionKey partitionKey, OperationRecording recording) {
+        final List<Supplier<List<Document>>> queries = new ArrayList<>();
+
+        for (int start = 0; start < documentIds.size(); start += Constants.DEFAULT_FIND_BY_IDS_CHUNK_SIZE) {
+            final List<String> chunk = documentIds.subList(start,
+                    Math.min(start + Constants.DEFAULT_FIND_BY_IDS_CHUNK_SIZE, documentIds.size()));
+
+            queries.add(() -> queryDocuments(collectionName, createFindByIdsQuerySpec(chunk),
+                    createFeedOptions(partitionKey), recording));
+        }
+
+        final Map<String, Document> documents = new HashMap<>();
+
+        for (final List<Document> results : executeConcurrently(queries)) {
+            for (final Document document : results) {
+                documents.put(document.getId(), document);
+            }
+        }
+
+        final List<T> entities = new ArrayList<>(documents.size());
+
+        for (final String id : documentIds) {
+            final Document document = documents.get(id);
+
+            if (document != null) {
+                entities.add(mappingDocumentDbConverter.read(entityClass, document));
+            }
+        }
+
+        return entities;
+    }
+
+    private static SqlQuerySpec createFindByIdsQuerySpec(List<String> ids) {
+        final StringBuilder queryStr = new StringBuilder("SELECT * FROM ROOT r WHERE r.id IN (");
+        final SqlParameterCollection parameterCollection = new SqlParameterCollection();
+
+        for (int i = 0; i < ids.size(); i++) {
+            final String parameterName = "@id" + i;
+
+            queryStr.append(i == 0 ? "" : ", ").append(parameterName);
+            parameterCollection.add(new SqlParameter(parameterName, ids.get(i)));
+        }
+
+        return new SqlQuerySpec(queryStr.append(")").toString(), parameterCollection);
+    }
+
+    /**
+     * Query across partitions unless the query criteria contain the partition key.
+     */
+    private <T> FeedOptions createFeedOptions(Query query, Class<T> domainClass) {
+        final FeedOptions feedOptions = new FeedOptions();
+
+        final Optional<Object> partitionKeyValue = getPartitionKeyValue(query, domainClass);
+        if (!partitionKeyValue.isPresent()) {
+            feedOptions.setEnableCrossPartitionQuery(true);
+        }
+
+        return feedOptions;
+    }
+
+    private static FeedOptions createFeedOptions(PartitionKey partitionKey) {
+        final FeedOptions feedOptions = new FeedOptions();
+
+        if (partitionKey == null) {
+            feedOptions.setEnableCrossPartitionQuery(true);
+        } else {
+            feedOptions.setPartitionKey(partitionKey);
+        }
+
+        return feedOptions;
+    }
+
+    /**
+     * Run the queries on the worker pool, at most query parallelism of them at the same time, results are in the
+     * order of given queries.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<R> executeConcurrently(List<Supplier<R>> queries) {
+        final List<R> results = new ArrayList<>(queries.size());
+
+        if (queries.size() <= 1) {
+            queries.forEach(query -> results.add(query.get()));
+            return results;
+        }
+
+        final Object[] completed = new Object[queries.size()];
+        final AtomicInteger nextQuery = new AtomicInteger();
+        final int workerCount = Math.min(queryParallelism, queries.size());
+        final List<Future<?>> futures = new ArrayList<>(workerCount);
+        final ExecutorService executor = getWorkerExecutor();
+
         try {
-            final Resource resource = documentDbFactory.getDocumentClient()
-                    .readDocument(getDocumentLink(this.databaseName, collectionName, id),
-                            new RequestOptions()).getResource();
+            for (int i = 0; i < workerCount; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int next = nextQuery.getAndIncrement(); next < queries.size();
+                         next = nextQuery.getAndIncrement()) {
+                        completed[next] = queries.get(next).get();
+                    }
+                }));
+            }
 
-            if (resource instanceof Document) {
-                final Document document = (Document) resource;
-                return mappingDocumentDbConverter.read(entityClass, document);
-            } else {
-                return null;
+            for (final Future<?> future : futures) {
+                future.get();
             }
-        } catch (DocumentClientException e) {
-            if (e.getStatusCode() == HttpConstants.StatusCodes.NOTFOUND) {
-                return null;
+
+            for (final Object result : completed) {
+                results.add((R) result);
             }
 
-            throw new DocumentDBAccessException("findById exception", e);
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DocumentDBAccessException("query interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new DocumentDBAccessException("query exception", cause);
+        } finally {
+            // Workers still running take no further query once the caller stopped waiting
+            nextQuery.set(queries.size());
         }
     }
 
@@ -146,30 +702,120 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         upsert(getCollectionName(object.getClass()), object, partitionKey);
     }
 
-
     public <T> void upsert(String collectionName, T object, PartitionKey partitionKey) {
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(object, "Upsert object should not be null");
 
+        recorded("upsert", collectionName, object.getClass(), recording -> {
+            upsertDocument(collectionName, object, partitionKey, recording);
+            return null;
+        });
+    }
+
+    /**
+     * Upsert the document of the object. An entity with a version read from database is only written if the
+     * document still has that etag, and its version is set to the etag of the written document.
+     *
+     * @throws OptimisticLockingFailureException if the document was changed since the version was read
+     */
+    private <T> void upsertDocument(String collectionName, T object, PartitionKey partitionKey,
+                                    OperationRecording recording) {
+        Document originalDoc = new Document();
+        String versionETag = null;
+
         try {
-            Document originalDoc = new Document();
             if (object instanceof Document) {
                 originalDoc = (Document) object;
             } else {
                 mappingDocumentDbConverter.write(object, originalDoc);
+                versionETag = originalDoc.getETag();
             }
 
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("execute upsert document in database {} collection {}", this.databaseName, collectionName);
             }
 
-            documentDbFactory.getDocumentClient().upsertDocument(
+            final ResourceResponse<Document> response = documentDbFactory.getDocumentClient().upsertDocument(
                     getCollectionLink(this.databaseName, collectionName),
                     originalDoc,
-                    getRequestOptions(partitionKey, null), false);
+                    getWriteOptions(partitionKey, versionETag), false);
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), 1);
+
+            final Resource written = response.getResource();
+
+            if (!(object instanceof Document) && written != null) {
+                mappingDocumentDbConverter.updateVersion(object, written.getETag());
+            }
         } catch (DocumentClientException ex) {
+            invalidateCollectionIfGone(collectionName, ex);
+
+            if (ex.getStatusCode() == PRECONDITION_FAILED) {
+                throw new OptimisticLockingFailureException(String.format(
+                        "document [%s] was modified since version %s", originalDoc.getId(), versionETag), ex);
+            }
+
             throw new DocumentDBAccessException("Failed to upsert document to database.", ex);
+        } finally {
+            invalidateEntityCache(collectionName, originalDoc.getId());
+        }
+    }
+
+    public <T> BulkWriteResult<T> insertAll(String collectionName, Iterable<T> objectsToSave) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(objectsToSave, "objectsToSave should not be null");
+
+        final List<T> objects = toList(objectsToSave);
+
+        return recorded("insertAll", collectionName, getDomainClass(objects), recording ->
+                createBulkWriteExecutor(collectionName).execute(objects, this::getPartitionKeyFieldValue,
+                        object -> insertDocument(collectionName, object, createPartitionKey(object), recording)));
+    }
+
+    public <T> BulkWriteResult<T> upsertAll(String collectionName, Iterable<T> objectsToUpsert) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(objectsToUpsert, "Upsert objects should not be null");
+
+        final List<T> objects = toList(objectsToUpsert);
+
+        return recorded("upsertAll", collectionName, getDomainClass(objects), recording ->
+                createBulkWriteExecutor(collectionName).execute(objects, this::getPartitionKeyFieldValue,
+                        object -> {
+                            upsertDocument(collectionName, object, createPartitionKey(object), recording);
+                            return object;
+                        }));
+    }
+
+    private BulkWriteExecutor createBulkWriteExecutor(String collectionName) {
+        return new BulkWriteExecutor(getWorkerExecutor(), this.bulkWriteParallelism, this.bulkWriteBatchSize,
+                Constants.DEFAULT_BULK_WRITE_THROTTLE_RETRIES, getRateLimiter(collectionName));
+    }
+
+    private static <T> List<T> toList(Iterable<T> objects) {
+        final List<T> list = new ArrayList<>();
+
+        for (final T object : objects) {
+            Assert.notNull(object, "Bulk write object should not be null");
+            list.add(object);
         }
+
+        return list;
+    }
+
+    private static Class<?> getDomainClass(List<?> objects) {
+        return objects.isEmpty() ? null : objects.get(0).getClass();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getPartitionKeyFieldValue(Object entity) {
+        final Class<Object> domainClass = (Class<Object>) entity.getClass();
+
+        return DocumentDbEntityInformation.getInstance(domainClass).getPartitionKeyFieldValue(entity);
+    }
+
+    private PartitionKey createPartitionKey(Object entity) {
+        final String partitionKeyValue = getPartitionKeyFieldValue(entity);
+
+        return StringUtils.isEmpty(partitionKeyValue) ? null : new PartitionKey(partitionKeyValue);
     }
 
     public <T> List<T> findAll(Class<T> entityClass) {
@@ -178,41 +824,77 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         return findAll(getCollectionName(entityClass), entityClass);
     }
 
-
     public <T> List<T> findAll(String collectionName,
                                final Class<T> entityClass) {
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(entityClass, "entityClass should not be null");
 
-        final List<DocumentCollection> collections = documentDbFactory.getDocumentClient().
-                queryCollections(
-                        getDatabaseLink(this.databaseName),
-                        new SqlQuerySpec("SELECT * FROM ROOT r WHERE r.id=@id",
-                                new SqlParameterCollection(new SqlParameter("@id", collectionName))), null)
-                .getQueryIterable().toList();
+        return findDocuments("findAll", collectionName, entityClass, createFindAllQuerySpec(),
+                createFindAllFeedOptions(), document -> mappingDocumentDbConverter.read(entityClass, document));
+    }
 
-        if (collections.size() != 1) {
-            throw new IllegalCollectionException("expect only one collection: " + collectionName
-                    + " in database: " + this.databaseName + ", but found " + collections.size());
-        }
+    public <T> CloseableIterator<T> streamAll(String collectionName, Class<T> entityClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return streamDocuments("streamAll", collectionName, entityClass, createFindAllQuerySpec(),
+                createFindAllFeedOptions(), document -> mappingDocumentDbConverter.read(entityClass, document));
+    }
+
+    private static SqlQuerySpec createFindAllQuerySpec() {
+        return new SqlQuerySpec("SELECT * FROM root c");
+    }
 
+    private static FeedOptions createFindAllFeedOptions() {
         final FeedOptions feedOptions = new FeedOptions();
         feedOptions.setEnableCrossPartitionQuery(true);
 
-        final SqlQuerySpec sqlQuerySpec = new SqlQuerySpec("SELECT * FROM root c");
+        return feedOptions;
+    }
 
-        final List<Document> results = documentDbFactory.getDocumentClient()
-                .queryDocuments(collections.get(0).getSelfLink(), sqlQuerySpec, feedOptions)
-                .getQueryIterable().toList();
+    /**
+     * Read all entities of the query into a list. Nothing is handed out before the list is returned, so a
+     * throttled query is run again from its first page, as other operations are.
+     */
+    private <T> List<T> findDocuments(String operation, String collectionName, Class<T> entityClass,
+                                      SqlQuerySpec sqlQuerySpec, FeedOptions feedOptions,
+                                      Function<Document, T> reader) {
+        return recorded(operation, collectionName, entityClass, recording -> {
+            final List<T> entities = new ArrayList<>();
+
+            iterateDocuments(collectionName, sqlQuerySpec, feedOptions, recording)
+                    .forEachRemaining(document -> entities.add(reader.apply(document)));
+
+            return entities;
+        });
+    }
 
-        final List<T> entities = new ArrayList<>();
+    /**
+     * Iterate the query lazily, its metrics are recorded when the iterator is consumed, failed or closed.
+     * A throttled page holds the other requests to the collection, but is not retried, as the entities before it
+     * are already handed out.
+     */
+    private <T> CloseableIterator<T> streamDocuments(String operation, String collectionName, Class<T> entityClass,
+                                                     SqlQuerySpec sqlQuerySpec, FeedOptions feedOptions,
+                                                     Function<Document, T> reader) {
+        final RequestRateLimiter rateLimiter = getRateLimiter(collectionName, entityClass);
+        final OperationRecording recording = startRecording(operation, collectionName, rateLimiter);
 
-        for (int i = 0; i < results.size(); i++) {
-            final T entity = mappingDocumentDbConverter.read(entityClass, results.get(i));
-            entities.add(entity);
+        try {
+            return new DocumentQueryIterator<>(iterateDocuments(collectionName, sqlQuerySpec, feedOptions,
+                    recording), reader, recording::finish, e -> {
+                        final DocumentClientException throttled = RequestRateLimiter.getThrottledException(e);
+
+                        if (throttled != null) {
+                            recording.fail(e);
+                            rateLimiter.onThrottled(throttled.getRetryAfterInMilliseconds());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            recording.fail(e);
+            recording.finish();
+            throw e;
         }
-
-        return entities;
     }
 
     public void deleteAll(String collectionName) {
@@ -223,20 +905,73 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
                     this.databaseName, collectionName);
         }
 
-        try {
-            documentDbFactory.getDocumentClient()
-                    .deleteCollection(getCollectionLink(this.databaseName, collectionName), null);
-            if (this.collectionCache.contains(collectionName)) {
-                this.collectionCache.remove(collectionName);
+        invalidateCollection(collectionName);
+
+        recorded("deleteAll", collectionName, recording -> {
+            try {
+                final ResourceResponse<DocumentCollection> response = documentDbFactory.getDocumentClient()
+                        .deleteCollection(getCollectionLink(this.databaseName, collectionName), null);
+                recording.addResponse(response.getRequestCharge(), response.getActivityId(), 0);
+            } catch (DocumentClientException ex) {
+                if (ex.getStatusCode() == 404) {
+                    recording.addResponse(ex);
+                    LOGGER.warn("deleteAll in database {} collection {} met NOTFOUND error {}",
+                            this.databaseName, collectionName, ex.getMessage());
+                } else {
+                    throw new DocumentDBAccessException("deleteAll exception", ex);
+                }
+            } finally {
+                invalidateEntityCache(collectionName);
             }
-        } catch (DocumentClientException ex) {
-            if (ex.getStatusCode() == 404) {
-                LOGGER.warn("deleteAll in database {} collection {} met NOTFOUND error {}",
-                        this.databaseName, collectionName, ex.getMessage());
-            } else {
-                throw new DocumentDBAccessException("deleteAll exception", ex);
+
+            return null;
+        });
+    }
+
+    public long count(String collectionName) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final FeedOptions feedOptions = new FeedOptions();
+        feedOptions.setEnableCrossPartitionQuery(true);
+
+        return recorded("count", collectionName, recording -> getCountValue(queryDocuments(collectionName,
+                new SqlQuerySpec(COUNT_SELECT_CLAUSE), feedOptions, recording)));
+    }
+
+    public <T> long count(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("count", collectionName, domainClass,
+                recording -> countDocuments(query, domainClass, collectionName, recording));
+    }
+
+    private <T> long countDocuments(Query query, Class<T> domainClass, String collectionName,
+                                    OperationRecording recording) {
+        final SqlQuerySpec sqlQuerySpec = querySpecGenerator.generate(COUNT_SELECT_CLAUSE, query, domainClass);
+
+        return getCountValue(queryDocuments(collectionName, sqlQuerySpec, createFeedOptions(query, domainClass),
+                recording));
+    }
+
+    /**
+     * The SDK aggregates a cross partition COUNT into one document holding the value under "_aggregate",
+     * any partial counts left in other documents are summed up.
+     */
+    private static long getCountValue(List<Document> results) {
+        long count = 0;
+
+        for (final Document result : results) {
+            final Object value = result.has(AGGREGATE_PROPERTY_NAME) ? result.get(AGGREGATE_PROPERTY_NAME)
+                    : result.getHashMap().values().stream().findFirst().orElse(null);
+
+            if (value instanceof Number) {
+                count += ((Number) value).longValue();
             }
         }
+
+        return count;
     }
 
     public String getCollectionName(Class<?> entityClass) {
@@ -330,6 +1065,11 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         }
 
         final String collectionName = information.getCollectionName();
+        final DocumentCollection provisioned = this.collectionCache.get(collectionName);
+
+        if (provisioned != null) {
+            return provisioned;
+        }
 
         final List<DocumentCollection> collectionList = documentDbFactory.getDocumentClient()
                 .queryCollections(getDatabaseLink(this.databaseName),
@@ -337,11 +1077,25 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
                                 new SqlParameterCollection(new SqlParameter("@id", collectionName))), null)
                 .getQueryIterable().toList();
 
+        final DocumentCollection collection;
+
         if (!collectionList.isEmpty()) {
-            return collectionList.get(0);
+            collection = collectionList.get(0);
         } else {
-            return createCollection(this.databaseName, partitionKeyFieldName, information);
+            collection = createCollection(this.databaseName, partitionKeyFieldName, information);
+        }
+
+        if (collection.getSelfLink() != null) {
+            this.collectionMetadataCache.put(this.databaseName, collectionName, collection);
         }
+
+        this.collectionCache.put(collectionName, collection);
+
+        if (this.rateLimitingEnabled && information.getRequestUnit() != null) {
+            getRateLimiter(collectionName).setProvisionedThroughput(information.getRequestUnit());
+        }
+
+        return collection;
     }
 
     public <T> void deleteById(String collectionName,
@@ -354,14 +1108,20 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
             LOGGER.debug("execute deleteById in database {} collection {}", this.databaseName, collectionName);
         }
 
-        try {
-            documentDbFactory.getDocumentClient().deleteDocument(
-                    getDocumentLink(this.databaseName, collectionName, id.toString()),
-                    getRequestOptions(partitionKey, null));
+        recorded("deleteById", collectionName, recording -> {
+            try {
+                final ResourceResponse<Document> response = documentDbFactory.getDocumentClient().deleteDocument(
+                        getDocumentLink(this.databaseName, collectionName, id.toString()),
+                        getRequestOptions(partitionKey, null));
+                recording.addResponse(response.getRequestCharge(), response.getActivityId(), 1);
+            } catch (DocumentClientException ex) {
+                throw new DocumentDBAccessException("deleteById exception", ex);
+            } finally {
+                invalidateEntityCache(collectionName, id.toString());
+            }
 
-        } catch (DocumentClientException ex) {
-            throw new DocumentDBAccessException("deleteById exception", ex);
-        }
+            return null;
+        });
     }
 
     private String getDatabaseLink(String databaseName) {
@@ -380,6 +1140,26 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         return "/" + partitionKey;
     }
 
+    /**
+     * @param ifMatchETag etag the document should still have to be written, null to write unconditionally
+     */
+    private RequestOptions getWriteOptions(PartitionKey key, String ifMatchETag) {
+        final RequestOptions requestOptions = getRequestOptions(key, null);
+
+        if (ifMatchETag == null) {
+            return requestOptions;
+        }
+
+        final RequestOptions conditionalOptions = requestOptions == null ? new RequestOptions() : requestOptions;
+        final AccessCondition condition = new AccessCondition();
+
+        condition.setType(AccessConditionType.IfMatch);
+        condition.setCondition(ifMatchETag);
+        conditionalOptions.setAccessCondition(condition);
+
+        return conditionalOptions;
+    }
+
     private RequestOptions getRequestOptions(PartitionKey key, Integer requestUnit) {
         if (key == null && requestUnit == null) {
             return null;
@@ -401,81 +1181,177 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.notNull(domainClass, "domainClass should not be null");
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
 
-        final SqlQuerySpec sqlQuerySpec = createSqlQuerySpec(query, domainClass);
+        return findDocuments("find", collectionName, domainClass,
+                querySpecGenerator.generate(query, domainClass), createFeedOptions(query, domainClass),
+                document -> mappingDocumentDbConverter.read(domainClass, document));
+    }
 
-        // TODO (wepa) Collection link should be created locally without accessing database,
-        // but currently exception will be thrown if not fetching collection url from database.
-        // Run repository integration test to reproduce.
-        final DocumentCollection collection = getDocCollection(collectionName);
-        final FeedOptions feedOptions = new FeedOptions();
+    public <T> CloseableIterator<T> stream(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
 
-        final Optional<Object> partitionKeyValue = getPartitionKeyValue(query, domainClass);
-        if (!partitionKeyValue.isPresent()) {
-            feedOptions.setEnableCrossPartitionQuery(true);
-        }
+        return streamDocuments("stream", collectionName, domainClass,
+                querySpecGenerator.generate(query, domainClass), createFeedOptions(query, domainClass),
+                document -> mappingDocumentDbConverter.read(domainClass, document));
+    }
 
-        final List<Document> results = documentDbFactory.getDocumentClient()
-                .queryDocuments(collection.getSelfLink(),
-                        sqlQuerySpec, feedOptions)
-                .getQueryIterable().toList();
+    /**
+     * Query all pages of documents, see {@link #queryFeed}.
+     */
+    private List<Document> queryDocuments(String collectionName, SqlQuerySpec sqlQuerySpec,
+                                          FeedOptions feedOptions, OperationRecording recording) {
+        final List<Document> documents = new ArrayList<>();
+
+        iterateDocuments(collectionName, sqlQuerySpec, feedOptions, recording).forEachRemaining(documents::add);
+
+        return documents;
+    }
+
+    public <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName) {
+        Assert.notNull(pageable, "pageable should not be null");
+
+        return paginationQuery(new Query().with(pageable).with(pageable.getSort()), domainClass, collectionName);
+    }
+
+    public <T> Page<T> paginationQuery(Query query, Class<T> domainClass, String collectionName) {
+        return recorded("paginationQuery", collectionName, domainClass, recording -> {
+            final DocumentDbSliceImpl<T> slice = queryPage(query, domainClass, collectionName, recording);
+            final long total = countDocuments(query, domainClass, collectionName, recording);
+
+            return new DocumentDbPageImpl<>(slice.getContent(), slice.getPageable(), total,
+                    slice.getResponseContinuation());
+        });
+    }
+
+    public <T> Slice<T> sliceQuery(Query query, Class<T> domainClass, String collectionName) {
+        return recorded("sliceQuery", collectionName, domainClass,
+                recording -> queryPage(query, domainClass, collectionName, recording));
+    }
+
+    /**
+     * Read one page of at most page size documents, by the continuation of {@link DocumentDbPageRequest}.
+     * Without continuation the pages before the requested one are read and discarded. A page of a cross
+     * partition query may hold fewer documents than the page size while more pages follow.
+     */
+    private <T> DocumentDbSliceImpl<T> queryPage(Query query, Class<T> domainClass, String collectionName,
+                                                 OperationRecording recording) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final Pageable pageable = query.getPageable();
+        Assert.isTrue(pageable.isPaged(), "query should be paged");
+
+        final String requestContinuation = pageable instanceof DocumentDbPageRequest
+                ? ((DocumentDbPageRequest) pageable).getRequestContinuation() : null;
+        final FeedOptions feedOptions = createFeedOptions(query, domainClass);
+        feedOptions.setPageSize(pageable.getPageSize());
+        feedOptions.setRequestContinuation(requestContinuation);
+
+        final SqlQuerySpec sqlQuerySpec = querySpecGenerator.generate(query, domainClass);
+        final FeedResponse<Document> response = queryFeed(collectionName, sqlQuerySpec, feedOptions);
+        final int pagesToSkip = requestContinuation == null ? pageable.getPageNumber() : 0;
+        List<Document> documents;
+
+        try {
+            documents = fetchNextPage(response, recording);
+
+            for (int i = 0; i < pagesToSkip && documents != null; i++) {
+                documents = response.getResponseContinuation() == null ? null : fetchNextPage(response, recording);
+            }
+        } catch (DocumentClientException e) {
+            invalidateCollectionIfGone(collectionName, e);
+            throw new DocumentDBAccessException("pagination query exception", e);
+        }
 
         final List<T> entities = new ArrayList<>();
 
-        for (int i = 0; i < results.size(); i++) {
-            final T entity = mappingDocumentDbConverter.read(domainClass, results.get(i));
-            entities.add(entity);
+        if (documents != null) {
+            documents.forEach(document -> entities.add(mappingDocumentDbConverter.read(domainClass, document)));
         }
-        return entities;
+
+        return new DocumentDbSliceImpl<>(entities, pageable, response.getResponseContinuation());
     }
 
-    private DocumentCollection getDocCollection(String collectionName) {
-        final List<DocumentCollection> collections = documentDbFactory.getDocumentClient().
-                queryCollections(
-                        getDatabaseLink(this.databaseName),
-                        new SqlQuerySpec("SELECT * FROM ROOT r WHERE r.id=@id",
-                                new SqlParameterCollection(new SqlParameter("@id", collectionName))), null)
-                .getQueryIterable().toList();
+    private static List<Document> fetchNextPage(FeedResponse<Document> response, OperationRecording recording)
+            throws DocumentClientException {
+        final List<Document> documents = response.getQueryIterable().fetchNextBlock();
 
-        if (collections.size() != 1) {
-            throw new IllegalCollectionException("expect only one collection: " + collectionName
-                    + " in database: " + this.databaseName + ", but found " + collections.size());
+        if (documents != null) {
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), documents.size());
         }
 
-        return collections.get(0);
+        return documents;
     }
 
-    private <T> SqlQuerySpec createSqlQuerySpec(Query query, Class<T> entityClass) {
-        String queryStr = "SELECT * FROM ROOT r WHERE ";
+    /**
+     * Same as {@link #queryDocuments}, but pages are fetched only as the returned iterator advances.
+     */
+    private Iterator<Document> iterateDocuments(String collectionName, SqlQuerySpec sqlQuerySpec,
+                                                FeedOptions feedOptions, OperationRecording recording) {
+        return new DocumentFeedIterator(queryFeed(collectionName, sqlQuerySpec, feedOptions), recording,
+                getRateLimiter(collectionName)::acquire, e -> invalidateCollectionIfGone(collectionName, e));
+    }
 
-        final SqlParameterCollection parameterCollection = new SqlParameterCollection();
+    /**
+     * Query documents through the collection self link, which is resolved once and then served from
+     * the collection metadata cache. The cached entry is dropped when the collection turns out to be gone.
+     */
+    private FeedResponse<Document> queryFeed(String collectionName, SqlQuerySpec sqlQuerySpec,
+                                             FeedOptions feedOptions) {
+        // Query through the name based collection link fails, so the self link from database is used.
+        // Run repository integration test to reproduce.
+        final DocumentCollection collection = getDocCollection(collectionName);
 
-        for (final Map.Entry<String, Object> entry : query.getCriteria().entrySet()) {
-            if (queryStr.contains("=@")) {
-                queryStr += " AND ";
-            }
+        return documentDbFactory.getDocumentClient().queryDocuments(collection.getSelfLink(), sqlQuerySpec,
+                feedOptions);
+    }
 
-            String fieldName = entry.getKey();
-            if (isIdField(fieldName, entityClass)) {
-                fieldName = "id";
-            }
+    /**
+     * Forget both the resolved metadata and the provisioning state of the collection, so that it is
+     * looked up, or created by the next createCollectionIfNotExists, again.
+     */
+    private void invalidateCollection(String collectionName) {
+        this.collectionMetadataCache.invalidate(this.databaseName, collectionName);
+        this.collectionCache.remove(collectionName);
+    }
 
-            queryStr += "r." + fieldName + "=@" + entry.getKey();
+    private void invalidateCollectionIfGone(String collectionName, Throwable cause) {
+        if (isCollectionGone(cause)) {
+            invalidateCollection(collectionName);
+        }
+    }
+
+    private static boolean isCollectionGone(Throwable cause) {
+        if (cause instanceof DocumentClientException) {
+            final int statusCode = ((DocumentClientException) cause).getStatusCode();
 
-            parameterCollection.add(new SqlParameter("@" + entry.getKey(),
-                    mappingDocumentDbConverter.mapToDocumentDBValue(entry.getValue())));
+            return statusCode == HttpConstants.StatusCodes.NOTFOUND || statusCode == HttpConstants.StatusCodes.GONE;
         }
 
-        return new SqlQuerySpec(queryStr, parameterCollection);
+        return false;
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> boolean isIdField(String fieldName, Class<T> entityClass) {
-        if (StringUtils.isEmpty(fieldName)) {
-            return false;
+    private DocumentCollection getDocCollection(String collectionName) {
+        return this.collectionMetadataCache.get(this.databaseName, collectionName,
+                () -> queryDocCollection(collectionName));
+    }
+
+    private DocumentCollection queryDocCollection(String collectionName) {
+        final List<DocumentCollection> collections = documentDbFactory.getDocumentClient().
+                queryCollections(
+                        getDatabaseLink(this.databaseName),
+                        new SqlQuerySpec("SELECT * FROM ROOT r WHERE r.id=@id",
+                                new SqlParameterCollection(new SqlParameter("@id", collectionName))), null)
+                .getQueryIterable().toList();
+
+        if (collections.size() != 1) {
+            throw new IllegalCollectionException("expect only one collection: " + collectionName
+                    + " in database: " + this.databaseName + ", but found " + collections.size());
         }
 
-        final DocumentDbEntityInformation entityInfo = new DocumentDbEntityInformation(entityClass);
-        return fieldName.equals(entityInfo.getId().getName());
+        return collections.get(0);
     }
 
     @Override
@@ -489,35 +1365,249 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
         Assert.notNull(entityClass, "entityClass should not be null");
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
 
-        final SqlQuerySpec sqlQuerySpec = createSqlQuerySpec(query, entityClass);
+        final SqlQuerySpec sqlQuerySpec = querySpecGenerator.generate(query, entityClass);
         final Optional<Object> partitionKeyValue = getPartitionKeyValue(query, entityClass);
 
-        final DocumentCollection collection = getDocCollection(collectionName);
         final FeedOptions feedOptions = new FeedOptions();
         if (!partitionKeyValue.isPresent()) {
             feedOptions.setEnableCrossPartitionQuery(true);
         }
 
-        final List<Document> results = documentDbFactory.getDocumentClient()
-                .queryDocuments(collection.getSelfLink(), sqlQuerySpec, feedOptions).getQueryIterable().toList();
-
         final RequestOptions options = new RequestOptions();
         if (partitionKeyValue.isPresent()) {
             options.setPartitionKey(new PartitionKey(partitionKeyValue.get()));
         }
 
-        final List<T> deletedResult = new ArrayList<>();
-        for (final Document document : results) {
+        return recorded("delete", collectionName, entityClass, recording -> {
+            final Iterator<Document> results = iterateDocuments(collectionName, sqlQuerySpec, feedOptions,
+                    recording);
+            final List<T> deletedResult = new ArrayList<>();
+
+            while (results.hasNext()) {
+                final Document document = results.next();
+
+                try {
+                    final ResourceResponse<Document> response = documentDbFactory.getDocumentClient()
+                            .deleteDocument((document).getSelfLink(), options);
+                    recording.addResponse(response.getRequestCharge(), response.getActivityId(), 0);
+                    deletedResult.add(getConverter().read(entityClass, document));
+                } catch (DocumentClientException e) {
+                    throw new DocumentDBAccessException(
+                            String.format("Failed to delete document [%s]", (document).getSelfLink()), e);
+                } finally {
+                    invalidateEntityCache(collectionName, document.getId());
+                }
+            }
+
+            return deletedResult;
+        });
+    }
+
+    /**
+     * Apply the update to the document of the id by a stored procedure on database side, so neither the document
+     * is read by the client nor written back whole. When the partition is given, or the collection is not
+     * partitioned, the document is updated by one request.
+     *
+     * @param partitionKey partition of the document, null to look it up by a query across partitions
+     * @return the updated entity, null if no document has the id
+     */
+    public <T> T updateById(String collectionName, Object id, PartitionKey partitionKey, Update update,
+                            Class<T> entityClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(update, "update should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+        assertValidId(id);
+
+        final List<Map<String, Object>> operations = DocumentUpdateProcedure.toParameters(update, entityClass,
+                mappingDocumentDbConverter);
+        final Optional<String> partitionKeyName = getPartitionKeyField(entityClass);
+        final PendingUpdate pending = new PendingUpdate();
+
+        if (partitionKey != null || !partitionKeyName.isPresent()) {
+            pending.add(partitionKey, id.toString());
+            pending.resolved = true;
+        }
+
+        final SqlQuerySpec idQuery = new SqlQuerySpec(
+                "SELECT " + getUpdateProjection(partitionKeyName) + " FROM ROOT r WHERE r.id=@id",
+                new SqlParameterCollection(new SqlParameter("@id", id.toString())));
+
+        final List<T> updated = recorded("updateById", collectionName, entityClass, recording -> updateDocuments(
+                collectionName, idQuery, createFeedOptions((PartitionKey) null), partitionKeyName, operations,
+                pending, entityClass, recording));
+
+        return updated.isEmpty() ? null : updated.get(0);
+    }
+
+    /**
+     * Apply the update to the documents matching the query by a stored procedure on database side. The ids of
+     * matching documents are queried first, then updated in batches of
+     * {@link Constants#DEFAULT_UPDATE_BATCH_SIZE} per partition, by one procedure request each when the query
+     * has the partition key. A throttled operation resumes from the batch not yet updated.
+     *
+     * @return the updated entities
+     */
+    public <T> List<T> update(Query query, Update update, Class<T> entityClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(update, "update should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final List<Map<String, Object>> operations = DocumentUpdateProcedure.toParameters(update, entityClass,
+                mappingDocumentDbConverter);
+        final Optional<String> partitionKeyName = getPartitionKeyField(entityClass);
+        final SqlQuerySpec idQuery = querySpecGenerator.generateProjection(getUpdateProjection(partitionKeyName),
+                query, entityClass);
+        final FeedOptions feedOptions = createFeedOptions(query, entityClass);
+        final PendingUpdate pending = new PendingUpdate();
+
+        return recorded("update", collectionName, entityClass, recording -> updateDocuments(collectionName, idQuery,
+                feedOptions, partitionKeyName, operations, pending, entityClass, recording));
+    }
+
+    private static String getUpdateProjection(Optional<String> partitionKeyName) {
+        return partitionKeyName.map(name -> "r.id, r." + name).orElse("r.id");
+    }
+
+    /**
+     * Update the pending documents, which are first resolved by the id query if not known. Updated batches are
+     * removed from pending, so that the operation retried after throttling does not update them twice.
+     */
+    private <T> List<T> updateDocuments(String collectionName, SqlQuerySpec idQuery, FeedOptions feedOptions,
+                                        Optional<String> partitionKeyName, List<Map<String, Object>> operations,
+                                        PendingUpdate pending, Class<T> entityClass,
+                                        OperationRecording recording) {
+        if (!pending.resolved) {
+            final Iterator<Document> results = iterateDocuments(collectionName, idQuery, feedOptions, recording);
+
+            while (results.hasNext()) {
+                final Document document = results.next();
+                final Object partitionKeyValue = partitionKeyName.map(document::get).orElse(null);
+
+                pending.add(partitionKeyValue == null ? null : new PartitionKey(partitionKeyValue),
+                        document.getId());
+            }
+
+            pending.resolved = true;
+        }
+
+        final Iterator<PartitionIds> partitions = pending.partitions.values().iterator();
+
+        while (partitions.hasNext()) {
+            final PartitionIds partition = partitions.next();
+
+            while (!partition.ids.isEmpty()) {
+                final List<String> batch = partition.ids.subList(0,
+                        Math.min(partition.ids.size(), Constants.DEFAULT_UPDATE_BATCH_SIZE));
+                final int processed = executeUpdateProcedure(collectionName, partition.partitionKey,
+                        new ArrayList<>(batch), operations, pending.updatedDocuments, recording);
+
+                batch.subList(0, processed).clear();
+            }
+
+            partitions.remove();
+        }
+
+        final List<T> updated = new ArrayList<>();
+
+        pending.updatedDocuments.forEach(document -> updated.add(getConverter().read(entityClass, document)));
+
+        return updated;
+    }
+
+    /**
+     * Run the update procedure on the ids of one partition, registering the procedure in the collection when
+     * missing.
+     *
+     * @return how many of the ids were processed, the updated documents are added to updatedDocuments
+     */
+    private int executeUpdateProcedure(String collectionName, PartitionKey partitionKey, List<String> ids,
+                                       List<Map<String, Object>> operations, List<Document> updatedDocuments,
+                                       OperationRecording recording) {
+        final String procedureLink = getCollectionLink(this.databaseName, collectionName) + "/sprocs/"
+                + DocumentUpdateProcedure.ID;
+        final RequestOptions options = getRequestOptions(partitionKey, null);
+        final Object[] parameters = new Object[]{ids, operations};
+
+        try {
+            StoredProcedureResponse response;
+
             try {
-                documentDbFactory.getDocumentClient().deleteDocument((document).getSelfLink(), options);
-                deletedResult.add(getConverter().read(entityClass, document));
+                response = documentDbFactory.getDocumentClient().executeStoredProcedure(procedureLink, options,
+                        parameters);
             } catch (DocumentClientException e) {
-                throw new DocumentDBAccessException(
-                        String.format("Failed to delete document [%s]", (document).getSelfLink()), e);
+                if (e.getStatusCode() != HttpConstants.StatusCodes.NOTFOUND) {
+                    throw e;
+                }
+
+                recording.addResponse(e);
+                createUpdateProcedure(collectionName, recording);
+                response = documentDbFactory.getDocumentClient().executeStoredProcedure(procedureLink, options,
+                        parameters);
+            }
+
+            final Document result = response.getResponseAsDocument();
+            final Collection<Document> updated = result.getCollection(DocumentUpdateProcedure.DOCUMENTS,
+                    Document.class);
+            final int processed = result.getInt(DocumentUpdateProcedure.PROCESSED);
+
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), updated.size());
+
+            if (processed <= 0) {
+                throw new DocumentDBAccessException(String.format(
+                        "update procedure made no progress on documents %s of collection %s", ids, collectionName));
+            }
+
+            updatedDocuments.addAll(updated);
+
+            return processed;
+        } catch (DocumentClientException e) {
+            invalidateCollectionIfGone(collectionName, e);
+            throw new DocumentDBAccessException(String.format("Failed to update documents %s", ids), e);
+        } finally {
+            ids.forEach(id -> invalidateEntityCache(collectionName, id));
+        }
+    }
+
+    private void createUpdateProcedure(String collectionName, OperationRecording recording)
+            throws DocumentClientException {
+        try {
+            final ResourceResponse<StoredProcedure> response = documentDbFactory.getDocumentClient()
+                    .createStoredProcedure(getCollectionLink(this.databaseName, collectionName),
+                            DocumentUpdateProcedure.create(), null);
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), 0);
+        } catch (DocumentClientException e) {
+            if (e.getStatusCode() != CONFLICT) {
+                throw e;
             }
+
+            // Registered concurrently by another client
+            recording.addResponse(e);
+        }
+    }
+
+    /**
+     * Documents of an update not yet updated, grouped by partition, and the documents already updated.
+     */
+    private static final class PendingUpdate {
+        private final Map<String, PartitionIds> partitions = new LinkedHashMap<>();
+        private final List<Document> updatedDocuments = new ArrayList<>();
+        private boolean resolved;
+
+        private void add(PartitionKey partitionKey, String id) {
+            final String key = partitionKey == null ? null : partitionKey.toString();
+
+            partitions.computeIfAbsent(key, k -> new PartitionIds(partitionKey)).ids.add(id);
         }
+    }
+
+    private static final class PartitionIds {
+        private final PartitionKey partitionKey;
+        private final List<String> ids = new ArrayList<>();
 
-        return deletedResult;
+        private PartitionIds(PartitionKey partitionKey) {
+            this.partitionKey = partitionKey;
+        }
     }
 
     private <T> Optional<Object> getPartitionKeyValue(Query query, Class<T> domainClass) {
@@ -530,21 +1620,32 @@ public class DocumentDbTemplate implements DocumentDbOperations, ApplicationCont
             return Optional.empty();
         }
 
-        final Map<String, Object> criteria = query.getCriteria();
         // TODO (wepa) Only one partition key value is supported now
-        final Optional<String> matchedKey = criteria.keySet().stream()
-                .filter(key -> partitionKeyName.get().equals(key)).findFirst();
+        return query.getCriteria().flatMap(criteria -> findPartitionKeyValue(criteria, partitionKeyName.get()));
+    }
 
-        if (!matchedKey.isPresent()) {
-            return Optional.empty();
+    /**
+     * Only an equality every matched document satisfies decides the partition, that is the root criteria or one
+     * joined to it by AND. Equalities under OR or NOT leave the query cross partition.
+     */
+    private static Optional<Object> findPartitionKeyValue(CriteriaDefinition criteria, String partitionKeyName) {
+        if (criteria.getType() == CriteriaType.AND) {
+            return criteria.getSubCriteria().stream()
+                    .map(subCriteria -> findPartitionKeyValue(subCriteria, partitionKeyName))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+        } else if (criteria.getType() == CriteriaType.IS_EQUAL && !criteria.isIgnoreCase()
+                && partitionKeyName.equals(criteria.getKey())) {
+            return Optional.ofNullable(criteria.getCriteriaObject());
         }
 
-        return Optional.of(criteria.get(matchedKey.get()));
+        return Optional.empty();
     }
 
     @SuppressWarnings("unchecked")
     private <T> Optional<String> getPartitionKeyField(Class<T> domainClass) {
-        final DocumentDbEntityInformation entityInfo = new DocumentDbEntityInformation(domainClass);
+        final DocumentDbEntityInformation entityInfo = DocumentDbEntityInformation.getInstance(domainClass);
         if (entityInfo.getPartitionKeyFieldName() == null) {
             return Optional.empty();
         }
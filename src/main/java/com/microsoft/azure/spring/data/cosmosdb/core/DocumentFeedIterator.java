@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedResponse;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Documents of a query feed, fetched page by page as iterated. Each page fetch is admitted separately, and
+ * added to the recording with its request charge, read from the response headers of that page. A throttled page
+ * is left to the caller, who either retries the operation or fails it.
+ */
+final class DocumentFeedIterator implements Iterator<Document> {
+
+    private final FeedResponse<Document> response;
+    private final OperationRecording recording;
+    private final Runnable admission;
+    private final Consumer<DocumentClientException> errorHandler;
+    private Iterator<Document> page = Collections.emptyIterator();
+    private boolean exhausted;
+
+    /**
+     * @param admission    blocks until the next page fetch is admitted
+     * @param errorHandler called with the failure of a page fetch, before it is thrown
+     */
+    DocumentFeedIterator(FeedResponse<Document> response, OperationRecording recording, Runnable admission,
+                         Consumer<DocumentClientException> errorHandler) {
+        this.response = response;
+        this.recording = recording;
+        this.admission = admission;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !exhausted) {
+            fetchNextPage();
+        }
+
+        return page.hasNext();
+    }
+
+    @Override
+    public Document next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no more documents in query feed");
+        }
+
+        return page.next();
+    }
+
+    private void fetchNextPage() {
+        final List<Document> documents;
+
+        admission.run();
+
+        try {
+            documents = response.getQueryIterable().fetchNextBlock();
+        } catch (DocumentClientException e) {
+            exhausted = true;
+            errorHandler.accept(e);
+
+            if (RequestRateLimiter.getThrottledException(e) == null) {
+                recording.fail(e);
+            }
+
+            throw new DocumentDBAccessException("query exception", e);
+        }
+
+        if (documents == null) {
+            exhausted = true;
+        } else {
+            recording.addResponse(response.getRequestCharge(), response.getActivityId(), documents.size());
+            page = documents.iterator();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Entities of a query, mapped one by one while iterating. The underlying query iterator fetches the next page
+ * from database only when the current one is consumed, so only one page of documents is held at a time.
+ * Closing the iterator stops fetching further pages. The finish callback runs once, when the iterator is
+ * either consumed to the end, failed or closed. The error callback receives the failure of a page fetch before
+ * it is thrown, e.g. to hold other requests after a throttled page.
+ *
+ * @param <T> type of the mapped entities
+ */
+final class DocumentQueryIterator<T> implements CloseableIterator<T> {
+
+    private Iterator<Document> documents;
+    private final Function<Document, T> reader;
+    private final Consumer<RuntimeException> onError;
+    private Runnable onFinish;
+
+    DocumentQueryIterator(Iterator<Document> documents, Function<Document, T> reader) {
+        this(documents, reader, null);
+    }
+
+    DocumentQueryIterator(Iterator<Document> documents, Function<Document, T> reader, Runnable onFinish) {
+        this(documents, reader, onFinish, e -> {
+        });
+    }
+
+    DocumentQueryIterator(Iterator<Document> documents, Function<Document, T> reader, Runnable onFinish,
+                          Consumer<RuntimeException> onError) {
+        this.documents = documents;
+        this.reader = reader;
+        this.onFinish = onFinish;
+        this.onError = onError;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (documents == null) {
+            return false;
+        }
+
+        try {
+            if (documents.hasNext()) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            onError.accept(e);
+            finish();
+            throw e;
+        }
+
+        finish();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no more documents in query result");
+        }
+
+        return reader.apply(documents.next());
+    }
+
+    @Override
+    public void close() {
+        this.documents = null;
+        finish();
+    }
+
+    private void finish() {
+        final Runnable callback = this.onFinish;
+
+        this.onFinish = null;
+
+        if (callback != null) {
+            callback.run();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Size and time bounded cache of documents of one collection, keyed by document id, in front of findById of
+ * entities annotated with {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.EntityCache}.
+ * <p>
+ * Eviction is a segmented LRU: a document enters the probation segment, and moves to the protected segment
+ * holding 80% of the capacity when it is read again. The least recently used protected document falls back to
+ * probation when the protected segment is full, and the least recently used probation document is evicted.
+ * Documents read only once therefore never push out the frequently read ones.
+ * <p>
+ * A document loaded while the same id is invalidated is not cached, so a read racing with a write of the
+ * template does not cache the old document.
+ * <p>
+ * A revalidating cache keeps expired documents with their etag and decoded entity, so that an expired document
+ * is read again conditionally and a not modified response serves the cached entity as is.
+ */
+public class DocumentReadCache {
+
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    private final LongSupplier clock;
+    private final int maximumSize;
+    private final int protectedMaximumSize;
+    private final long timeToLiveInNanos;
+    private final boolean revalidating;
+    private final Map<String, Entry> probation = new LinkedHashMap<>();
+    private final Map<String, Entry> protectedSegment = new LinkedHashMap<>();
+
+    private long invalidations;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long notModifiedCount;
+
+    public DocumentReadCache(int maximumSize, long timeToLiveInSeconds) {
+        this(maximumSize, timeToLiveInSeconds, false);
+    }
+
+    /**
+     * @param revalidating whether expired documents are kept to be revalidated by etag
+     */
+    public DocumentReadCache(int maximumSize, long timeToLiveInSeconds, boolean revalidating) {
+        this(maximumSize, timeToLiveInSeconds, revalidating, System::nanoTime);
+    }
+
+    DocumentReadCache(int maximumSize, long timeToLiveInSeconds, boolean revalidating, LongSupplier clock) {
+        Assert.isTrue(maximumSize > 0, "maximumSize should be positive");
+        Assert.isTrue(timeToLiveInSeconds >= 0, "timeToLiveInSeconds should not be negative");
+
+        this.clock = clock;
+        this.maximumSize = maximumSize;
+        this.protectedMaximumSize = (int) (maximumSize * PROTECTED_FRACTION);
+        this.timeToLiveInNanos = TimeUnit.SECONDS.toNanos(timeToLiveInSeconds);
+        this.revalidating = revalidating;
+    }
+
+    public boolean isRevalidating() {
+        return revalidating;
+    }
+
+    /**
+     * @return the cached document, null if absent or expired
+     */
+    @Nullable
+    public synchronized Document get(@NonNull String id) {
+        final Entry entry = remove(id);
+
+        if (entry == null || entry.isExpired(clock.getAsLong())) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        promote(id, entry);
+
+        return entry.document;
+    }
+
+    /**
+     * Look up a document of a revalidating cache, an expired document is returned as well to be revalidated.
+     *
+     * @return the cached document, null if absent
+     */
+    @Nullable
+    public synchronized CachedDocument getForRevalidation(@NonNull String id) {
+        Assert.state(revalidating, "cache is not revalidating");
+
+        final Entry entry = remove(id);
+
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        final boolean expired = entry.isExpired(clock.getAsLong());
+
+        if (expired) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+
+        promote(id, entry);
+
+        return new CachedDocument(entry.document, entry.entity, expired);
+    }
+
+    private Entry remove(String id) {
+        final Entry entry = protectedSegment.remove(id);
+
+        return entry == null ? probation.remove(id) : entry;
+    }
+
+    private void promote(String id, Entry entry) {
+        protectedSegment.put(id, entry);
+
+        if (protectedSegment.size() > protectedMaximumSize) {
+            final Iterator<Map.Entry<String, Entry>> eldest = protectedSegment.entrySet().iterator();
+            final Map.Entry<String, Entry> demoted = eldest.next();
+
+            eldest.remove();
+            probation.put(demoted.getKey(), demoted.getValue());
+            evictFromProbation();
+        }
+    }
+
+    /**
+     * @return token to pass to {@link #put} after the document is loaded
+     */
+    public synchronized long startLoad() {
+        return invalidations;
+    }
+
+    /**
+     * Cache the loaded document, unless anything was invalidated since the load started.
+     */
+    public synchronized void put(@NonNull String id, @NonNull Document document, long loadToken) {
+        put(id, document, null, loadToken);
+    }
+
+    /**
+     * Cache the loaded document with its decoded entity, served by a revalidating cache.
+     */
+    public synchronized void put(@NonNull String id, @NonNull Document document, @Nullable Object entity,
+                                 long loadToken) {
+        if (loadToken != invalidations || (timeToLiveInNanos == 0 && !revalidating)) {
+            return;
+        }
+
+        final Entry entry = new Entry(document, entity, clock.getAsLong() + timeToLiveInNanos);
+
+        if (protectedSegment.containsKey(id)) {
+            protectedSegment.put(id, entry);
+        } else {
+            probation.remove(id);
+            probation.put(id, entry);
+            evictFromProbation();
+        }
+    }
+
+    /**
+     * Serve the revalidated document for another time to live, as database answered it is not modified.
+     */
+    public synchronized void putNotModified(@NonNull String id, @NonNull CachedDocument cached, long loadToken) {
+        notModifiedCount++;
+        put(id, cached.getDocument(), cached.getEntity(), loadToken);
+    }
+
+    public synchronized void invalidate(@NonNull String id) {
+        invalidations++;
+        protectedSegment.remove(id);
+        probation.remove(id);
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        protectedSegment.clear();
+        probation.clear();
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hitCount, missCount, evictionCount, notModifiedCount,
+                probation.size() + protectedSegment.size());
+    }
+
+    private void evictFromProbation() {
+        final Iterator<Entry> eldest = probation.values().iterator();
+
+        while (probation.size() + protectedSegment.size() > maximumSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long notModifiedCount;
+        private final long size;
+
+        private Statistics(long hitCount, long missCount, long evictionCount, long notModifiedCount, long size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.notModifiedCount = notModifiedCount;
+            this.size = size;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return how many misses of a revalidating cache were answered not modified by database
+         */
+        public long getNotModifiedCount() {
+            return notModifiedCount;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return fraction of reads served from the cache, 0 before any read
+         */
+        public double getHitRate() {
+            final long requestCount = hitCount + missCount;
+
+            return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        }
+    }
+
+    /**
+     * Document of a revalidating cache, with the entity decoded from it when it was read.
+     */
+    public static final class CachedDocument {
+        private final Document document;
+        private final Object entity;
+        private final boolean expired;
+
+        private CachedDocument(Document document, Object entity, boolean expired) {
+            this.document = document;
+            this.entity = entity;
+            this.expired = expired;
+        }
+
+        public Document getDocument() {
+            return document;
+        }
+
+        @Nullable
+        public Object getEntity() {
+            return entity;
+        }
+
+        public String getETag() {
+            return document.getETag();
+        }
+
+        /**
+         * @return whether the document is past its time to live and should be revalidated
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+    }
+
+    private static final class Entry {
+        private final Document document;
+        private final Object entity;
+        private final long expireAt;
+
+        private Entry(Document document, Object entity, long expireAt) {
+            this.document = document;
+            this.entity = entity;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expireAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.StoredProcedure;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored procedure applying an {@link Update} to documents of one partition by id, registered in a collection
+ * on its first use. It takes the ids and the operations of {@link #toParameters}, reads and replaces the
+ * documents one by one, and answers the updated documents and how many of the ids it processed. Ids left when
+ * the procedure runs out of its time budget are sent again by the caller, ids without a document are skipped.
+ */
+final class DocumentUpdateProcedure {
+
+    /**
+     * Id of the procedure in collections, versioned so that a changed body is registered under a new id.
+     */
+    static final String ID = "springDataDocumentUpdate_v1";
+
+    static final String TYPE = "type";
+    static final String PATH = "path";
+    static final String VALUE = "value";
+
+    static final String PROCESSED = "processed";
+    static final String DOCUMENTS = "documents";
+
+    private static final String BODY = "function update(ids, operations) {\n"
+            + "    var collection = getContext().getCollection();\n"
+            + "    var updated = [];\n"
+            + "\n"
+            + "    updateNext(0);\n"
+            + "\n"
+            + "    function updateNext(index) {\n"
+            + "        if (index >= ids.length) {\n"
+            + "            respond(index);\n"
+            + "            return;\n"
+            + "        }\n"
+            + "\n"
+            + "        var accepted = collection.readDocument(collection.getAltLink() + '/docs/' + ids[index], {},\n"
+            + "            function (err, document) {\n"
+            + "                if (err) {\n"
+            + "                    if (err.number !== ErrorCodes.NotFound) {\n"
+            + "                        throw err;\n"
+            + "                    }\n"
+            + "                    updateNext(index + 1);\n"
+            + "                    return;\n"
+            + "                }\n"
+            + "\n"
+            + "                operations.forEach(function (operation) {\n"
+            + "                    apply(document, operation);\n"
+            + "                });\n"
+            + "\n"
+            + "                var replaceAccepted = collection.replaceDocument(document._self, document, {},\n"
+            + "                    function (replaceErr, replaced) {\n"
+            + "                        if (replaceErr) {\n"
+            + "                            throw replaceErr;\n"
+            + "                        }\n"
+            + "                        updated.push(replaced);\n"
+            + "                        updateNext(index + 1);\n"
+            + "                    });\n"
+            + "\n"
+            + "                if (!replaceAccepted) {\n"
+            + "                    respond(index);\n"
+            + "                }\n"
+            + "            });\n"
+            + "\n"
+            + "        if (!accepted) {\n"
+            + "            respond(index);\n"
+            + "        }\n"
+            + "    }\n"
+            + "\n"
+            + "    function apply(document, operation) {\n"
+            + "        var path = operation.path;\n"
+            + "        var parent = document;\n"
+            + "\n"
+            + "        for (var i = 0; i < path.length - 1; i++) {\n"
+            + "            if (parent[path[i]] === undefined || parent[path[i]] === null) {\n"
+            + "                if (operation.type === 'UNSET') {\n"
+            + "                    return;\n"
+            + "                }\n"
+            + "                parent[path[i]] = {};\n"
+            + "            }\n"
+            + "            parent = parent[path[i]];\n"
+            + "            if (typeof parent !== 'object' || Array.isArray(parent)) {\n"
+            + "                throw new Error('Property ' + path.slice(0, i + 1).join('.') + ' is not an object');\n"
+            + "            }\n"
+            + "        }\n"
+            + "\n"
+            + "        var name = path[path.length - 1];\n"
+            + "        var current = parent[name] === null ? undefined : parent[name];\n"
+            + "\n"
+            + "        if (operation.type === 'SET') {\n"
+            + "            parent[name] = operation.value;\n"
+            + "        } else if (operation.type === 'UNSET') {\n"
+            + "            delete parent[name];\n"
+            + "        } else if (operation.type === 'INCREMENT') {\n"
+            + "            if (current !== undefined && typeof current !== 'number') {\n"
+            + "                throw new Error('Property ' + path.join('.') + ' is not a number');\n"
+            + "            }\n"
+            + "            parent[name] = current === undefined ? operation.value : current + operation.value;\n"
+            + "        } else if (operation.type === 'PUSH') {\n"
+            + "            if (current !== undefined && !Array.isArray(current)) {\n"
+            + "                throw new Error('Property ' + path.join('.') + ' is not an array');\n"
+            + "            }\n"
+            + "            parent[name] = current === undefined ? [operation.value]\n"
+            + "                : current.concat([operation.value]);\n"
+            + "        }\n"
+            + "    }\n"
+            + "\n"
+            + "    function respond(processed) {\n"
+            + "        getContext().getResponse().setBody({processed: processed, documents: updated});\n"
+            + "    }\n"
+            + "}\n";
+
+    private DocumentUpdateProcedure() {
+    }
+
+    static StoredProcedure create() {
+        final StoredProcedure procedure = new StoredProcedure();
+
+        procedure.setId(ID);
+        procedure.setBody(BODY);
+
+        return procedure;
+    }
+
+    /**
+     * Convert the operations of the update to the procedure parameter, with keys split to paths of document
+     * properties and values converted as query parameters are.
+     */
+    static List<Map<String, Object>> toParameters(Update update, Class<?> entityClass,
+                                                  MappingDocumentDbConverter converter) {
+        Assert.isTrue(!update.isEmpty(), "update should have at least one operation");
+
+        final DocumentDbEntityInformation<?, ?> entityInfo = DocumentDbEntityInformation.getInstance(entityClass);
+        final List<Map<String, Object>> parameters = new ArrayList<>();
+
+        for (final Update.Operation operation : update.getOperations()) {
+            final List<String> path = Arrays.asList(StringUtils.delimitedListToStringArray(operation.getKey(), "."));
+
+            Assert.isTrue(!path.get(0).equals(entityInfo.getId().getName()), "id can not be updated");
+            Assert.isTrue(!path.get(0).equals(entityInfo.getPartitionKeyFieldName()),
+                    "partition key can not be updated");
+
+            final Map<String, Object> parameter = new HashMap<>();
+
+            parameter.put(TYPE, operation.getType().name());
+            parameter.put(PATH, path);
+            parameter.put(VALUE, converter.mapToDocumentDBValue(operation.getValue()));
+            parameters.add(parameter);
+        }
+
+        return parameters;
+    }
+}
@@ -0,0 +1,1074 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.documentdb.Document;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.PartitionKeyDefinition;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsListener;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageImpl;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbSliceImpl;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * In process stand-in of database implementing {@link DocumentDbOperations}, to run repositories and templates
+ * in tests and load tests without network. Documents are kept as JSON per collection and partition, queries are
+ * evaluated on the criteria of {@link Query} with the semantics of the SQL generated for database. Paged
+ * queries continue by an opaque continuation, and every request is charged simulated request units and delayed
+ * by a simulated latency, reported to the {@link DocumentDbMetricsListener} like {@link DocumentDbTemplate}
+ * does.
+ * <p>
+ * Documents of a collection created by {@link #createCollectionIfNotExists} are partitioned by the partition key
+ * field, documents of other collections by the partition key given on write. A collection is created on the
+ * first write if missing, and reads as empty before.
+ */
+public class InMemoryDocumentDbTemplate implements DocumentDbOperations {
+    private static final int CONFLICT = 409;
+    private static final int PRECONDITION_FAILED = 412;
+    private static final int QUERY_PAGE_SIZE = 100;
+    private static final double BYTES_PER_KB = 1024;
+    private static final double DEFAULT_READ_CHARGE = 1;
+    private static final double DEFAULT_WRITE_CHARGE = 5;
+    private static final double DEFAULT_QUERY_CHARGE = 2.5;
+
+    private final MappingDocumentDbConverter mappingDocumentDbConverter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryQueryEvaluator queryEvaluator;
+    private final Map<String, InMemoryCollection> collections = new ConcurrentHashMap<>();
+
+    private double readCharge = DEFAULT_READ_CHARGE;
+    private double writeCharge = DEFAULT_WRITE_CHARGE;
+    private double queryCharge = DEFAULT_QUERY_CHARGE;
+    private long latencyInMillis;
+    private DocumentDbMetricsListener metricsListener = DocumentDbMetricsListener.NOOP;
+
+    public InMemoryDocumentDbTemplate(MappingDocumentDbConverter mappingDocumentDbConverter) {
+        Assert.notNull(mappingDocumentDbConverter, "MappingDocumentDbConverter must not be null!");
+
+        this.mappingDocumentDbConverter = mappingDocumentDbConverter;
+        this.queryEvaluator = new InMemoryQueryEvaluator(mappingDocumentDbConverter, this.objectMapper);
+    }
+
+    /**
+     * Set the request units charged for reading a document, per KB of the document.
+     */
+    public void setReadCharge(double readCharge) {
+        Assert.isTrue(readCharge >= 0, "readCharge should not be negative");
+        this.readCharge = readCharge;
+    }
+
+    /**
+     * Set the request units charged for writing or deleting a document, per KB of the document.
+     */
+    public void setWriteCharge(double writeCharge) {
+        Assert.isTrue(writeCharge >= 0, "writeCharge should not be negative");
+        this.writeCharge = writeCharge;
+    }
+
+    /**
+     * Set the request units charged for each page of a query, on top of the read charge of returned documents.
+     */
+    public void setQueryCharge(double queryCharge) {
+        Assert.isTrue(queryCharge >= 0, "queryCharge should not be negative");
+        this.queryCharge = queryCharge;
+    }
+
+    /**
+     * Set how long each request, a point operation or a page of a query, takes.
+     */
+    public void setLatency(long latency, TimeUnit unit) {
+        Assert.isTrue(latency >= 0, "latency should not be negative");
+        Assert.notNull(unit, "unit should not be null");
+        this.latencyInMillis = unit.toMillis(latency);
+    }
+
+    /**
+     * Set the listener receiving latency, request charge and item counts of each operation.
+     */
+    public void setMetricsListener(DocumentDbMetricsListener metricsListener) {
+        Assert.notNull(metricsListener, "metricsListener should not be null");
+        this.metricsListener = metricsListener;
+    }
+
+    private <R> R recorded(String operation, String collectionName, Function<OperationRecording, R> action) {
+        final OperationRecording recording = startRecording(operation, collectionName);
+
+        try {
+            return action.apply(recording);
+        } catch (RuntimeException e) {
+            recording.fail(e);
+            throw e;
+        } finally {
+            recording.finish();
+        }
+    }
+
+    private OperationRecording startRecording(String operation, String collectionName) {
+        return new OperationRecording(operation, collectionName, DocumentDbMetricsContext.getRepositoryMethod(),
+                this.metricsListener);
+    }
+
+    /**
+     * Take the simulated latency of a request and record its charge.
+     */
+    private void respond(OperationRecording recording, double charge, long items) {
+        if (this.latencyInMillis > 0) {
+            try {
+                Thread.sleep(this.latencyInMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DocumentDBAccessException("request interrupted", e);
+            }
+        }
+
+        recording.addResponse(charge, UUID.randomUUID().toString(), items);
+    }
+
+    private static double getCharge(double chargePerKb, Iterable<JsonNode> documents) {
+        long bytes = 0;
+
+        for (final JsonNode document : documents) {
+            bytes += document.toString().length();
+        }
+
+        return chargePerKb * Math.max(1, Math.ceil(bytes / BYTES_PER_KB));
+    }
+
+    private static double getCharge(double chargePerKb, JsonNode document) {
+        return getCharge(chargePerKb, Collections.singletonList(document));
+    }
+
+    public String getCollectionName(Class<?> entityClass) {
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return entityClass.getSimpleName();
+    }
+
+    @Override
+    public DocumentCollection createCollectionIfNotExists(DocumentDbEntityInformation information,
+                                                          String partitionKeyFieldName) {
+        final String collectionName = information.getCollectionName();
+        final InMemoryCollection collection = this.collections.computeIfAbsent(collectionName,
+                name -> new InMemoryCollection(partitionKeyFieldName));
+        final DocumentCollection documentCollection = new DocumentCollection();
+
+        documentCollection.setId(collectionName);
+
+        if (collection.partitionKeyFieldName != null) {
+            final PartitionKeyDefinition partitionKeyDefinition = new PartitionKeyDefinition();
+
+            partitionKeyDefinition.setPaths(Collections.singletonList("/" + collection.partitionKeyFieldName));
+            documentCollection.setPartitionKey(partitionKeyDefinition);
+        }
+
+        return documentCollection;
+    }
+
+    private InMemoryCollection getCollection(String collectionName) {
+        final InMemoryCollection collection = this.collections.get(collectionName);
+
+        return collection == null ? new InMemoryCollection(null) : collection;
+    }
+
+    private InMemoryCollection getOrCreateCollection(String collectionName) {
+        return this.collections.computeIfAbsent(collectionName, name -> new InMemoryCollection(null));
+    }
+
+    public <T> T insert(T objectToSave, PartitionKey partitionKey) {
+        Assert.notNull(objectToSave, "entityClass should not be null");
+
+        return insert(getCollectionName(objectToSave.getClass()), objectToSave, partitionKey);
+    }
+
+    public <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(objectToSave, "objectToSave should not be null");
+
+        return recorded("insert", collectionName,
+                recording -> insertDocument(collectionName, objectToSave, partitionKey, recording));
+    }
+
+    private <T> T insertDocument(String collectionName, T objectToSave, PartitionKey partitionKey,
+                                 OperationRecording recording) {
+        final InMemoryCollection collection = getOrCreateCollection(collectionName);
+        final ObjectNode document = toStoredDocument(toDocument(objectToSave));
+
+        if (!collection.insert(getPartition(collection, document, partitionKey), document)) {
+            throw new DocumentDBAccessException("insert exception", new DocumentClientException(CONFLICT));
+        }
+
+        respond(recording, getCharge(this.writeCharge, document), 1);
+
+        @SuppressWarnings("unchecked") final Class<T> domainClass = (Class<T>) objectToSave.getClass();
+
+        return toEntity(document, domainClass);
+    }
+
+    public <T> void upsert(T object, PartitionKey partitionKey) {
+        Assert.notNull(object, "Upsert object should not be null");
+
+        upsert(getCollectionName(object.getClass()), object, partitionKey);
+    }
+
+    public <T> void upsert(String collectionName, T object, PartitionKey partitionKey) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(object, "Upsert object should not be null");
+
+        recorded("upsert", collectionName, recording -> {
+            upsertDocument(collectionName, object, partitionKey, recording);
+            return null;
+        });
+    }
+
+    /**
+     * An entity with a version is only written if the stored document still has that etag, as
+     * {@link DocumentDbTemplate} does.
+     */
+    private <T> void upsertDocument(String collectionName, T object, PartitionKey partitionKey,
+                                    OperationRecording recording) {
+        final InMemoryCollection collection = getOrCreateCollection(collectionName);
+        final Document written = toDocument(object);
+        final String versionETag = object instanceof Document ? null : written.getETag();
+        final ObjectNode document = toStoredDocument(written);
+
+        if (!collection.upsert(getPartition(collection, document, partitionKey), document, versionETag)) {
+            throw new OptimisticLockingFailureException(String.format(
+                    "document [%s] was modified since version %s", written.getId(), versionETag),
+                    new DocumentClientException(PRECONDITION_FAILED));
+        }
+
+        respond(recording, getCharge(this.writeCharge, document), 1);
+
+        if (!(object instanceof Document)) {
+            this.mappingDocumentDbConverter.updateVersion(object, document.get(Constants.ETAG_PROPERTY_NAME)
+                    .asText());
+        }
+    }
+
+    public <T> BulkWriteResult<T> insertAll(String collectionName, Iterable<T> objectsToSave) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(objectsToSave, "objectsToSave should not be null");
+
+        return recorded("insertAll", collectionName, recording -> writeAll(objectsToSave,
+                object -> insertDocument(collectionName, object, createPartitionKey(object), recording)));
+    }
+
+    public <T> BulkWriteResult<T> upsertAll(String collectionName, Iterable<T> objects) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(objects, "Upsert objects should not be null");
+
+        return recorded("upsertAll", collectionName, recording -> writeAll(objects, object -> {
+            upsertDocument(collectionName, object, createPartitionKey(object), recording);
+            return object;
+        }));
+    }
+
+    /**
+     * Write the objects one by one, a failed write is collected and does not stop the others.
+     */
+    private static <T> BulkWriteResult<T> writeAll(Iterable<T> objects, Function<T, T> writer) {
+        final List<T> results = new ArrayList<>();
+        final List<BulkWriteResult.Failure<T>> failures = new ArrayList<>();
+        int index = 0;
+
+        for (final T object : objects) {
+            Assert.notNull(object, "Bulk write object should not be null");
+
+            try {
+                results.add(writer.apply(object));
+            } catch (DocumentDBAccessException | OptimisticLockingFailureException e) {
+                failures.add(new BulkWriteResult.Failure<>(index, object, e));
+            }
+
+            index++;
+        }
+
+        return new BulkWriteResult<>(results, failures);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PartitionKey createPartitionKey(Object entity) {
+        final Class<Object> domainClass = (Class<Object>) entity.getClass();
+        final String partitionKeyValue = DocumentDbEntityInformation.getInstance(domainClass)
+                .getPartitionKeyFieldValue(entity);
+
+        return StringUtils.isEmpty(partitionKeyValue) ? null : new PartitionKey(partitionKeyValue);
+    }
+
+    public <T> T findById(Object id, Class<T> entityClass) {
+        assertValidId(id);
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return findById(getCollectionName(entityClass), id, entityClass);
+    }
+
+    public <T> T findById(String collectionName, Object id, Class<T> entityClass) {
+        assertValidId(id);
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return recorded("findById", collectionName, recording -> {
+            final List<JsonNode> documents = getCollection(collectionName).find(id.toString(), null);
+
+            if (documents.isEmpty()) {
+                respond(recording, this.readCharge, 0);
+                return null;
+            }
+
+            respond(recording, getCharge(this.readCharge, documents.get(0)), 1);
+
+            return toEntity(documents.get(0), entityClass);
+        });
+    }
+
+    /**
+     * @param partitionKey partition to look in, null to look across partitions
+     */
+    public boolean existsById(String collectionName, Object id, PartitionKey partitionKey) {
+        assertValidId(id);
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("existsById", collectionName, recording -> {
+            final boolean exists = !getCollection(collectionName).find(id.toString(), partitionKey).isEmpty();
+
+            respond(recording, this.queryCharge, exists ? 1 : 0);
+
+            return exists;
+        });
+    }
+
+    public <T> List<T> findByIds(String collectionName, Iterable<?> ids, Class<T> entityClass) {
+        return findByIds(collectionName, ids, entityClass, null);
+    }
+
+    /**
+     * Entities are returned in the order of given ids, ids without a document are skipped.
+     *
+     * @param partitionKey partition to look in, null to look across partitions
+     */
+    public <T> List<T> findByIds(String collectionName, Iterable<?> ids, Class<T> entityClass,
+                                 PartitionKey partitionKey) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(ids, "ids should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        final Set<String> distinctIds = new LinkedHashSet<>();
+
+        for (final Object id : ids) {
+            assertValidId(id);
+            distinctIds.add(id.toString());
+        }
+
+        return recorded("findByIds", collectionName, recording -> {
+            final InMemoryCollection collection = getCollection(collectionName);
+            final List<JsonNode> documents = new ArrayList<>();
+
+            distinctIds.forEach(id -> documents.addAll(collection.find(id, partitionKey)));
+            respond(recording, this.queryCharge + getCharge(this.readCharge, documents), documents.size());
+
+            return toEntities(documents, entityClass);
+        });
+    }
+
+    public <T> List<T> findAll(Class<T> entityClass) {
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return findAll(getCollectionName(entityClass), entityClass);
+    }
+
+    public <T> List<T> findAll(String collectionName, Class<T> entityClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        final List<T> entities = new ArrayList<>();
+
+        stream(new Query(), entityClass, collectionName, "findAll").forEachRemaining(entities::add);
+
+        return entities;
+    }
+
+    public <T> CloseableIterator<T> streamAll(String collectionName, Class<T> entityClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entityClass, "entityClass should not be null");
+
+        return stream(new Query(), entityClass, collectionName, "streamAll");
+    }
+
+    public <T> boolean exists(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("exists", collectionName, recording -> {
+            final boolean exists = !evaluate(query, domainClass, collectionName).isEmpty();
+
+            respond(recording, this.queryCharge, exists ? 1 : 0);
+
+            return exists;
+        });
+    }
+
+    public <T> List<T> find(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final List<T> entities = new ArrayList<>();
+
+        stream(query, domainClass, collectionName, "find").forEachRemaining(entities::add);
+
+        return entities;
+    }
+
+    public <T> CloseableIterator<T> stream(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return stream(query, domainClass, collectionName, "stream");
+    }
+
+    /**
+     * The matching documents are taken when the query starts, then charged and handed out page by page as the
+     * iterator advances. Metrics are recorded when the iterator is consumed, failed or closed.
+     */
+    private <T> CloseableIterator<T> stream(Query query, Class<T> domainClass, String collectionName,
+                                            String operation) {
+        final OperationRecording recording = startRecording(operation, collectionName);
+
+        try {
+            final List<JsonNode> documents = evaluate(query, domainClass, collectionName);
+
+            return new DocumentQueryIterator<>(new PagedDocumentIterator(documents, recording),
+                    document -> mappingDocumentDbConverter.read(domainClass, document), recording::finish);
+        } catch (RuntimeException e) {
+            recording.fail(e);
+            recording.finish();
+            throw e;
+        }
+    }
+
+    public <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName) {
+        Assert.notNull(pageable, "pageable should not be null");
+
+        return paginationQuery(new Query().with(pageable).with(pageable.getSort()), domainClass, collectionName);
+    }
+
+    public <T> Page<T> paginationQuery(Query query, Class<T> domainClass, String collectionName) {
+        return recorded("paginationQuery", collectionName, recording -> {
+            final DocumentDbSliceImpl<T> slice = queryPage(query, domainClass, collectionName, recording);
+            final long total = countDocuments(query, domainClass, collectionName, recording);
+
+            return new DocumentDbPageImpl<>(slice.getContent(), slice.getPageable(), total,
+                    slice.getResponseContinuation());
+        });
+    }
+
+    public <T> Slice<T> sliceQuery(Query query, Class<T> domainClass, String collectionName) {
+        return recorded("sliceQuery", collectionName,
+                recording -> queryPage(query, domainClass, collectionName, recording));
+    }
+
+    /**
+     * Read one page by the continuation of {@link DocumentDbPageRequest}, the continuation is the offset of the
+     * next page in the matching documents. Without continuation the pages before the requested one are skipped.
+     */
+    private <T> DocumentDbSliceImpl<T> queryPage(Query query, Class<T> domainClass, String collectionName,
+                                                 OperationRecording recording) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final Pageable pageable = query.getPageable();
+        Assert.isTrue(pageable.isPaged(), "query should be paged");
+
+        final String requestContinuation = pageable instanceof DocumentDbPageRequest
+                ? ((DocumentDbPageRequest) pageable).getRequestContinuation() : null;
+        final List<JsonNode> documents = evaluate(query, domainClass, collectionName);
+        final int start = requestContinuation == null ? (int) Math.min(pageable.getOffset(), documents.size())
+                : parseContinuation(requestContinuation, documents.size());
+        final int end = Math.min(start + pageable.getPageSize(), documents.size());
+        final List<JsonNode> page = documents.subList(start, end);
+
+        respond(recording, this.queryCharge + getCharge(this.readCharge, page), page.size());
+
+        return new DocumentDbSliceImpl<>(toEntities(page, domainClass), pageable,
+                end < documents.size() ? String.valueOf(end) : null);
+    }
+
+    private static int parseContinuation(String continuation, int documentCount) {
+        try {
+            final int offset = Integer.parseInt(continuation);
+
+            if (offset >= 0) {
+                return Math.min(offset, documentCount);
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the bad request below.
+        }
+
+        throw new DocumentDBAccessException("pagination query exception",
+                new DocumentClientException(HttpConstants.StatusCodes.BADREQUEST));
+    }
+
+    public void deleteAll(String collectionName) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        recorded("deleteAll", collectionName, recording -> {
+            this.collections.remove(collectionName);
+            respond(recording, this.writeCharge, 0);
+
+            return null;
+        });
+    }
+
+    public <T> void deleteById(String collectionName, Object id, PartitionKey partitionKey) {
+        assertValidId(id);
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        recorded("deleteById", collectionName, recording -> {
+            final JsonNode deleted = getCollection(collectionName).remove(id.toString(), partitionKey);
+
+            if (deleted == null) {
+                throw new DocumentDBAccessException("deleteById exception",
+                        new DocumentClientException(HttpConstants.StatusCodes.NOTFOUND));
+            }
+
+            respond(recording, getCharge(this.writeCharge, deleted), 1);
+
+            return null;
+        });
+    }
+
+    public <T> List<T> delete(Query query, Class<T> entityClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("delete", collectionName, recording -> {
+            final InMemoryCollection collection = getCollection(collectionName);
+            final List<JsonNode> documents = evaluate(query, entityClass, collectionName);
+            final List<T> deletedResult = new ArrayList<>();
+
+            respond(recording, this.queryCharge + getCharge(this.readCharge, documents), documents.size());
+
+            for (final JsonNode document : documents) {
+                if (collection.remove(document)) {
+                    respond(recording, getCharge(this.writeCharge, document), 0);
+                    deletedResult.add(toEntity(document, entityClass));
+                }
+            }
+
+            return deletedResult;
+        });
+    }
+
+    /**
+     * Update the stored document in place of the stored procedure of {@link DocumentDbTemplate}, with the same
+     * operators. Without the partition key the document of a partitioned collection is looked up by a query
+     * first.
+     */
+    public <T> T updateById(String collectionName, Object id, PartitionKey partitionKey, Update update,
+                            Class<T> entityClass) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(update, "update should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+        assertValidId(id);
+
+        final List<Map<String, Object>> operations = DocumentUpdateProcedure.toParameters(update, entityClass,
+                this.mappingDocumentDbConverter);
+
+        return recorded("updateById", collectionName, recording -> {
+            final InMemoryCollection collection = getCollection(collectionName);
+            final List<JsonNode> found = collection.find(id.toString(), partitionKey);
+
+            if (partitionKey == null && collection.partitionKeyFieldName != null) {
+                respond(recording, this.queryCharge, found.size());
+            }
+
+            final List<JsonNode> updated = updateDocuments(collection,
+                    found.isEmpty() ? found : found.subList(0, 1), operations, recording);
+
+            return updated.isEmpty() ? null : toEntity(updated.get(0), entityClass);
+        });
+    }
+
+    public <T> List<T> update(Query query, Update update, Class<T> entityClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(update, "update should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final List<Map<String, Object>> operations = DocumentUpdateProcedure.toParameters(update, entityClass,
+                this.mappingDocumentDbConverter);
+
+        return recorded("update", collectionName, recording -> {
+            final List<JsonNode> documents = evaluate(query, entityClass, collectionName);
+
+            respond(recording, this.queryCharge, documents.size());
+
+            return toEntities(updateDocuments(getCollection(collectionName), documents, operations, recording),
+                    entityClass);
+        });
+    }
+
+    /**
+     * Apply the operations to the documents still stored, charged as one procedure request.
+     */
+    private List<JsonNode> updateDocuments(InMemoryCollection collection, List<JsonNode> documents,
+                                           List<Map<String, Object>> operations, OperationRecording recording) {
+        final List<JsonNode> updated = new ArrayList<>();
+
+        for (final JsonNode document : documents) {
+            final JsonNode replaced = collection.replace(document, stored -> applyOperations(stored, operations));
+
+            if (replaced != null) {
+                updated.add(replaced);
+            }
+        }
+
+        respond(recording, getCharge(this.readCharge + this.writeCharge, updated), updated.size());
+
+        return updated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonNode applyOperations(JsonNode stored, List<Map<String, Object>> operations) {
+        final ObjectNode document = stored.deepCopy();
+
+        for (final Map<String, Object> operation : operations) {
+            final List<String> path = (List<String>) operation.get(DocumentUpdateProcedure.PATH);
+            final Update.OperationType type =
+                    Update.OperationType.valueOf((String) operation.get(DocumentUpdateProcedure.TYPE));
+            final JsonNode value = this.objectMapper.valueToTree(operation.get(DocumentUpdateProcedure.VALUE));
+            final ObjectNode parent = getParent(document, path, type != Update.OperationType.UNSET);
+
+            if (parent != null) {
+                applyOperation(parent, path, type, value);
+            }
+        }
+
+        stamp(document);
+
+        return document;
+    }
+
+    /**
+     * @return the object holding the last property of the path, null if missing and not created
+     */
+    private static ObjectNode getParent(ObjectNode document, List<String> path, boolean create) {
+        ObjectNode parent = document;
+
+        for (int i = 0; i < path.size() - 1; i++) {
+            final JsonNode child = parent.get(path.get(i));
+
+            if (child == null || child.isNull()) {
+                if (!create) {
+                    return null;
+                }
+
+                parent = parent.putObject(path.get(i));
+            } else if (child.isObject()) {
+                parent = (ObjectNode) child;
+            } else {
+                throw createUpdateException("Property " + String.join(".", path.subList(0, i + 1))
+                        + " is not an object");
+            }
+        }
+
+        return parent;
+    }
+
+    private static void applyOperation(ObjectNode parent, List<String> path, Update.OperationType type,
+                                       JsonNode value) {
+        final String name = path.get(path.size() - 1);
+        final JsonNode current = parent.hasNonNull(name) ? parent.get(name) : null;
+
+        switch (type) {
+            case SET:
+                parent.set(name, value);
+                break;
+            case UNSET:
+                parent.remove(name);
+                break;
+            case INCREMENT:
+                if (current == null) {
+                    parent.set(name, value);
+                } else if (!current.isNumber()) {
+                    throw createUpdateException("Property " + String.join(".", path) + " is not a number");
+                } else if (current.isIntegralNumber() && value.isIntegralNumber()) {
+                    parent.put(name, current.longValue() + value.longValue());
+                } else {
+                    parent.put(name, current.doubleValue() + value.doubleValue());
+                }
+                break;
+            case PUSH:
+                if (current == null) {
+                    parent.putArray(name).add(value);
+                } else if (!current.isArray()) {
+                    throw createUpdateException("Property " + String.join(".", path) + " is not an array");
+                } else {
+                    ((ArrayNode) current).add(value);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported update operation: " + type);
+        }
+    }
+
+    private static DocumentDBAccessException createUpdateException(String message) {
+        return new DocumentDBAccessException(message,
+                new DocumentClientException(HttpConstants.StatusCodes.BADREQUEST));
+    }
+
+    public long count(String collectionName) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("count", collectionName, recording -> {
+            final long count = getCollection(collectionName).snapshot().size();
+
+            respond(recording, this.queryCharge, 1);
+
+            return count;
+        });
+    }
+
+    public <T> long count(Query query, Class<T> domainClass, String collectionName) {
+        Assert.notNull(query, "query should not be null");
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        return recorded("count", collectionName,
+                recording -> countDocuments(query, domainClass, collectionName, recording));
+    }
+
+    private <T> long countDocuments(Query query, Class<T> domainClass, String collectionName,
+                                    OperationRecording recording) {
+        final long count = evaluate(query, domainClass, collectionName).size();
+
+        respond(recording, this.queryCharge, 1);
+
+        return count;
+    }
+
+    @Override
+    public MappingDocumentDbConverter getConverter() {
+        return this.mappingDocumentDbConverter;
+    }
+
+    private <T> List<JsonNode> evaluate(Query query, Class<T> domainClass, String collectionName) {
+        return this.queryEvaluator.evaluate(query, getCollection(collectionName).snapshot(), domainClass);
+    }
+
+    private Document toDocument(Object object) {
+        if (object instanceof Document) {
+            return (Document) object;
+        }
+
+        final Document document = new Document();
+        this.mappingDocumentDbConverter.write(object, document);
+
+        return document;
+    }
+
+    /**
+     * Copy the document as database stores it, with an id generated if missing and the system properties set.
+     */
+    private ObjectNode toStoredDocument(Document document) {
+        try {
+            final ObjectNode node = (ObjectNode) this.objectMapper.readTree(document.toJson());
+
+            if (!node.hasNonNull("id") || StringUtils.isEmpty(node.get("id").asText())) {
+                node.put("id", UUID.randomUUID().toString());
+            }
+
+            stamp(node);
+
+            return node;
+        } catch (IOException e) {
+            throw new DocumentDBAccessException("failed to write document", e);
+        }
+    }
+
+    /**
+     * Set the system properties database changes on every write.
+     */
+    private static void stamp(ObjectNode document) {
+        document.put("_ts", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        document.put(Constants.ETAG_PROPERTY_NAME, "\"" + UUID.randomUUID() + "\"");
+    }
+
+    private <T> T toEntity(JsonNode document, Class<T> entityClass) {
+        return this.mappingDocumentDbConverter.read(entityClass, new Document(document.toString()));
+    }
+
+    private <T> List<T> toEntities(List<JsonNode> documents, Class<T> entityClass) {
+        final List<T> entities = new ArrayList<>(documents.size());
+
+        documents.forEach(document -> entities.add(toEntity(document, entityClass)));
+
+        return entities;
+    }
+
+    /**
+     * The partition of a document in a partitioned collection is given by its partition key field, otherwise by
+     * the partition key of the write. A partition key not matching the document is rejected as database does.
+     */
+    private String getPartition(InMemoryCollection collection, JsonNode document, PartitionKey partitionKey) {
+        if (collection.partitionKeyFieldName == null) {
+            return partitionKey == null ? null : partitionKey.toString();
+        }
+
+        final JsonNode value = document.get(collection.partitionKeyFieldName);
+        final String partition;
+
+        try {
+            partition = value == null ? null
+                    : new PartitionKey(this.objectMapper.treeToValue(value, Object.class)).toString();
+        } catch (JsonProcessingException e) {
+            throw new DocumentDBAccessException("failed to read partition key", e);
+        }
+
+        if (partitionKey != null && !partitionKey.toString().equals(partition)) {
+            throw new DocumentDBAccessException("partition key of request does not match the document",
+                    new DocumentClientException(HttpConstants.StatusCodes.BADREQUEST));
+        }
+
+        return partition;
+    }
+
+    private void assertValidId(Object id) {
+        Assert.notNull(id, "id should not be null");
+        if (id instanceof String) {
+            Assert.hasText(id.toString(), "id should not be empty or only whitespaces.");
+        }
+    }
+
+    /**
+     * Documents of a collection keyed by partition and id, in the order of insertion. Stored documents are never
+     * modified, a write replaces the document, so documents handed out need no copy. Partitions holding an id and
+     * the key of each stored document are indexed, so that lookups by id across partitions and by a handed out
+     * document take no scan of the collection.
+     */
+    private static final class InMemoryCollection {
+        private final String partitionKeyFieldName;
+        private final Map<List<String>, JsonNode> documents = new LinkedHashMap<>();
+        private final Map<String, Set<String>> partitionsById = new HashMap<>();
+        private final Map<JsonNode, List<String>> keysByDocument = new IdentityHashMap<>();
+
+        private InMemoryCollection(String partitionKeyFieldName) {
+            this.partitionKeyFieldName = StringUtils.isEmpty(partitionKeyFieldName) ? null : partitionKeyFieldName;
+        }
+
+        private static List<String> getKey(String partition, JsonNode document) {
+            return Arrays.asList(partition, document.get("id").asText());
+        }
+
+        /**
+         * @return false if a document of the same id is already in the partition
+         */
+        private synchronized boolean insert(String partition, JsonNode document) {
+            final List<String> key = getKey(partition, document);
+
+            if (documents.containsKey(key)) {
+                return false;
+            }
+
+            store(key, document);
+
+            return true;
+        }
+
+        /**
+         * @param ifMatchETag etag the stored document should have, null to write unconditionally
+         * @return false if the stored document has another etag
+         */
+        private synchronized boolean upsert(String partition, JsonNode document, String ifMatchETag) {
+            final List<String> key = getKey(partition, document);
+            final JsonNode stored = documents.get(key);
+
+            if (ifMatchETag != null && stored != null
+                    && !ifMatchETag.equals(stored.path(Constants.ETAG_PROPERTY_NAME).asText())) {
+                return false;
+            }
+
+            if (stored != null) {
+                keysByDocument.remove(stored);
+            }
+
+            store(key, document);
+
+            return true;
+        }
+
+        /**
+         * @param partitionKey partition to look in, null to look across partitions
+         */
+        private synchronized List<JsonNode> find(String id, PartitionKey partitionKey) {
+            if (partitionKey != null) {
+                final JsonNode document = documents.get(Arrays.asList(partitionKey.toString(), id));
+
+                return document == null ? Collections.emptyList() : Collections.singletonList(document);
+            }
+
+            final Set<String> partitions = partitionsById.getOrDefault(id, Collections.emptySet());
+            final List<JsonNode> found = new ArrayList<>(partitions.size());
+
+            partitions.forEach(partition -> found.add(documents.get(Arrays.asList(partition, id))));
+
+            return found;
+        }
+
+        /**
+         * @return the removed document, null if none
+         */
+        private synchronized JsonNode remove(String id, PartitionKey partitionKey) {
+            final List<JsonNode> found = find(id, partitionKey);
+
+            if (found.isEmpty()) {
+                return null;
+            }
+
+            remove(found.get(0));
+
+            return found.get(0);
+        }
+
+        /**
+         * Replace the document, unless it was replaced or removed meanwhile.
+         *
+         * @return the replacing document, null if the document is no longer stored
+         */
+        private synchronized JsonNode replace(JsonNode document, UnaryOperator<JsonNode> updater) {
+            final List<String> key = keysByDocument.remove(document);
+
+            if (key == null) {
+                return null;
+            }
+
+            final JsonNode replaced = updater.apply(document);
+
+            store(key, replaced);
+
+            return replaced;
+        }
+
+        private synchronized boolean remove(JsonNode document) {
+            final List<String> key = keysByDocument.remove(document);
+
+            if (key == null) {
+                return false;
+            }
+
+            documents.remove(key);
+            partitionsById.computeIfPresent(key.get(1), (id, partitions) -> {
+                partitions.remove(key.get(0));
+                return partitions.isEmpty() ? null : partitions;
+            });
+
+            return true;
+        }
+
+        private synchronized List<JsonNode> snapshot() {
+            return new ArrayList<>(documents.values());
+        }
+
+        /**
+         * Store the document under the key, in place of the document stored under it if any.
+         */
+        private void store(List<String> key, JsonNode document) {
+            documents.put(key, document);
+            keysByDocument.put(document, key);
+            partitionsById.computeIfAbsent(key.get(1), id -> new LinkedHashSet<>()).add(key.get(0));
+        }
+    }
+
+    /**
+     * Hand out the documents page by page, each page is charged when it is reached. An empty result still takes
+     * one request.
+     */
+    private final class PagedDocumentIterator implements Iterator<Document> {
+        private final List<JsonNode> documents;
+        private final OperationRecording recording;
+        private int position;
+        private int pageEnd;
+        private boolean fetched;
+
+        private PagedDocumentIterator(List<JsonNode> documents, OperationRecording recording) {
+            this.documents = documents;
+            this.recording = recording;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position == pageEnd && (!fetched || position < documents.size())) {
+                fetchNextPage();
+            }
+
+            return position < pageEnd;
+        }
+
+        @Override
+        public Document next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more documents in query result");
+            }
+
+            return new Document(documents.get(position++).toString());
+        }
+
+        private void fetchNextPage() {
+            pageEnd = Math.min(position + QUERY_PAGE_SIZE, documents.size());
+            fetched = true;
+
+            final List<JsonNode> page = documents.subList(position, pageEnd);
+
+            respond(recording, queryCharge + getCharge(readCharge, page), page.size());
+        }
+    }
+}
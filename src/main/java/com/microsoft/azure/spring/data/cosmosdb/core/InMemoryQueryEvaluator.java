@@ -0,0 +1,356 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaDefinition;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Evaluate the criteria of a {@link Query} against JSON documents in memory, with the semantics of the SQL
+ * {@link QuerySpecGenerator} generates for them. Comparisons follow the three valued logic of database: a
+ * comparison with a missing property, or between values of different types, is undefined, which fails the
+ * match even under NOT.
+ */
+final class InMemoryQueryEvaluator {
+
+    private final MappingDocumentDbConverter converter;
+    private final ObjectMapper objectMapper;
+
+    InMemoryQueryEvaluator(MappingDocumentDbConverter converter, ObjectMapper objectMapper) {
+        this.converter = converter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return documents matching criteria of the query, ordered by its sort and cut to its limit
+     */
+    <T> List<JsonNode> evaluate(Query query, Collection<JsonNode> documents, Class<T> entityClass) {
+        final List<JsonNode> results = new ArrayList<>();
+
+        for (final JsonNode document : documents) {
+            if (!query.getCriteria().isPresent()
+                    || matches(query.getCriteria().get(), document, entityClass) == Match.TRUE) {
+                results.add(document);
+            }
+        }
+
+        if (query.getSort().isSorted()) {
+            results.sort(createComparator(query.getSort(), entityClass));
+        }
+
+        return query.getLimit() > 0 && results.size() > query.getLimit()
+                ? new ArrayList<>(results.subList(0, query.getLimit())) : results;
+    }
+
+    private <T> Match matches(CriteriaDefinition criteria, JsonNode document, Class<T> entityClass) {
+        if (criteria.getType() == null) {
+            throw new IllegalQueryException("Criteria without operator: " + criteria.getKey());
+        }
+
+        Match result;
+
+        switch (criteria.getType()) {
+            case AND:
+                result = Match.TRUE;
+                for (final CriteriaDefinition subCriteria : criteria.getSubCriteria()) {
+                    result = result.and(matches(subCriteria, document, entityClass));
+                }
+                return result;
+            case OR:
+                result = Match.FALSE;
+                for (final CriteriaDefinition subCriteria : criteria.getSubCriteria()) {
+                    result = result.or(matches(subCriteria, document, entityClass));
+                }
+                return result;
+            case NOT:
+                return matches(criteria.getSubCriteria().get(0), document, entityClass).not();
+            default:
+                return matchesPredicate(criteria, document, entityClass);
+        }
+    }
+
+    private <T> Match matchesPredicate(CriteriaDefinition criteria, JsonNode document, Class<T> entityClass) {
+        final JsonNode property = applyIgnoreCase(getProperty(document, criteria.getKey(), entityClass), criteria);
+        final List<JsonNode> values = new ArrayList<>();
+
+        for (final Object value : criteria.getValues()) {
+            values.add(value instanceof Collection ? toArrayNode((Collection<?>) value, criteria)
+                    : applyIgnoreCase(toJsonNode(value), criteria));
+        }
+
+        switch (criteria.getType()) {
+            case IS_EQUAL:
+                return isEqual(property, values.get(0));
+            case NOT_EQUAL:
+                return isEqual(property, values.get(0)).not();
+            case LESS_THAN:
+                return compare(property, values.get(0), c -> c < 0);
+            case LESS_THAN_EQUAL:
+                return compare(property, values.get(0), c -> c <= 0);
+            case GREATER_THAN:
+                return compare(property, values.get(0), c -> c > 0);
+            case GREATER_THAN_EQUAL:
+                return compare(property, values.get(0), c -> c >= 0);
+            case BETWEEN:
+                return compare(property, values.get(0), c -> c >= 0)
+                        .and(compare(property, values.get(1), c -> c <= 0));
+            case IN:
+                return isIn(property, values.get(0));
+            case NOT_IN:
+                return values.get(0).size() == 0 ? Match.TRUE : isIn(property, values.get(0)).not();
+            case STARTS_WITH:
+                return matchText(property, values.get(0), String::startsWith);
+            case ENDS_WITH:
+                return matchText(property, values.get(0), String::endsWith);
+            case CONTAINING:
+                return matchText(property, values.get(0), String::contains);
+            case NOT_CONTAINING:
+                return matchText(property, values.get(0), String::contains).not();
+            case ARRAY_CONTAINS:
+                return arrayContains(property, values.get(0));
+            case NOT_ARRAY_CONTAINS:
+                return arrayContains(property, values.get(0)).not();
+            case IS_NULL:
+                return Match.of(property == null || property.isNull());
+            case IS_NOT_NULL:
+                return Match.of(property != null && !property.isNull());
+            case IS_EMPTY:
+                return property != null && property.isArray() ? Match.of(property.size() == 0) : Match.UNDEFINED;
+            case IS_NOT_EMPTY:
+                return property != null && property.isArray() ? Match.of(property.size() > 0) : Match.UNDEFINED;
+            case TRUE:
+                return isEqual(property, BooleanNode.TRUE);
+            case FALSE:
+                return isEqual(property, BooleanNode.FALSE);
+            case EXISTS:
+                return Match.of(property != null);
+            default:
+                throw new IllegalQueryException("Unsupported criteria type: " + criteria.getType());
+        }
+    }
+
+    private JsonNode toJsonNode(Object value) {
+        return objectMapper.valueToTree(converter.mapToDocumentDBValue(value));
+    }
+
+    private JsonNode toArrayNode(Collection<?> values, CriteriaDefinition criteria) {
+        final List<JsonNode> elements = new ArrayList<>();
+
+        values.forEach(value -> elements.add(applyIgnoreCase(toJsonNode(value), criteria)));
+
+        return objectMapper.createArrayNode().addAll(elements);
+    }
+
+    /**
+     * @return the property at the dot separated path, the id property mapped to "id", null when missing
+     */
+    private static <T> JsonNode getProperty(JsonNode document, String key, Class<T> entityClass) {
+        if (isIdField(key, entityClass)) {
+            return document.get("id");
+        }
+
+        JsonNode node = document;
+
+        for (final String name : StringUtils.delimitedListToStringArray(key, ".")) {
+            node = node == null ? null : node.get(name);
+        }
+
+        return node;
+    }
+
+    private static JsonNode applyIgnoreCase(JsonNode node, CriteriaDefinition criteria) {
+        if (!criteria.isIgnoreCase() || node == null) {
+            return node;
+        }
+
+        return node.isTextual() ? TextNode.valueOf(node.textValue().toLowerCase(Locale.ROOT)) : null;
+    }
+
+    private static Match isEqual(JsonNode left, JsonNode right) {
+        if (left == null || right == null || left.getNodeType() != right.getNodeType()) {
+            return Match.UNDEFINED;
+        }
+
+        return Match.of(left.isNumber() ? Double.compare(left.doubleValue(), right.doubleValue()) == 0
+                : left.equals(right));
+    }
+
+    private static Match compare(JsonNode left, JsonNode right, IntPredicateOnComparison predicate) {
+        if (left == null || right == null || left.getNodeType() != right.getNodeType()) {
+            return Match.UNDEFINED;
+        }
+
+        switch (left.getNodeType()) {
+            case NUMBER:
+                return Match.of(predicate.test(Double.compare(left.doubleValue(), right.doubleValue())));
+            case STRING:
+                return Match.of(predicate.test(left.textValue().compareTo(right.textValue())));
+            case BOOLEAN:
+                return Match.of(predicate.test(Boolean.compare(left.booleanValue(), right.booleanValue())));
+            default:
+                return Match.UNDEFINED;
+        }
+    }
+
+    private static Match isIn(JsonNode property, JsonNode values) {
+        Match result = Match.FALSE;
+
+        for (final JsonNode value : values) {
+            result = result.or(isEqual(property, value));
+        }
+
+        return result;
+    }
+
+    private static Match matchText(JsonNode property, JsonNode value, TextPredicate predicate) {
+        if (property == null || value == null || !property.isTextual() || !value.isTextual()) {
+            return Match.UNDEFINED;
+        }
+
+        return Match.of(predicate.test(property.textValue(), value.textValue()));
+    }
+
+    private static Match arrayContains(JsonNode property, JsonNode element) {
+        if (property == null || !property.isArray()) {
+            return Match.UNDEFINED;
+        }
+
+        for (final JsonNode item : property) {
+            if (isEqual(item, element) == Match.TRUE) {
+                return Match.TRUE;
+            }
+        }
+
+        return Match.FALSE;
+    }
+
+    private static <T> Comparator<JsonNode> createComparator(Sort sort, Class<T> entityClass) {
+        Comparator<JsonNode> comparator = (left, right) -> 0;
+
+        for (final Sort.Order order : sort) {
+            if (order.isIgnoreCase()) {
+                throw new IllegalQueryException("Ignore case is not supported in sort: " + order.getProperty());
+            }
+
+            final Comparator<JsonNode> byProperty = Comparator.comparing(
+                    document -> getProperty(document, order.getProperty(), entityClass),
+                    InMemoryQueryEvaluator::compareForOrder);
+
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+
+        return comparator;
+    }
+
+    /**
+     * Order values of different types as database does: missing, null, boolean, number, then string.
+     */
+    private static int compareForOrder(JsonNode left, JsonNode right) {
+        final int rankComparison = Integer.compare(getOrderRank(left), getOrderRank(right));
+
+        if (rankComparison != 0 || left == null) {
+            return rankComparison;
+        }
+
+        switch (left.getNodeType()) {
+            case BOOLEAN:
+                return Boolean.compare(left.booleanValue(), right.booleanValue());
+            case NUMBER:
+                return Double.compare(left.doubleValue(), right.doubleValue());
+            case STRING:
+                return left.textValue().compareTo(right.textValue());
+            default:
+                return 0;
+        }
+    }
+
+    private static int getOrderRank(JsonNode node) {
+        if (node == null) {
+            return 0;
+        }
+
+        final JsonNodeType type = node.getNodeType();
+
+        if (type == JsonNodeType.NULL) {
+            return 1;
+        } else if (type == JsonNodeType.BOOLEAN) {
+            return 2;
+        } else if (type == JsonNodeType.NUMBER) {
+            return 3;
+        } else if (type == JsonNodeType.STRING) {
+            return 4;
+        }
+
+        return 5;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> boolean isIdField(String fieldName, Class<T> entityClass) {
+        if (StringUtils.isEmpty(fieldName)) {
+            return false;
+        }
+        final DocumentDbEntityInformation entityInfo = DocumentDbEntityInformation.getInstance(entityClass);
+        return fieldName.equals(entityInfo.getId().getName());
+    }
+
+    /**
+     * Result of a condition, undefined when a compared value is missing or of another type.
+     */
+    private enum Match {
+        TRUE, FALSE, UNDEFINED;
+
+        private static Match of(boolean value) {
+            return value ? TRUE : FALSE;
+        }
+
+        private Match not() {
+            return this == UNDEFINED ? UNDEFINED : of(this == FALSE);
+        }
+
+        private Match and(Match other) {
+            if (this == FALSE || other == FALSE) {
+                return FALSE;
+            }
+
+            return this == UNDEFINED || other == UNDEFINED ? UNDEFINED : TRUE;
+        }
+
+        private Match or(Match other) {
+            if (this == TRUE || other == TRUE) {
+                return TRUE;
+            }
+
+            return this == UNDEFINED || other == UNDEFINED ? UNDEFINED : FALSE;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntPredicateOnComparison {
+        boolean test(int comparison);
+    }
+
+    @FunctionalInterface
+    private interface TextPredicate {
+        boolean test(String text, String argument);
+    }
+}
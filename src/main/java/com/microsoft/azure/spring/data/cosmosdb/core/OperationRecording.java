@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsListener;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbOperationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Collect the metrics of one template operation from its responses, and pass them to the listener once the
+ * operation finishes. Responses of concurrent queries of one operation may be added from several threads.
+ */
+final class OperationRecording {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationRecording.class);
+
+    private final String operation;
+    private final String collectionName;
+    private final String repositoryMethod;
+    private final DocumentDbMetricsListener listener;
+    private final DoubleConsumer chargeConsumer;
+    private final long startNanos = System.nanoTime();
+
+    private double requestCharge;
+    private long itemCount;
+    private int pageCount;
+    private String activityId;
+    private Throwable error;
+    private boolean throttled;
+    private boolean finished;
+
+    OperationRecording(String operation, String collectionName, String repositoryMethod,
+                       DocumentDbMetricsListener listener) {
+        this(operation, collectionName, repositoryMethod, listener, charge -> {
+        });
+    }
+
+    /**
+     * @param chargeConsumer receives the request charge of each response, e.g. to draw the rate limiter
+     */
+    OperationRecording(String operation, String collectionName, String repositoryMethod,
+                       DocumentDbMetricsListener listener, DoubleConsumer chargeConsumer) {
+        this.operation = operation;
+        this.collectionName = collectionName;
+        this.repositoryMethod = repositoryMethod;
+        this.listener = listener;
+        this.chargeConsumer = chargeConsumer;
+    }
+
+    void addResponse(double charge, String responseActivityId, long items) {
+        chargeConsumer.accept(charge);
+
+        synchronized (this) {
+            this.requestCharge += charge;
+            this.itemCount += items;
+            this.pageCount++;
+            this.activityId = responseActivityId;
+        }
+    }
+
+    /**
+     * Add the response of a throttled (429) request which is retried, the operation is reported as throttled
+     * even if a retry succeeds.
+     */
+    void addThrottledResponse(DocumentClientException exception) {
+        addResponse(exception);
+
+        synchronized (this) {
+            this.throttled = true;
+        }
+    }
+
+    /**
+     * Add the charge of a response that failed, e.g. a read of a missing document which is not an error of the
+     * operation.
+     */
+    void addResponse(DocumentClientException exception) {
+        final Map<String, String> headers = exception.getResponseHeaders();
+        final String charge = headers == null ? null : headers.get(HttpConstants.HttpHeaders.REQUEST_CHARGE);
+
+        addResponse(charge == null ? 0 : Double.parseDouble(charge), exception.getActivityId(), 0);
+    }
+
+    synchronized void fail(Throwable cause) {
+        if (this.error == null) {
+            this.error = cause;
+
+            final DocumentClientException exception = findClientException(cause);
+            if (exception != null) {
+                addResponse(exception);
+            }
+        }
+    }
+
+    /**
+     * Pass the metrics to listener, only the first call takes effect.
+     */
+    void finish() {
+        final DocumentDbOperationMetrics metrics;
+
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+
+            finished = true;
+            metrics = new DocumentDbOperationMetrics(operation, collectionName, repositoryMethod,
+                    System.nanoTime() - startNanos, requestCharge, itemCount, pageCount, activityId,
+                    throttled || RequestRateLimiter.getThrottledException(error) != null, error);
+        }
+
+        try {
+            listener.onOperation(metrics);
+        } catch (RuntimeException e) {
+            LOGGER.warn("metrics listener failed on operation {} of collection {}", operation, collectionName, e);
+        }
+    }
+
+    private static DocumentClientException findClientException(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof DocumentClientException) {
+                return (DocumentClientException) t;
+            }
+        }
+
+        return null;
+    }
+}
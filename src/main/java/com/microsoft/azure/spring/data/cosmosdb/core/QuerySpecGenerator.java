@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.SqlParameter;
+import com.microsoft.azure.documentdb.SqlParameterCollection;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaDefinition;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PropertyReferenceException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generate parameterized SQL of {@link Query}, the documents are referred to as "r".
+ * <p>
+ * The SQL text only depends on the shape of query, that is the operators, properties, number of values, sort
+ * and limit, but not on the values compared with. The text is generated once per shape and cached, a query of
+ * a known shape only has its values bound as parameters. The least recently used shapes are evicted beyond
+ * {@link #MAX_CACHED_QUERY_TEXTS}.
+ */
+final class QuerySpecGenerator {
+
+    static final int MAX_CACHED_QUERY_TEXTS = 1024;
+
+    private final MappingDocumentDbConverter converter;
+    private final Map<List<Object>, String> queryTexts = new LinkedHashMap<>(16, 0.75f, true);
+
+    QuerySpecGenerator(MappingDocumentDbConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Generate select query of whole documents, with TOP of the limit and ORDER BY of the sort of query.
+     */
+    <T> SqlQuerySpec generate(Query query, Class<T> entityClass) {
+        return generateProjection("*", query, entityClass);
+    }
+
+    /**
+     * Generate select query of the projection, with TOP of the limit and ORDER BY of the sort of query.
+     */
+    <T> SqlQuerySpec generateProjection(String projection, Query query, Class<T> entityClass) {
+        final String selectClause = query.getLimit() > 0
+                ? "SELECT TOP " + query.getLimit() + " " + projection + " FROM ROOT r"
+                : "SELECT " + projection + " FROM ROOT r";
+
+        return generate(selectClause, query, query.getSort(), entityClass);
+    }
+
+    /**
+     * Generate query of the given select clause filtered by criteria of query, limit and sort are not applied.
+     */
+    <T> SqlQuerySpec generate(String selectClause, Query query, Class<T> entityClass) {
+        return generate(selectClause, query, Sort.unsorted(), entityClass);
+    }
+
+    private <T> SqlQuerySpec generate(String selectClause, Query query, Sort sort, Class<T> entityClass) {
+        final List<Object> shape = new ArrayList<>(Arrays.asList(selectClause, sort, entityClass));
+        final List<Object> values = new ArrayList<>();
+
+        query.getCriteria().ifPresent(criteria -> describe(criteria, shape, values));
+
+        final String queryText = getQueryText(shape);
+
+        if (queryText != null) {
+            return new SqlQuerySpec(queryText, bind(values));
+        }
+
+        final SqlParameterCollection parameterCollection = new SqlParameterCollection();
+        final String whereClause = query.getCriteria()
+                .map(criteria -> " WHERE " + createCondition(criteria, entityClass, parameterCollection))
+                .orElse("");
+        final String orderByClause = sort.isSorted() ? createOrderByClause(sort, entityClass) : "";
+        final SqlQuerySpec sqlQuerySpec = new SqlQuerySpec(selectClause + whereClause + orderByClause,
+                parameterCollection);
+
+        putQueryText(shape, sqlQuerySpec.getQueryText());
+
+        return sqlQuerySpec;
+    }
+
+    private String getQueryText(List<Object> shape) {
+        synchronized (queryTexts) {
+            return queryTexts.get(shape);
+        }
+    }
+
+    private void putQueryText(List<Object> shape, String queryText) {
+        synchronized (queryTexts) {
+            queryTexts.putIfAbsent(shape, queryText);
+
+            if (queryTexts.size() > MAX_CACHED_QUERY_TEXTS) {
+                final Iterator<List<Object>> eldest = queryTexts.keySet().iterator();
+
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Append the shape of criteria tree to shape, and its values to values in the order their parameters are
+     * numbered by {@link #createCondition}.
+     */
+    private static void describe(CriteriaDefinition criteria, List<Object> shape, List<Object> values) {
+        shape.add(criteria.getType());
+
+        if (criteria.getType() != null && criteria.getType().isComposite()) {
+            shape.add(criteria.getSubCriteria().size());
+            criteria.getSubCriteria().forEach(subCriteria -> describe(subCriteria, shape, values));
+            return;
+        }
+
+        shape.add(criteria.getKey());
+        shape.add(criteria.isIgnoreCase());
+
+        for (final Object value : criteria.getValues()) {
+            if (isExpanded(value, criteria)) {
+                shape.add(((Collection<?>) value).size());
+                values.addAll((Collection<?>) value);
+            } else {
+                shape.add(-1);
+                values.add(value);
+            }
+        }
+    }
+
+    private SqlParameterCollection bind(List<Object> values) {
+        final SqlParameterCollection parameters = new SqlParameterCollection();
+
+        for (final Object value : values) {
+            parameters.add(new SqlParameter("@p" + parameters.size(), converter.mapToDocumentDBValue(value)));
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Sort properties are resolved against the mapping of the entity, as properties of query methods are, so that
+     * the sort of a request can not inject SQL.
+     */
+    private <T> String createOrderByClause(Sort sort, Class<T> entityClass) {
+        final List<String> orders = new ArrayList<>();
+
+        for (final Sort.Order order : sort) {
+            if (order.isIgnoreCase()) {
+                throw new IllegalQueryException("Ignore case is not supported in sort: " + order.getProperty());
+            }
+
+            final String fieldName = isIdField(order.getProperty(), entityClass) ? "id"
+                    : getPropertyPath(order.getProperty(), entityClass);
+
+            orders.add("r." + fieldName + (order.isAscending() ? " ASC" : " DESC"));
+        }
+
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private String getPropertyPath(String property, Class<?> entityClass) {
+        try {
+            return converter.getMappingContext().getPersistentPropertyPath(property, entityClass).toDotPath();
+        } catch (MappingException | PropertyReferenceException e) {
+            throw new IllegalQueryException("Unknown property in sort: " + property, e);
+        }
+    }
+
+    /**
+     * Translate the criteria tree into one condition. Parameters are numbered across the whole tree, so criteria
+     * on the same property in different branches never share a parameter.
+     */
+    private <T> String createCondition(CriteriaDefinition criteria, Class<T> entityClass,
+                                       SqlParameterCollection parameters) {
+        if (criteria.getType() == null || !criteria.getType().isComposite()) {
+            return createPredicate(criteria, entityClass, parameters);
+        } else if (criteria.getType() == CriteriaType.NOT) {
+            return "NOT (" + createCondition(criteria.getSubCriteria().get(0), entityClass, parameters) + ")";
+        }
+
+        final List<String> conditions = new ArrayList<>();
+
+        for (final CriteriaDefinition subCriteria : criteria.getSubCriteria()) {
+            conditions.add(createOperand(subCriteria, entityClass, parameters));
+        }
+
+        switch (criteria.getType()) {
+            case AND:
+                return conditions.isEmpty() ? "true" : String.join(" AND ", conditions);
+            case OR:
+                return conditions.isEmpty() ? "false" : String.join(" OR ", conditions);
+            default:
+                throw new IllegalQueryException("Unsupported criteria type: " + criteria.getType());
+        }
+    }
+
+    /**
+     * Condition of a sub criteria, parenthesized when it is composite so that it binds as a whole.
+     */
+    private <T> String createOperand(CriteriaDefinition criteria, Class<T> entityClass,
+                                     SqlParameterCollection parameters) {
+        final String condition = createCondition(criteria, entityClass, parameters);
+
+        return criteria.getType() != null && criteria.getType().isComposite() ? "(" + condition + ")" : condition;
+    }
+
+    /**
+     * Translate one criteria into a predicate on its document property. Values are always passed as parameters,
+     * and comparison operators are kept on the bare property so that range indexes can serve them.
+     */
+    private <T> String createPredicate(CriteriaDefinition criteria, Class<T> entityClass,
+                                       SqlParameterCollection parameters) {
+        if (criteria.getType() == null) {
+            throw new IllegalQueryException("Criteria without operator: " + criteria.getKey());
+        }
+
+        final String fieldName = isIdField(criteria.getKey(), entityClass) ? "id" : criteria.getKey();
+        final String property = applyIgnoreCase("r." + fieldName, criteria);
+        final List<String> values = new ArrayList<>();
+
+        for (final Object value : criteria.getValues()) {
+            values.add(addParameter(value, criteria, parameters));
+        }
+
+        switch (criteria.getType()) {
+            case IS_EQUAL:
+                return property + " = " + values.get(0);
+            case NOT_EQUAL:
+                return property + " != " + values.get(0);
+            case LESS_THAN:
+                return property + " < " + values.get(0);
+            case LESS_THAN_EQUAL:
+                return property + " <= " + values.get(0);
+            case GREATER_THAN:
+                return property + " > " + values.get(0);
+            case GREATER_THAN_EQUAL:
+                return property + " >= " + values.get(0);
+            case BETWEEN:
+                return "(" + property + " BETWEEN " + values.get(0) + " AND " + values.get(1) + ")";
+            case IN:
+                return values.get(0).isEmpty() ? "false" : property + " IN (" + values.get(0) + ")";
+            case NOT_IN:
+                return values.get(0).isEmpty() ? "true" : "NOT (" + property + " IN (" + values.get(0) + "))";
+            case STARTS_WITH:
+                return "STARTSWITH(" + property + ", " + values.get(0) + ")";
+            case ENDS_WITH:
+                return "ENDSWITH(" + property + ", " + values.get(0) + ")";
+            case CONTAINING:
+                return "CONTAINS(" + property + ", " + values.get(0) + ")";
+            case NOT_CONTAINING:
+                return "NOT CONTAINS(" + property + ", " + values.get(0) + ")";
+            case ARRAY_CONTAINS:
+                return "ARRAY_CONTAINS(" + property + ", " + values.get(0) + ")";
+            case NOT_ARRAY_CONTAINS:
+                return "NOT ARRAY_CONTAINS(" + property + ", " + values.get(0) + ")";
+            case IS_NULL:
+                return "(NOT IS_DEFINED(" + property + ") OR IS_NULL(" + property + "))";
+            case IS_NOT_NULL:
+                return "(IS_DEFINED(" + property + ") AND NOT IS_NULL(" + property + "))";
+            case IS_EMPTY:
+                return "ARRAY_LENGTH(" + property + ") = 0";
+            case IS_NOT_EMPTY:
+                return "ARRAY_LENGTH(" + property + ") > 0";
+            case TRUE:
+                return property + " = true";
+            case FALSE:
+                return property + " = false";
+            case EXISTS:
+                return "IS_DEFINED(" + property + ")";
+            default:
+                throw new IllegalQueryException("Unsupported criteria type: " + criteria.getType());
+        }
+    }
+
+    /**
+     * Add the value as parameter and return its reference. The collection of an IN list is added element by
+     * element and the references are joined by comma, any other collection is one array parameter.
+     */
+    private String addParameter(Object value, CriteriaDefinition criteria, SqlParameterCollection parameters) {
+        if (isExpanded(value, criteria)) {
+            final List<String> names = new ArrayList<>();
+
+            for (final Object element : (Collection<?>) value) {
+                names.add(addSingleParameter(element, criteria, parameters));
+            }
+
+            return String.join(", ", names);
+        }
+
+        return addSingleParameter(value, criteria, parameters);
+    }
+
+    private String addSingleParameter(Object value, CriteriaDefinition criteria, SqlParameterCollection parameters) {
+        final String name = "@p" + parameters.size();
+        parameters.add(new SqlParameter(name, converter.mapToDocumentDBValue(value)));
+
+        return applyIgnoreCase(name, criteria);
+    }
+
+    /**
+     * @return whether the value is a list of IN or NOT IN, bound as one parameter per element
+     */
+    private static boolean isExpanded(Object value, CriteriaDefinition criteria) {
+        return value instanceof Collection
+                && (criteria.getType() == CriteriaType.IN || criteria.getType() == CriteriaType.NOT_IN);
+    }
+
+    private static String applyIgnoreCase(String expression, CriteriaDefinition criteria) {
+        return criteria.isIgnoreCase() ? "LOWER(" + expression + ")" : expression;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> boolean isIdField(String fieldName, Class<T> entityClass) {
+        if (StringUtils.isEmpty(fieldName)) {
+            return false;
+        }
+        final DocumentDbEntityInformation entityInfo = DocumentDbEntityInformation.getInstance(entityClass);
+        return fieldName.equals(entityInfo.getId().getName());
+    }
+}
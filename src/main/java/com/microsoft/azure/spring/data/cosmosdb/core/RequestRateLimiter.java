@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client side admission of the requests to one collection. A token bucket holding up to one second of the
+ * provisioned throughput is refilled at the allowed rate and drawn by the request charge of each response, and
+ * a request is admitted once the bucket is out of debt. A throttled (429) response holds all requests for the
+ * retry interval returned by database plus a random jitter, and halves the allowed rate, which then grows back
+ * to the provisioned throughput with each response. When the provisioned throughput is unknown, requests are
+ * only held after throttling.
+ */
+final class RequestRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double MIN_RATE_FRACTION = 0.1;
+    private static final double RATE_DECREASE_FACTOR = 0.5;
+    private static final double RATE_INCREASE_FRACTION = 0.01;
+
+    private final LongSupplier clock;
+
+    private double provisionedThroughput;
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+    private long throttledUntil;
+
+    /**
+     * @param provisionedThroughput request units per second of the collection, 0 when unknown
+     */
+    RequestRateLimiter(int provisionedThroughput) {
+        this(provisionedThroughput, System::nanoTime);
+    }
+
+    RequestRateLimiter(int provisionedThroughput, LongSupplier clock) {
+        this.clock = clock;
+        this.refilledAt = clock.getAsLong();
+        this.throttledUntil = this.refilledAt;
+
+        setProvisionedThroughput(provisionedThroughput);
+    }
+
+    synchronized void setProvisionedThroughput(int provisionedThroughput) {
+        Assert.isTrue(provisionedThroughput >= 0, "provisionedThroughput should not be negative");
+
+        this.provisionedThroughput = provisionedThroughput;
+        this.rate = provisionedThroughput;
+        this.tokens = provisionedThroughput;
+    }
+
+    synchronized boolean isProvisionedThroughputKnown() {
+        return provisionedThroughput > 0;
+    }
+
+    /**
+     * Block until a request is admitted.
+     */
+    void acquire() {
+        long waitInNanos = getWaitInNanos();
+
+        while (waitInNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitInNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DocumentDBAccessException("request admission interrupted", e);
+            }
+
+            waitInNanos = getWaitInNanos();
+        }
+    }
+
+    synchronized long getWaitInNanos() {
+        final long now = clock.getAsLong();
+        long waitInNanos = throttledUntil - now;
+
+        refill(now);
+
+        if (provisionedThroughput > 0 && tokens < 0) {
+            waitInNanos = Math.max(waitInNanos, (long) (-tokens / rate * NANOS_PER_SECOND));
+        }
+
+        return Math.max(waitInNanos, 0);
+    }
+
+    /**
+     * Draw the request charge of a response.
+     */
+    synchronized void consume(double requestCharge) {
+        refill(clock.getAsLong());
+
+        tokens -= requestCharge;
+        rate = Math.min(provisionedThroughput, rate + provisionedThroughput * RATE_INCREASE_FRACTION);
+    }
+
+    synchronized void onThrottled(long retryAfterInMillis) {
+        final long now = clock.getAsLong();
+        final long retryAfter = Math.max(retryAfterInMillis, 0);
+        final long jitter = ThreadLocalRandom.current().nextLong(retryAfter / 2 + 1);
+        final long until = now + TimeUnit.MILLISECONDS.toNanos(retryAfter + jitter);
+
+        if (until - throttledUntil > 0) {
+            throttledUntil = until;
+        }
+
+        refill(now);
+
+        rate = Math.max(provisionedThroughput * MIN_RATE_FRACTION, rate * RATE_DECREASE_FACTOR);
+        tokens = Math.min(tokens, 0);
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(provisionedThroughput, tokens + (now - refilledAt) * rate / NANOS_PER_SECOND);
+        refilledAt = now;
+    }
+
+    /**
+     * @return the throttled (429) response in the cause chain, null when not throttled
+     */
+    static DocumentClientException getThrottledException(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof DocumentClientException) {
+                final DocumentClientException exception = (DocumentClientException) t;
+
+                return exception.getStatusCode() == HttpConstants.StatusCodes.TOO_MANY_REQUESTS ? exception : null;
+            }
+        }
+
+        return null;
+    }
+}
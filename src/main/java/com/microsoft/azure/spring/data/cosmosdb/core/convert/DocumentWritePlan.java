@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Write metadata of one persistent entity, computed once from the mapping context and reused for every
+ * write of that entity type. Properties include the inherited ones, and are read through the property
+ * accessor of the persistent entity, which is class generated when the entity type allows it. The version
+ * property holds the etag of the document, and is written as {@code _etag} to be checked on replace. A version
+ * property of another type than String can not hold an etag, it is written as a plain property instead.
+ */
+final class DocumentWritePlan {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentWritePlan.class);
+
+    private final DocumentDbPersistentProperty idProperty;
+    private final DocumentDbPersistentProperty versionProperty;
+    private final List<DocumentDbPersistentProperty> properties;
+
+    private DocumentWritePlan(DocumentDbPersistentProperty idProperty, DocumentDbPersistentProperty versionProperty,
+                              List<DocumentDbPersistentProperty> properties) {
+        this.idProperty = idProperty;
+        this.versionProperty = versionProperty;
+        this.properties = Collections.unmodifiableList(properties);
+    }
+
+    static DocumentWritePlan of(DocumentDbPersistentEntity<?> persistentEntity) {
+        final DocumentDbPersistentProperty idProperty = persistentEntity.getIdProperty();
+        final DocumentDbPersistentProperty versionProperty = getETagProperty(persistentEntity);
+        final List<DocumentDbPersistentProperty> properties = new ArrayList<>();
+
+        persistentEntity.doWithProperties((DocumentDbPersistentProperty property) -> {
+            if (!property.equals(idProperty) && !property.equals(versionProperty)) {
+                properties.add(property);
+            }
+        });
+
+        return new DocumentWritePlan(idProperty, versionProperty, properties);
+    }
+
+    private static DocumentDbPersistentProperty getETagProperty(DocumentDbPersistentEntity<?> persistentEntity) {
+        final DocumentDbPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+
+        if (versionProperty != null && !String.class.equals(versionProperty.getType())) {
+            LOGGER.warn("version property {}.{} is not a String holding the etag, it is written as a plain property "
+                            + "and writes of {} are not checked for concurrent modification",
+                    persistentEntity.getType().getName(), versionProperty.getName(),
+                    persistentEntity.getType().getSimpleName());
+            return null;
+        }
+
+        return versionProperty;
+    }
+
+    DocumentDbPersistentProperty getIdProperty() {
+        return idProperty;
+    }
+
+    /**
+     * @return String property annotated with {@link org.springframework.data.annotation.Version}, null if none
+     */
+    DocumentDbPersistentProperty getVersionProperty() {
+        return versionProperty;
+    }
+
+    /**
+     * @return persistent properties other than id and version, in declaration order
+     */
+    List<DocumentDbPersistentProperty> getProperties() {
+        return properties;
+    }
+}
@@ -5,8 +5,11 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.convert;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.microsoft.azure.documentdb.Document;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentEntity;
@@ -17,16 +20,18 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.convert.EntityConverter;
-import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
-import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MappingDocumentDbConverter
         implements EntityConverter<DocumentDbPersistentEntity<?>, DocumentDbPersistentProperty, Object, Document>,
@@ -37,6 +42,8 @@ public class MappingDocumentDbConverter
     protected GenericConversionService conversionService;
     private ApplicationContext applicationContext;
     private ObjectMapper objectMapper;
+    private ObjectReader objectReader;
+    private final Map<Class<?>, DocumentWritePlan> writePlans = new ConcurrentHashMap<>();
 
     public MappingDocumentDbConverter(
             MappingContext<? extends DocumentDbPersistentEntity<?>, DocumentDbPersistentProperty> mappingContext,
@@ -44,6 +51,7 @@ public class MappingDocumentDbConverter
         this.mappingContext = mappingContext;
         this.conversionService = new GenericConversionService();
         this.objectMapper = objectMapper == null ? new ObjectMapper() : objectMapper;
+        this.objectReader = this.objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     }
 
     @Override
@@ -60,25 +68,86 @@ public class MappingDocumentDbConverter
 
     protected <R extends Object> R readInternal(final DocumentDbPersistentEntity<?> entity, Class<R> type,
                                                 final Document sourceDocument) {
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         try {
             final DocumentDbPersistentProperty idProperty = entity.getIdProperty();
-            final Object idValue = sourceDocument.getId();
-            final JSONObject jsonObject = new JSONObject(sourceDocument.toJson());
+            final DocumentDbPersistentProperty versionProperty = getWritePlan(entity).getVersionProperty();
+            final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
 
-            if (idProperty != null) {
-                // Replace the key id to the actual id field name in domain
-                jsonObject.remove(Constants.ID_PROPERTY_NAME);
-                jsonObject.put(idProperty.getName(), idValue);
-            }
+            // Feed the document properties to jackson as tokens, no json text is produced or parsed
+            writeProperties(buffer, sourceDocument.getHashMap(), idProperty == null ? null : idProperty.getName(),
+                    versionProperty == null ? null : versionProperty.getName());
 
-            return objectMapper.readValue(jsonObject.toString(), type);
+            return objectReader.forType(type).readValue(buffer.asParser());
         } catch (IOException e) {
             throw  new IllegalStateException("Failed to read the source document " + sourceDocument.toJson()
                     + "  to target type " + type, e);
         }
     }
 
+    /**
+     * Write document properties to generator, replacing the key id with the actual id field name in domain, and
+     * the key _etag with the version field name.
+     */
+    private static void writeProperties(JsonGenerator generator, Map<String, Object> properties,
+                                        String idPropertyName, String versionPropertyName) throws IOException {
+        final boolean renameId = idPropertyName != null && !idPropertyName.equals(Constants.ID_PROPERTY_NAME);
+
+        generator.writeStartObject();
+
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+
+            if ((renameId && key.equals(idPropertyName)) || key.equals(versionPropertyName)) {
+                continue;
+            }
+
+            if (renameId && key.equals(Constants.ID_PROPERTY_NAME)) {
+                generator.writeFieldName(idPropertyName);
+            } else if (versionPropertyName != null && key.equals(Constants.ETAG_PROPERTY_NAME)) {
+                generator.writeFieldName(versionPropertyName);
+            } else {
+                generator.writeFieldName(key);
+            }
+
+            writeValue(generator, entry.getValue());
+        }
+
+        generator.writeEndObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof Map) {
+            writeProperties(generator, (Map<String, Object>) value, null, null);
+        } else if (value instanceof Collection) {
+            generator.writeStartArray();
+
+            for (final Object element : (Collection<Object>) value) {
+                writeValue(generator, element);
+            }
+
+            generator.writeEndArray();
+        } else {
+            generator.writeObject(value);
+        }
+    }
+
     @Override
     public void write(Object sourceEntity, Document document) {
         if (sourceEntity == null) {
@@ -100,8 +169,9 @@ public class MappingDocumentDbConverter
             throw new MappingException("no mapping metadata for entity type: " + entity.getClass().getName());
         }
 
-        final ConvertingPropertyAccessor accessor = getPropertyAccessor(entity);
-        final DocumentDbPersistentProperty idProperty = persistentEntity.getIdProperty();
+        final DocumentWritePlan writePlan = getWritePlan(persistentEntity);
+        final PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(entity);
+        final DocumentDbPersistentProperty idProperty = writePlan.getIdProperty();
 
         if (idProperty != null) {
             final Object value = accessor.getProperty(idProperty);
@@ -109,18 +179,41 @@ public class MappingDocumentDbConverter
             targetDocument.setId(id);
         }
 
-        for (final Field field : entity.getClass().getDeclaredFields()) {
-            if (idProperty != null && field.getName().equals(idProperty.getName())) {
-                continue;
+        for (final DocumentDbPersistentProperty property : writePlan.getProperties()) {
+            targetDocument.set(property.getName(), mapToDocumentDBValue(accessor.getProperty(property)));
+        }
+
+        if (writePlan.getVersionProperty() != null) {
+            final Object version = accessor.getProperty(writePlan.getVersionProperty());
+
+            if (version != null) {
+                targetDocument.set(Constants.ETAG_PROPERTY_NAME, version);
             }
+        }
+    }
+
+    /**
+     * Set the etag of the written document to the version property of the entity, so that its next write is
+     * checked against this one. Entities without version property are left as is.
+     */
+    public void updateVersion(Object entity, String etag) {
+        final DocumentDbPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entity.getClass());
 
-            final PersistentProperty property = persistentEntity.getPersistentProperty(field.getName());
-            Assert.notNull(property, "Property is null.");
+        if (persistentEntity == null || etag == null) {
+            return;
+        }
 
-            targetDocument.set(field.getName(), mapToDocumentDBValue(accessor.getProperty(property)));
+        final DocumentDbPersistentProperty versionProperty = getWritePlan(persistentEntity).getVersionProperty();
+
+        if (versionProperty != null) {
+            persistentEntity.getPropertyAccessor(entity).setProperty(versionProperty, etag);
         }
     }
 
+    private DocumentWritePlan getWritePlan(DocumentDbPersistentEntity<?> persistentEntity) {
+        return writePlans.computeIfAbsent(persistentEntity.getType(), type -> DocumentWritePlan.of(persistentEntity));
+    }
+
     public ApplicationContext getApplicationContext() {
         return this.applicationContext;
     }
@@ -140,14 +233,6 @@ public class MappingDocumentDbConverter
     }
 
 
-    private ConvertingPropertyAccessor getPropertyAccessor(Object entity) {
-        final DocumentDbPersistentEntity<?> entityInformation = mappingContext.getPersistentEntity(entity.getClass());
-
-        Assert.notNull(entityInformation, "EntityInformation should not be null.");
-        final PersistentPropertyAccessor accessor = entityInformation.getPropertyAccessor(entity);
-        return new ConvertingPropertyAccessor(accessor, conversionService);
-    }
-
     /**
      * Convert a property value to the value stored in DocumentDB
      * @param fromPropertyValue
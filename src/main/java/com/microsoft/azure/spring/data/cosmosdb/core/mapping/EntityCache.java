@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import java.lang.annotation.*;
+
+/**
+ * Cache documents read by findById of the annotated {@link Document} class on the client. Suits reference data
+ * read often and changed rarely, as writes by other clients are only seen once the cached document expires.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EntityCache {
+
+    /**
+     * @return how many documents are cached at most, the least valuable ones are evicted beyond
+     */
+    int maximumSize() default Constants.DEFAULT_ENTITY_CACHE_MAXIMUM_SIZE;
+
+    /**
+     * @return how many seconds a document is served from the cache after it is read
+     */
+    long timeToLive() default Constants.DEFAULT_ENTITY_CACHE_TIME_TO_LIVE;
+
+    /**
+     * @return whether an expired document is revalidated by its etag instead of read again, so that an unchanged
+     * document is neither transferred nor mapped. The cached entity instance is then returned to every caller,
+     * so such entities should not be modified.
+     */
+    boolean revalidate() default false;
+}
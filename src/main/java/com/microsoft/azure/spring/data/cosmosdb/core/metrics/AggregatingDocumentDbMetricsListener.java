@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum up operation metrics per collection, operation and repository method in memory, to find the operations
+ * consuming most request units or time without a metrics registry. A registry binder can read the same
+ * summaries periodically.
+ */
+public class AggregatingDocumentDbMetricsListener implements DocumentDbMetricsListener {
+
+    private final Map<Key, Accumulator> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public void onOperation(DocumentDbOperationMetrics metrics) {
+        final Key key = new Key(metrics.getCollectionName(), metrics.getOperation(), metrics.getRepositoryMethod());
+
+        summaries.computeIfAbsent(key, k -> new Accumulator()).add(metrics);
+    }
+
+    /**
+     * @return copy of the summaries at this moment
+     */
+    public Map<Key, Summary> getSummaries() {
+        final Map<Key, Summary> copy = new HashMap<>();
+
+        summaries.forEach((key, accumulator) -> copy.put(key, accumulator.toSummary()));
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public void reset() {
+        summaries.clear();
+    }
+
+    public static final class Key {
+        private final String collectionName;
+        private final String operation;
+        private final String repositoryMethod;
+
+        public Key(String collectionName, String operation, String repositoryMethod) {
+            this.collectionName = collectionName;
+            this.operation = operation;
+            this.repositoryMethod = repositoryMethod;
+        }
+
+        public String getCollectionName() {
+            return collectionName;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getRepositoryMethod() {
+            return repositoryMethod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+
+            return Objects.equals(collectionName, key.collectionName) && Objects.equals(operation, key.operation)
+                    && Objects.equals(repositoryMethod, key.repositoryMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(collectionName, operation, repositoryMethod);
+        }
+
+        @Override
+        public String toString() {
+            return collectionName + ":" + operation + (repositoryMethod == null ? "" : ":" + repositoryMethod);
+        }
+    }
+
+    public static final class Summary {
+        private final long count;
+        private final long errorCount;
+        private final long throttleCount;
+        private final double requestCharge;
+        private final long itemCount;
+        private final long pageCount;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Summary(long count, long errorCount, long throttleCount, double requestCharge, long itemCount,
+                        long pageCount, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.errorCount = errorCount;
+            this.throttleCount = throttleCount;
+            this.requestCharge = requestCharge;
+            this.itemCount = itemCount;
+            this.pageCount = pageCount;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getThrottleCount() {
+            return throttleCount;
+        }
+
+        public double getRequestCharge() {
+            return requestCharge;
+        }
+
+        public long getItemCount() {
+            return itemCount;
+        }
+
+        public long getPageCount() {
+            return pageCount;
+        }
+
+        public long getTotalTime(TimeUnit unit) {
+            return unit.convert(totalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public long getMaxTime(TimeUnit unit) {
+            return unit.convert(maxNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private long errorCount;
+        private long throttleCount;
+        private double requestCharge;
+        private long itemCount;
+        private long pageCount;
+        private long totalNanos;
+        private long maxNanos;
+
+        private synchronized void add(DocumentDbOperationMetrics metrics) {
+            final long nanos = metrics.getDuration(TimeUnit.NANOSECONDS);
+
+            count++;
+            errorCount += metrics.isSuccess() ? 0 : 1;
+            throttleCount += metrics.isThrottled() ? 1 : 0;
+            requestCharge += metrics.getRequestCharge();
+            itemCount += metrics.getItemCount();
+            pageCount += metrics.getPageCount();
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private synchronized Summary toSummary() {
+            return new Summary(count, errorCount, throttleCount, requestCharge, itemCount, pageCount, totalNanos,
+                    maxNanos);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.metrics;
+
+/**
+ * Repository method currently running on this thread, recorded with the metrics of the operations it runs.
+ */
+public final class DocumentDbMetricsContext {
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private DocumentDbMetricsContext() {
+    }
+
+    public static String getRepositoryMethod() {
+        return REPOSITORY_METHOD.get();
+    }
+
+    /**
+     * @param repositoryMethod repository method now running, null when none
+     * @return repository method running before, to be set back when the new one returns
+     */
+    public static String setRepositoryMethod(String repositoryMethod) {
+        final String previous = REPOSITORY_METHOD.get();
+
+        if (repositoryMethod == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(repositoryMethod);
+        }
+
+        return previous;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.metrics;
+
+/**
+ * Receive the metrics of each operation of {@link com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate},
+ * e.g. to record them into a metrics registry. The listener is called on the thread that ran the operation, once
+ * the operation completed or failed, and should return quickly.
+ */
+@FunctionalInterface
+public interface DocumentDbMetricsListener {
+
+    DocumentDbMetricsListener NOOP = metrics -> {
+    };
+
+    void onOperation(DocumentDbOperationMetrics metrics);
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics of one template operation. A query operation may span several pages, the request charge and item
+ * count are summed over all pages read.
+ */
+public class DocumentDbOperationMetrics {
+
+    private final String operation;
+    private final String collectionName;
+    private final String repositoryMethod;
+    private final long durationInNanos;
+    private final double requestCharge;
+    private final long itemCount;
+    private final int pageCount;
+    private final String activityId;
+    private final boolean throttled;
+    private final Throwable error;
+
+    public DocumentDbOperationMetrics(String operation, String collectionName, String repositoryMethod,
+                                      long durationInNanos, double requestCharge, long itemCount, int pageCount,
+                                      String activityId, boolean throttled, Throwable error) {
+        this.operation = operation;
+        this.collectionName = collectionName;
+        this.repositoryMethod = repositoryMethod;
+        this.durationInNanos = durationInNanos;
+        this.requestCharge = requestCharge;
+        this.itemCount = itemCount;
+        this.pageCount = pageCount;
+        this.activityId = activityId;
+        this.throttled = throttled;
+        this.error = error;
+    }
+
+    /**
+     * @return name of the template operation, e.g. "insert" or "find"
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    /**
+     * @return repository method the operation ran for, as "RepositoryInterface.method", null when the template
+     * is used directly
+     */
+    public String getRepositoryMethod() {
+        return repositoryMethod;
+    }
+
+    public long getDuration(TimeUnit unit) {
+        return unit.convert(durationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return request units consumed by the operation
+     */
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    /**
+     * @return documents read or written by the operation
+     */
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * @return responses received from database, i.e. pages for a query
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * @return activity id of the last response, to correlate with database diagnostics
+     */
+    public String getActivityId() {
+        return activityId;
+    }
+
+    /**
+     * @return true if the operation failed as database kept rejecting it with 429 (too many requests)
+     */
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    /**
+     * @return failure of the operation, null if succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -3,15 +3,24 @@
  * Licensed under the MIT License. See LICENSE in the project root for
  * license information.
  */
+
 package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
+import org.springframework.util.Assert;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class Criteria implements CriteriaDefinition {
 
     private String key;
-    private Object value;
+    private CriteriaType type;
+    private List<Object> values = Collections.emptyList();
+    private boolean ignoreCase;
+    private List<Criteria> subCriteria = Collections.emptyList();
     private List<Criteria> criteriaChain;
 
     public Criteria(String key) {
@@ -26,20 +35,175 @@ public class Criteria implements CriteriaDefinition {
         this.key = key;
     }
 
+    private Criteria(CriteriaType type, List<Criteria> subCriteria) {
+        this((String) null);
+        this.type = type;
+        this.subCriteria = Collections.unmodifiableList(subCriteria);
+    }
+
+    /**
+     * @return the first value compared with, null when the operator takes no value
+     */
     public Object getCriteriaObject() {
-        return value;
+        return values.isEmpty() ? null : values.get(0);
     }
 
     public String getKey() {
         return key;
     }
 
+    public CriteriaType getType() {
+        return type;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public List<Criteria> getSubCriteria() {
+        return subCriteria;
+    }
+
     public static Criteria where(String key) {
         return new Criteria(key);
     }
 
+    /**
+     * Match documents satisfying all of the criteria, each criteria is taken with the ones chained before it.
+     */
+    public static Criteria allOf(Criteria... criteria) {
+        return compose(CriteriaType.AND, resolveChains(criteria));
+    }
+
+    /**
+     * Match documents satisfying any of the criteria, each criteria is taken with the ones chained before it.
+     */
+    public static Criteria anyOf(Criteria... criteria) {
+        return compose(CriteriaType.OR, resolveChains(criteria));
+    }
+
+    public static Criteria not(Criteria criteria) {
+        Assert.notNull(criteria, "criteria should not be null");
+
+        return new Criteria(CriteriaType.NOT, Collections.singletonList(criteria.resolveChain()));
+    }
+
     public Criteria is(Object o) {
-        this.value = o;
+        return with(CriteriaType.IS_EQUAL, o);
+    }
+
+    public Criteria ne(Object o) {
+        return with(CriteriaType.NOT_EQUAL, o);
+    }
+
+    public Criteria lt(Object o) {
+        return with(CriteriaType.LESS_THAN, o);
+    }
+
+    public Criteria lte(Object o) {
+        return with(CriteriaType.LESS_THAN_EQUAL, o);
+    }
+
+    public Criteria gt(Object o) {
+        return with(CriteriaType.GREATER_THAN, o);
+    }
+
+    public Criteria gte(Object o) {
+        return with(CriteriaType.GREATER_THAN_EQUAL, o);
+    }
+
+    /**
+     * Match values from lower to upper, both included.
+     */
+    public Criteria between(Object lower, Object upper) {
+        return with(CriteriaType.BETWEEN, lower, upper);
+    }
+
+    public Criteria in(Collection<?> values) {
+        Assert.notNull(values, "values should not be null");
+
+        return with(CriteriaType.IN, values);
+    }
+
+    public Criteria nin(Collection<?> values) {
+        Assert.notNull(values, "values should not be null");
+
+        return with(CriteriaType.NOT_IN, values);
+    }
+
+    public Criteria startsWith(String prefix) {
+        return with(CriteriaType.STARTS_WITH, prefix);
+    }
+
+    public Criteria endsWith(String suffix) {
+        return with(CriteriaType.ENDS_WITH, suffix);
+    }
+
+    /**
+     * Match string properties containing the given substring.
+     */
+    public Criteria containing(String substring) {
+        return with(CriteriaType.CONTAINING, substring);
+    }
+
+    public Criteria notContaining(String substring) {
+        return with(CriteriaType.NOT_CONTAINING, substring);
+    }
+
+    /**
+     * Match array properties containing the given element.
+     */
+    public Criteria arrayContains(Object element) {
+        return with(CriteriaType.ARRAY_CONTAINS, element);
+    }
+
+    public Criteria notArrayContains(Object element) {
+        return with(CriteriaType.NOT_ARRAY_CONTAINS, element);
+    }
+
+    /**
+     * Match properties either absent from the document or set to null.
+     */
+    public Criteria isNull() {
+        return with(CriteriaType.IS_NULL);
+    }
+
+    public Criteria isNotNull() {
+        return with(CriteriaType.IS_NOT_NULL);
+    }
+
+    public Criteria isEmpty() {
+        return with(CriteriaType.IS_EMPTY);
+    }
+
+    public Criteria isNotEmpty() {
+        return with(CriteriaType.IS_NOT_EMPTY);
+    }
+
+    public Criteria isTrue() {
+        return with(CriteriaType.TRUE);
+    }
+
+    public Criteria isFalse() {
+        return with(CriteriaType.FALSE);
+    }
+
+    /**
+     * Match documents having the property, whatever its value.
+     */
+    public Criteria exists() {
+        return with(CriteriaType.EXISTS);
+    }
+
+    /**
+     * Compare string values case insensitively.
+     */
+    public Criteria ignoreCase() {
+        this.ignoreCase = true;
         return this;
     }
 
@@ -50,4 +214,49 @@ public class Criteria implements CriteriaDefinition {
     public List<Criteria> getCriteriaChain() {
         return criteriaChain;
     }
+
+    /**
+     * @return this criteria alone if nothing is chained, otherwise the AND of the whole chain
+     */
+    Criteria resolveChain() {
+        return criteriaChain.size() == 1 ? criteriaChain.get(0) : compose(CriteriaType.AND, criteriaChain);
+    }
+
+    private static List<Criteria> resolveChains(Criteria... criteria) {
+        final List<Criteria> resolved = new ArrayList<>(criteria.length);
+
+        for (final Criteria c : criteria) {
+            Assert.notNull(c, "criteria should not be null");
+            resolved.add(c.resolveChain());
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Combine the criteria with the AND or OR operator, sub criteria of the same operator are merged in place
+     * to keep the tree flat.
+     */
+    private static Criteria compose(CriteriaType type, List<Criteria> criteria) {
+        final List<Criteria> subCriteria = new ArrayList<>(criteria.size());
+
+        for (final Criteria c : criteria) {
+            if (c.getType() == type) {
+                subCriteria.addAll(c.getSubCriteria());
+            } else {
+                subCriteria.add(c);
+            }
+        }
+
+        return new Criteria(type, subCriteria);
+    }
+
+    private Criteria with(CriteriaType type, Object... values) {
+        Assert.isTrue(this.type == null || !this.type.isComposite(), "composite criteria takes no operator");
+        Assert.isTrue(values.length == type.getValueCount(), "unexpected value count of criteria type: " + type);
+
+        this.type = type;
+        this.values = Collections.unmodifiableList(Arrays.asList(values));
+        return this;
+    }
 }
@@ -5,8 +5,21 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
+import java.util.List;
+
 public interface CriteriaDefinition {
     Object getCriteriaObject();
 
     String getKey();
+
+    CriteriaType getType();
+
+    List<Object> getValues();
+
+    boolean isIgnoreCase();
+
+    /**
+     * @return criteria combined by a composite operator, empty for a property criteria
+     */
+    List<? extends CriteriaDefinition> getSubCriteria();
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+/**
+ * Operator of a {@link Criteria}, with the number of values it compares the property with. The composite
+ * operators AND, OR and NOT combine sub criteria instead of comparing a property.
+ */
+public enum CriteriaType {
+    IS_EQUAL(1),
+    NOT_EQUAL(1),
+    LESS_THAN(1),
+    LESS_THAN_EQUAL(1),
+    GREATER_THAN(1),
+    GREATER_THAN_EQUAL(1),
+    BETWEEN(2),
+    IN(1),
+    NOT_IN(1),
+    STARTS_WITH(1),
+    ENDS_WITH(1),
+    CONTAINING(1),
+    NOT_CONTAINING(1),
+    ARRAY_CONTAINS(1),
+    NOT_ARRAY_CONTAINS(1),
+    IS_NULL(0),
+    IS_NOT_NULL(0),
+    IS_EMPTY(0),
+    IS_NOT_EMPTY(0),
+    TRUE(0),
+    FALSE(0),
+    EXISTS(0),
+    AND(0, true),
+    OR(0, true),
+    NOT(0, true);
+
+    private final int valueCount;
+    private final boolean composite;
+
+    CriteriaType(int valueCount) {
+        this(valueCount, false);
+    }
+
+    CriteriaType(int valueCount, boolean composite) {
+        this.valueCount = valueCount;
+        this.composite = composite;
+    }
+
+    public int getValueCount() {
+        return valueCount;
+    }
+
+    public boolean isComposite() {
+        return composite;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Page read by a continuation query, there is a next page as long as database returns a continuation.
+ */
+public class DocumentDbPageImpl<T> extends PageImpl<T> {
+    private static final long serialVersionUID = -4372939462640585466L;
+
+    private final String responseContinuation;
+
+    public DocumentDbPageImpl(List<T> content, Pageable pageable, long total, String responseContinuation) {
+        super(content, pageable, total);
+
+        this.responseContinuation = responseContinuation;
+    }
+
+    public String getResponseContinuation() {
+        return this.responseContinuation;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.responseContinuation != null;
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        if (!hasNext()) {
+            return Pageable.unpaged();
+        }
+
+        return DocumentDbPageRequest.of(getNumber() + 1, getSize(), getSort(), this.responseContinuation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof DocumentDbPageImpl)) {
+            return false;
+        }
+
+        return super.equals(obj)
+                && Objects.equals(this.responseContinuation, ((DocumentDbPageImpl<?>) obj).responseContinuation);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(this.responseContinuation);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+/**
+ * Page request carrying the opaque continuation token returned by database for the previous page, so the page
+ * is read by one request instead of reading and discarding all pages before it. Obtain it from
+ * {@code nextPageable()} of a page returned by database, a request without continuation starts from the top.
+ */
+public class DocumentDbPageRequest extends PageRequest {
+    private static final long serialVersionUID = 6093304300037688375L;
+
+    private final String requestContinuation;
+
+    public DocumentDbPageRequest(int page, int size, Sort sort, String requestContinuation) {
+        super(page, size, sort);
+
+        this.requestContinuation = requestContinuation;
+    }
+
+    public static DocumentDbPageRequest of(int page, int size, String requestContinuation) {
+        return new DocumentDbPageRequest(page, size, Sort.unsorted(), requestContinuation);
+    }
+
+    public static DocumentDbPageRequest of(int page, int size, Sort sort, String requestContinuation) {
+        return new DocumentDbPageRequest(page, size, sort, requestContinuation);
+    }
+
+    public String getRequestContinuation() {
+        return this.requestContinuation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof DocumentDbPageRequest)) {
+            return false;
+        }
+
+        return super.equals(obj)
+                && Objects.equals(this.requestContinuation, ((DocumentDbPageRequest) obj).requestContinuation);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(this.requestContinuation);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Slice read by a continuation query, unlike {@link DocumentDbPageImpl} it does not need a count query.
+ */
+public class DocumentDbSliceImpl<T> extends SliceImpl<T> {
+    private static final long serialVersionUID = 2960185402384733474L;
+
+    private final String responseContinuation;
+
+    public DocumentDbSliceImpl(List<T> content, Pageable pageable, String responseContinuation) {
+        super(content, pageable, responseContinuation != null);
+
+        this.responseContinuation = responseContinuation;
+    }
+
+    public String getResponseContinuation() {
+        return this.responseContinuation;
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        if (!hasNext()) {
+            return Pageable.unpaged();
+        }
+
+        return DocumentDbPageRequest.of(getNumber() + 1, getSize(), getSort(), this.responseContinuation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof DocumentDbSliceImpl)) {
+            return false;
+        }
+
+        return super.equals(obj)
+                && Objects.equals(this.responseContinuation, ((DocumentDbSliceImpl<?>) obj).responseContinuation);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(this.responseContinuation);
+    }
+}
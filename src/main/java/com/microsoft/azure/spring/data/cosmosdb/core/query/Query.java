@@ -5,15 +5,18 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
-import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
 
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 public class Query {
 
-    private final Map<String, Object> criteria = new LinkedHashMap<>();
+    private Criteria criteria;
+    private Pageable pageable = Pageable.unpaged();
+    private Sort sort = Sort.unsorted();
+    private int limit;
 
     public static Query query(Criteria criteria) {
         return new Query(criteria);
@@ -23,25 +26,65 @@ public class Query {
     }
 
     public Query(Criteria criteria) {
-        final List<Criteria> criteriaList = criteria.getCriteriaChain();
-        for (final Criteria c : criteriaList) {
-            addCriteria(c);
-        }
+        addCriteria(criteria);
     }
 
-    public Query addCriteria(CriteriaDefinition criteriaDefinition) {
-        final Object existing = this.criteria.get(criteriaDefinition.getKey());
+    /**
+     * Add the criteria, together with the ones chained before it, with AND to the existing criteria.
+     */
+    public Query addCriteria(Criteria criteria) {
+        Assert.notNull(criteria, "criteria should not be null");
 
-        if (existing == null) {
-            this.criteria.put(criteriaDefinition.getKey(), criteriaDefinition.getCriteriaObject());
-        } else {
-            throw new IllegalQueryException("invalid criteriaDefinition, criteria already exists.");
-        }
+        final Criteria resolved = criteria.resolveChain();
+
+        this.criteria = this.criteria == null ? resolved : Criteria.allOf(this.criteria, resolved);
+        return this;
+    }
+
+    /**
+     * @return root of the criteria tree, empty when documents are not filtered
+     */
+    public Optional<Criteria> getCriteria() {
+        return Optional.ofNullable(this.criteria);
+    }
+
+    public Query with(Pageable pageable) {
+        Assert.notNull(pageable, "pageable should not be null");
+
+        this.pageable = pageable;
+        return this;
+    }
+
+    public Pageable getPageable() {
+        return this.pageable;
+    }
+
+    /**
+     * Add the sort orders after the existing ones.
+     */
+    public Query with(Sort sort) {
+        Assert.notNull(sort, "sort should not be null");
+
+        this.sort = this.sort.and(sort);
+        return this;
+    }
+
+    public Sort getSort() {
+        return this.sort;
+    }
+
+    /**
+     * Limit the number of returned documents, 0 for no limit.
+     */
+    public Query limit(int limit) {
+        Assert.isTrue(limit >= 0, "limit should not be negative");
+
+        this.limit = limit;
         return this;
     }
 
-    public Map<String, Object> getCriteria() {
-        return this.criteria;
+    public int getLimit() {
+        return this.limit;
     }
 }
 
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes of a partial document update, applied in order to each matched document on database side. Keys are
+ * dot separated property paths of the entity, the id property can not be updated.
+ */
+public class Update {
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    public static Update update(String key, Object value) {
+        return new Update().set(key, value);
+    }
+
+    /**
+     * Set the property to the value, creating it if missing.
+     */
+    public Update set(String key, Object value) {
+        return add(OperationType.SET, key, value);
+    }
+
+    /**
+     * Remove the property, nothing is changed if it is missing.
+     */
+    public Update unset(String key) {
+        return add(OperationType.UNSET, key, null);
+    }
+
+    /**
+     * Add the amount to the number property, a missing or null property is set to the amount.
+     */
+    public Update inc(String key, Number amount) {
+        Assert.notNull(amount, "amount should not be null");
+
+        return add(OperationType.INCREMENT, key, amount);
+    }
+
+    /**
+     * Append the value to the array property, a missing or null property is set to an array of the value.
+     */
+    public Update push(String key, Object value) {
+        return add(OperationType.PUSH, key, value);
+    }
+
+    private Update add(OperationType type, String key, Object value) {
+        Assert.hasText(key, "key should not be null, empty or only whitespaces");
+
+        this.operations.add(new Operation(type, key, value));
+        return this;
+    }
+
+    public List<Operation> getOperations() {
+        return Collections.unmodifiableList(this.operations);
+    }
+
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    public enum OperationType {
+        SET, UNSET, INCREMENT, PUSH
+    }
+
+    public static final class Operation {
+        private final OperationType type;
+        private final String key;
+        private final Object value;
+
+        private Operation(OperationType type, String key, Object value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+
+        public OperationType getType() {
+            return type;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the value set, added or appended, null for unset
+         */
+        public Object getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.exception;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkWriteResult;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Failure of some items of bulk writes. The cause is the failure of the first failed item, the failures of the
+ * other items are suppressed exceptions, and the results of the writes tell which items were written.
+ */
+public class BulkWriteException extends DocumentDBAccessException {
+
+    private transient List<BulkWriteResult<?>> results;
+
+    public BulkWriteException(String msg, List<BulkWriteResult<?>> results) {
+        super(msg, getFirstCause(results));
+
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+
+        final Throwable cause = getCause();
+
+        for (final BulkWriteResult<?> result : results) {
+            for (final BulkWriteResult.Failure<?> failure : result.getFailures()) {
+                if (failure.getCause() != cause) {
+                    addSuppressed(failure.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * The written items are not necessarily serializable, so a deserialized exception has no results.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.results = Collections.emptyList();
+    }
+
+    private static Throwable getFirstCause(List<BulkWriteResult<?>> results) {
+        for (final BulkWriteResult<?> result : results) {
+            if (result.hasFailures()) {
+                return result.getFailures().get(0).getCause();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return results of the bulk writes, in the order they were run
+     */
+    public List<BulkWriteResult<?>> getResults() {
+        return results;
+    }
+
+    /**
+     * @return number of failed items of all bulk writes
+     */
+    public int getFailureCount() {
+        return results.stream().mapToInt(result -> result.getFailures().size()).sum();
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non blocking counterpart of {@link DocumentDbRepository}, backed by
+ * {@link com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbOperations}. Derived query methods of
+ * the repository may return {@link CompletableFuture} of any result type a {@link DocumentDbRepository} query
+ * method supports.
+ */
+@NoRepositoryBean
+public interface AsyncDocumentDbRepository<T, ID extends Serializable> extends Repository<T, ID> {
+
+    <S extends T> CompletableFuture<S> save(S entity);
+
+    CompletableFuture<Optional<T>> findById(ID id);
+
+    CompletableFuture<Boolean> existsById(ID id);
+
+    CompletableFuture<List<T>> findAll();
+
+    CompletableFuture<List<T>> findAllById(Iterable<ID> ids);
+
+    /**
+     * Read one page of entities. Pass {@code nextPageable()} of the completed page to read the next one when
+     * ready for more entities, so pages are only fetched as the consumer asks for them.
+     */
+    CompletableFuture<Page<T>> findAll(Pageable pageable);
+
+    CompletableFuture<Long> count();
+
+    CompletableFuture<Void> deleteById(ID id);
+
+    CompletableFuture<Void> delete(T entity);
+
+    CompletableFuture<Void> deleteAll();
+}
@@ -6,12 +6,28 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.io.Serializable;
+import java.util.stream.Stream;
 
 @NoRepositoryBean
-public interface DocumentDbRepository<T, ID extends Serializable> extends CrudRepository<T, ID> {
+public interface DocumentDbRepository<T, ID extends Serializable> extends PagingAndSortingRepository<T, ID> {
+
+    /**
+     * Read all entities lazily, page by page. The stream should be closed, e.g. by try-with-resources, when
+     * not consumed to the end.
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Read one page of entities. Pass {@code nextPageable()} of the previous page to read the next one by
+     * its continuation in one request.
+     */
+    @Override
+    Page<T> findAll(Pageable pageable);
 }
 
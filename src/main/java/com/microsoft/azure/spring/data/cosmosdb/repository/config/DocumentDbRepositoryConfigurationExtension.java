@@ -8,6 +8,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.config;
 
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.repository.AsyncDocumentDbRepository;
 import com.microsoft.azure.spring.data.cosmosdb.repository.DocumentDbRepository;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbRepositoryFactoryBean;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
@@ -18,6 +19,7 @@ import org.springframework.data.repository.config.RepositoryConfigurationExtensi
 import org.springframework.data.repository.config.RepositoryConfigurationSource;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -40,7 +42,7 @@ public class DocumentDbRepositoryConfigurationExtension extends RepositoryConfig
 
     @Override
     protected Collection<Class<?>> getIdentifyingTypes() {
-        return Collections.<Class<?>>singleton(DocumentDbRepository.class);
+        return Arrays.asList(DocumentDbRepository.class, AsyncDocumentDbRepository.class);
     }
 
     @Override
@@ -22,7 +22,7 @@ public abstract class AbstractDocumentDbQuery implements RepositoryQuery {
 
     public Object execute(Object[] parameters) {
         final DocumentDbParameterAccessor accessor = new DocumentDbParameterParameterAccessor(method, parameters);
-        final Query query = createQuery(accessor);
+        final Query query = createQuery(accessor).with(accessor.getPageable());
 
         final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
         final String collection = ((DocumentDbEntityMetadata) method.getEntityInformation()).getCollectionName();
@@ -35,6 +35,16 @@ public abstract class AbstractDocumentDbQuery implements RepositoryQuery {
     private DocumentDbQueryExecution getExecution(Query query, DocumentDbParameterAccessor accessor) {
         if (isDeleteQuery()) {
             return new DocumentDbQueryExecution.DeleteExecution(operations);
+        } else if (isCountQuery()) {
+            return new DocumentDbQueryExecution.CountExecution(operations);
+        } else if (isExistsQuery()) {
+            return new DocumentDbQueryExecution.ExistsExecution(operations);
+        } else if (method.isPageQuery()) {
+            return new DocumentDbQueryExecution.PagedExecution(operations);
+        } else if (method.isSliceQuery()) {
+            return new DocumentDbQueryExecution.SlicedExecution(operations);
+        } else if (method.isStreamQuery()) {
+            return new DocumentDbQueryExecution.StreamExecution(operations);
         } else {
             return new DocumentDbQueryExecution.MultiEntityExecution(operations);
         }
@@ -48,4 +58,8 @@ public abstract class AbstractDocumentDbQuery implements RepositoryQuery {
 
     protected abstract boolean isDeleteQuery();
 
+    protected abstract boolean isCountQuery();
+
+    protected abstract boolean isExistsQuery();
+
 }
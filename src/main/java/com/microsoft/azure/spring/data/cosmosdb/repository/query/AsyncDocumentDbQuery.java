@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbOperations;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+
+/**
+ * Query method returning {@link java.util.concurrent.CompletableFuture}, the wrapped query is executed by
+ * {@link AsyncDocumentDbOperations} and the future of its result is returned at once.
+ */
+public class AsyncDocumentDbQuery implements RepositoryQuery {
+
+    private final RepositoryQuery query;
+    private final AsyncDocumentDbOperations asyncOperations;
+
+    public AsyncDocumentDbQuery(RepositoryQuery query, AsyncDocumentDbOperations asyncOperations) {
+        this.query = query;
+        this.asyncOperations = asyncOperations;
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        return asyncOperations.execute(operations -> query.execute(parameters));
+    }
+
+    @Override
+    public QueryMethod getQueryMethod() {
+        return query.getQueryMethod();
+    }
+}
@@ -8,7 +8,6 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
-import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.context.MappingContext;
@@ -16,7 +15,10 @@ import org.springframework.data.mapping.context.PersistentPropertyPath;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.CollectionUtils;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 
 
@@ -56,14 +58,15 @@ public class DocumentDbQueryCreator extends AbstractQueryCreator<Query, Criteria
 
     @Override
     protected Query complete(Criteria criteria, Sort sort) {
-        final Query query = new Query(criteria);
-        return query;
+        // A method without predicate, like findTop10ByOrderByScoreDesc, has no criteria
+        final Query query = criteria == null ? new Query() : new Query(criteria);
+
+        return query.with(sort);
     }
 
     @Override
     protected Criteria or(Criteria base, Criteria criteria) {
-        // not supported yet
-        throw new NotImplementedException("Criteria or is not supported.");
+        return Criteria.anyOf(base, criteria);
     }
 
     private Criteria from(Part part, DocumentDbPersistentProperty property,
@@ -71,16 +74,74 @@ public class DocumentDbQueryCreator extends AbstractQueryCreator<Query, Criteria
 
         final Part.Type type = part.getType();
 
+        if (!isSimpleComparisionPossible(part)) {
+            ignoreCaseOrThrow(part, criteria);
+        }
+
         switch (type) {
             case SIMPLE_PROPERTY:
-
-                return isSimpleComparisionPossible(part) ? criteria.is(parameters.next())
-                        : createLikeRegexCriteriaOrThrow(part, property, criteria, parameters, false);
+                return criteria.is(parameters.next());
+            case NEGATING_SIMPLE_PROPERTY:
+                return criteria.ne(parameters.next());
+            case LESS_THAN:
+            case BEFORE:
+                return criteria.lt(parameters.next());
+            case LESS_THAN_EQUAL:
+                return criteria.lte(parameters.next());
+            case GREATER_THAN:
+            case AFTER:
+                return criteria.gt(parameters.next());
+            case GREATER_THAN_EQUAL:
+                return criteria.gte(parameters.next());
+            case BETWEEN:
+                return criteria.between(parameters.next(), parameters.next());
+            case IN:
+                return criteria.in(asCollection(parameters.next()));
+            case NOT_IN:
+                return criteria.nin(asCollection(parameters.next()));
+            case STARTING_WITH:
+                return criteria.startsWith(asString(parameters.next()));
+            case ENDING_WITH:
+                return criteria.endsWith(asString(parameters.next()));
+            case CONTAINING:
+                return property.isCollectionLike() ? criteria.arrayContains(parameters.next())
+                        : criteria.containing(asString(parameters.next()));
+            case NOT_CONTAINING:
+                return property.isCollectionLike() ? criteria.notArrayContains(parameters.next())
+                        : criteria.notContaining(asString(parameters.next()));
+            case IS_NULL:
+                return criteria.isNull();
+            case IS_NOT_NULL:
+                return criteria.isNotNull();
+            case IS_EMPTY:
+                return criteria.isEmpty();
+            case IS_NOT_EMPTY:
+                return criteria.isNotEmpty();
+            case TRUE:
+                return criteria.isTrue();
+            case FALSE:
+                return criteria.isFalse();
+            case EXISTS:
+                return criteria.exists();
             default:
                 throw new IllegalArgumentException("unsupported keyword: " + type);
         }
     }
 
+    private static Collection<?> asCollection(Object value) {
+        if (value instanceof Collection) {
+            return (Collection<?>) value;
+        } else if (value != null && value.getClass().isArray()) {
+            return CollectionUtils.arrayToList(value);
+        }
+
+        return Collections.singletonList(value);
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
     private boolean isSimpleComparisionPossible(Part part) {
         switch (part.shouldIgnoreCase()) {
             case NEVER:
@@ -94,26 +155,14 @@ public class DocumentDbQueryCreator extends AbstractQueryCreator<Query, Criteria
         }
     }
 
-    private Criteria createLikeRegexCriteriaOrThrow(Part part, DocumentDbPersistentProperty property,
-        Criteria criteria, Iterator<Object> parameters, boolean shouldNegateExpression) {
+    private void ignoreCaseOrThrow(Part part, Criteria criteria) {
         final PropertyPath path = part.getProperty().getLeafProperty();
 
-        switch (part.shouldIgnoreCase()) {
-            case ALWAYS:
-                if (path.getType() != String.class) {
-                    throw new IllegalArgumentException("part must be String, but: " + path.getType() + ", " + path);
-                }
-
-                /* fall through */
-            case WHEN_POSSIBLE:
-
-                return criteria;
-
-            case NEVER:
-                break;
+        if (path.getType() != String.class) {
+            throw new IllegalArgumentException("part must be String, but: " + path.getType() + ", " + path);
         }
 
-        return null;
+        criteria.ignoreCase();
     }
 
 }
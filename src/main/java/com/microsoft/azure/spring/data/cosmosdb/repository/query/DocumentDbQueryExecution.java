@@ -7,6 +7,9 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.util.StreamUtils;
 
 public interface DocumentDbQueryExecution {
     Object execute(Query query, Class<?> type, String collection);
@@ -51,4 +54,77 @@ public interface DocumentDbQueryExecution {
             return operations.delete(query, type, collection);
         }
     }
+
+    final class CountExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+
+        public CountExecution(DocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(Query query, Class<?> type, String collection) {
+            return operations.count(query, type, collection);
+        }
+    }
+
+    final class ExistsExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+
+        public ExistsExecution(DocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(Query query, Class<?> type, String collection) {
+            return operations.exists(query, type, collection);
+        }
+    }
+
+    final class StreamExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+
+        public StreamExecution(DocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(Query query, Class<?> type, String collection) {
+            return StreamUtils.createStreamFromIterator(operations.stream(query, type, collection));
+        }
+    }
+
+    final class PagedExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+
+        public PagedExecution(DocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(Query query, Class<?> type, String collection) {
+            if (query.getPageable().isUnpaged()) {
+                return new PageImpl<>(operations.find(query, type, collection));
+            }
+
+            return operations.paginationQuery(query, type, collection);
+        }
+    }
+
+    final class SlicedExecution implements DocumentDbQueryExecution {
+        private final DocumentDbOperations operations;
+
+        public SlicedExecution(DocumentDbOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(Query query, Class<?> type, String collection) {
+            if (query.getPageable().isUnpaged()) {
+                return new SliceImpl<>(operations.find(query, type, collection));
+            }
+
+            return operations.sliceQuery(query, type, collection);
+        }
+    }
 }
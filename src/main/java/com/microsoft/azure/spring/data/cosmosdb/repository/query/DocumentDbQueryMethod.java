@@ -24,11 +24,14 @@ public class DocumentDbQueryMethod extends QueryMethod {
     @Override
     @SuppressWarnings("unchecked")
     public EntityMetadata<?> getEntityInformation() {
-        final Class<Object> domainClass = (Class<Object>) getDomainClass();
-        final DocumentDbEntityInformation entityInformation =
-                new DocumentDbEntityInformation<Object, String>(domainClass);
+        if (this.metadata == null) {
+            final Class<Object> domainClass = (Class<Object>) getDomainClass();
+            final DocumentDbEntityInformation<Object, String> entityInformation =
+                    DocumentDbEntityInformation.getInstance(domainClass);
+
+            this.metadata = new SimpleDocumentDbEntityMetadata<Object>(domainClass, entityInformation);
+        }
 
-        this.metadata = new SimpleDocumentDbEntityMetadata<Object>(domainClass, entityInformation);
         return this.metadata;
     }
 }
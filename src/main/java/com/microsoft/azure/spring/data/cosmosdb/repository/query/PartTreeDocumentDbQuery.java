@@ -8,7 +8,6 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbPersistentProperty;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
-import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -37,8 +36,10 @@ public class PartTreeDocumentDbQuery extends AbstractDocumentDbQuery {
 
         final Query query = creator.createQuery();
 
-        if (tree.isLimiting()) {
-            throw new NotImplementedException("Limiting is not supported.");
+        final Integer maxResults = tree.getMaxResults();
+
+        if (tree.isLimiting() && maxResults != null) {
+            query.limit(maxResults);
         }
         return query;
     }
@@ -47,4 +48,14 @@ public class PartTreeDocumentDbQuery extends AbstractDocumentDbQuery {
     protected boolean isDeleteQuery() {
         return tree.isDelete();
     }
+
+    @Override
+    protected boolean isCountQuery() {
+        return tree.isCountProjection();
+    }
+
+    @Override
+    protected boolean isExistsQuery() {
+        return tree.isExistsProjection();
+    }
 }
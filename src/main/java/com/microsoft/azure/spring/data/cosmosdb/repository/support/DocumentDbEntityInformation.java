@@ -13,27 +13,48 @@ import com.microsoft.azure.documentdb.IndexingPolicy;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingPolicy;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.EntityCache;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.repository.core.support.AbstractEntityInformation;
 import org.springframework.lang.NonNull;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformation<T, ID> {
 
-    private Field id;
-    private Field partitionKeyField;
-    private String collectionName;
-    private Integer requestUnit;
-    private Integer timeToLive;
-    private IndexingPolicy indexingPolicy;
+    private static final Map<Class<?>, DocumentDbEntityInformation<?, ?>> CACHE = new ConcurrentReferenceHashMap<>();
+
+    private final Field id;
+    private final Field partitionKeyField;
+    private final Field versionField;
+    private final String collectionName;
+    private final Integer requestUnit;
+    private final Integer timeToLive;
+    private final IndexingPolicy indexingPolicy;
+    private final EntityCache entityCache;
+
+    /**
+     * Get the shared entity information of domain class, the annotation scanning and reflection
+     * are done only once per domain class.
+     *
+     * @param domainClass domain class
+     * @return entity information of domain class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, ID> DocumentDbEntityInformation<T, ID> getInstance(@NonNull Class<T> domainClass) {
+        return (DocumentDbEntityInformation<T, ID>) CACHE.computeIfAbsent(domainClass,
+                DocumentDbEntityInformation::new);
+    }
 
     public DocumentDbEntityInformation(Class<T> domainClass) {
         super(domainClass);
@@ -47,9 +68,15 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
             ReflectionUtils.makeAccessible(this.partitionKeyField);
         }
 
+        this.versionField = getVersionField(domainClass);
+        if (this.versionField != null) {
+            ReflectionUtils.makeAccessible(this.versionField);
+        }
+
         this.requestUnit = getRequestUnit(domainClass);
         this.timeToLive = getTimeToLive(domainClass);
         this.indexingPolicy = getIndexingPolicy(domainClass);
+        this.entityCache = domainClass.getAnnotation(EntityCache.class);
     }
 
     @SuppressWarnings("unchecked")
@@ -57,6 +84,20 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
         return (ID) ReflectionUtils.getField(id, entity);
     }
 
+    /**
+     * An entity with a {@code String} {@link Version} field, which is mapped to the etag of its document, is new
+     * until saved, when its version is set. So the first save of an entity is an insert, failing on conflict
+     * instead of overwriting a document with the same id.
+     */
+    @Override
+    public boolean isNew(T entity) {
+        if (versionField == null) {
+            return super.isNew(entity);
+        }
+
+        return ReflectionUtils.getField(versionField, entity) == null;
+    }
+
     public Field getId() {
         return this.id;
     }
@@ -83,6 +124,31 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
         return this.indexingPolicy;
     }
 
+    public boolean isEntityCacheEnabled() {
+        return this.entityCache != null;
+    }
+
+    /**
+     * @return maximum number of cached documents, 0 when the entity is not cached
+     */
+    public int getEntityCacheMaximumSize() {
+        return this.entityCache == null ? 0 : this.entityCache.maximumSize();
+    }
+
+    /**
+     * @return seconds a cached document is served, 0 when the entity is not cached
+     */
+    public long getEntityCacheTimeToLive() {
+        return this.entityCache == null ? 0 : this.entityCache.timeToLive();
+    }
+
+    /**
+     * @return whether expired cached documents are revalidated by etag
+     */
+    public boolean isEntityCacheRevalidated() {
+        return this.entityCache != null && this.entityCache.revalidate();
+    }
+
     public String getPartitionKeyFieldName() {
         return partitionKeyField == null ? null : partitionKeyField.getName();
     }
@@ -154,6 +220,16 @@ public class DocumentDbEntityInformation<T, ID> extends AbstractEntityInformatio
         return partitionKey;
     }
 
+    private Field getVersionField(Class<?> domainClass) {
+        final List<Field> fields = FieldUtils.getFieldsListWithAnnotation(domainClass, Version.class);
+
+        if (fields.size() == 1 && fields.get(0).getType() == String.class) {
+            return fields.get(0);
+        }
+
+        return null;
+    }
+
     private Integer getRequestUnit(Class<?> domainClass) {
         Integer ru = Integer.parseInt(Constants.DEFAULT_REQUEST_UNIT);
         final Document annotation = domainClass.getAnnotation(Document.class);
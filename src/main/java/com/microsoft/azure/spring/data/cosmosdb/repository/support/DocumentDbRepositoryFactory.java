@@ -6,7 +6,10 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.repository.AsyncDocumentDbRepository;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.AsyncDocumentDbQuery;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.DocumentDbQueryMethod;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.PartTreeDocumentDbQuery;
 import org.springframework.context.ApplicationContext;
@@ -24,20 +27,35 @@ import org.springframework.util.Assert;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 public class DocumentDbRepositoryFactory extends RepositoryFactorySupport {
 
     private final ApplicationContext applicationContext;
     private final DocumentDbOperations dbOperations;
+    private final AsyncDocumentDbOperations asyncOperations;
 
     public DocumentDbRepositoryFactory(DocumentDbOperations dbOperations, ApplicationContext applicationContext) {
+        this(dbOperations, null, applicationContext);
+    }
+
+    public DocumentDbRepositoryFactory(DocumentDbOperations dbOperations, AsyncDocumentDbOperations asyncOperations,
+                                       ApplicationContext applicationContext) {
         this.dbOperations = dbOperations;
+        this.asyncOperations = asyncOperations;
         this.applicationContext = applicationContext;
+
+        addRepositoryProxyPostProcessor((factory, repositoryInformation) -> factory.addAdvice(
+                new RepositoryMethodMetricsInterceptor(repositoryInformation.getRepositoryInterface())));
     }
 
     @Override
     protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+        if (AsyncDocumentDbRepository.class.isAssignableFrom(metadata.getRepositoryInterface())) {
+            return SimpleAsyncDocumentDbRepository.class;
+        }
+
         return SimpleDocumentDbRepository.class;
     }
 
@@ -49,20 +67,25 @@ public class DocumentDbRepositoryFactory extends RepositoryFactorySupport {
 
     @Override
     public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
-        return new DocumentDbEntityInformation<>(domainClass);
+        return DocumentDbEntityInformation.getInstance(domainClass);
     }
 
     @Override
     protected Optional<QueryLookupStrategy> getQueryLookupStrategy(QueryLookupStrategy.Key key,
                                                                EvaluationContextProvider evaluationContextProvider) {
-        return Optional.of(new DocumentDbQueryLookupStrategy(dbOperations, evaluationContextProvider));
+        return Optional.of(new DocumentDbQueryLookupStrategy(dbOperations, asyncOperations,
+                evaluationContextProvider));
     }
 
     private static class DocumentDbQueryLookupStrategy implements QueryLookupStrategy {
         private final DocumentDbOperations dbOperations;
+        private final AsyncDocumentDbOperations asyncOperations;
 
-        public DocumentDbQueryLookupStrategy(DocumentDbOperations operations, EvaluationContextProvider provider) {
+        public DocumentDbQueryLookupStrategy(DocumentDbOperations operations,
+                                             AsyncDocumentDbOperations asyncOperations,
+                                             EvaluationContextProvider provider) {
             this.dbOperations = operations;
+            this.asyncOperations = asyncOperations;
         }
 
         @Override
@@ -72,7 +95,14 @@ public class DocumentDbRepositoryFactory extends RepositoryFactorySupport {
 
             Assert.notNull(queryMethod, "queryMethod must not be null!");
             Assert.notNull(dbOperations, "dbOperations must not be null!");
-            return new PartTreeDocumentDbQuery(queryMethod, dbOperations);
+            final PartTreeDocumentDbQuery query = new PartTreeDocumentDbQuery(queryMethod, dbOperations);
+
+            if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+                Assert.notNull(asyncOperations, "asyncOperations must not be null for query: " + method);
+                return new AsyncDocumentDbQuery(query, asyncOperations);
+            }
+
+            return query;
 
         }
     }
@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
 import org.springframework.beans.BeansException;
@@ -26,6 +27,7 @@ public class DocumentDbRepositoryFactoryBean<T extends Repository<S, ID>, S, ID
 
     private ApplicationContext applicationContext;
     private DocumentDbOperations operations;
+    private AsyncDocumentDbOperations asyncOperations;
     private boolean mappingContextConfigured = false;
 
 
@@ -38,13 +40,18 @@ public class DocumentDbRepositoryFactoryBean<T extends Repository<S, ID>, S, ID
         this.operations = operations;
     }
 
+    @Autowired(required = false)
+    public void setAsyncDocumentDbOperations(AsyncDocumentDbOperations asyncOperations) {
+        this.asyncOperations = asyncOperations;
+    }
+
     @Override
     protected final RepositoryFactorySupport createRepositoryFactory() {
         return getFactoryInstance(applicationContext);
     }
 
     protected RepositoryFactorySupport getFactoryInstance(ApplicationContext applicationContext) {
-        return new DocumentDbRepositoryFactory(operations, applicationContext);
+        return new DocumentDbRepositoryFactory(operations, asyncOperations, applicationContext);
     }
 
     @Override
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.support;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Mark the operations run by a repository method with the method name, as {@code Repository.method}, so their
+ * metrics can be told apart from the ones of other methods on the same collection.
+ */
+class RepositoryMethodMetricsInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+
+    RepositoryMethodMetricsInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final String previous = DocumentDbMetricsContext.setRepositoryMethod(
+                repositoryName + "." + invocation.getMethod().getName());
+
+        try {
+            return invocation.proceed();
+        } finally {
+            DocumentDbMetricsContext.setRepositoryMethod(previous);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.repository.support;
+
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.repository.AsyncDocumentDbRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class SimpleAsyncDocumentDbRepository<T, ID extends Serializable> implements AsyncDocumentDbRepository<T, ID> {
+
+    private final AsyncDocumentDbOperations asyncOperations;
+    private final DocumentDbEntityInformation<T, ID> entityInformation;
+
+    public SimpleAsyncDocumentDbRepository(DocumentDbEntityInformation<T, ID> metadata,
+                                           ApplicationContext applicationContext) {
+        this.asyncOperations = applicationContext.getBean(AsyncDocumentDbOperations.class);
+        this.entityInformation = metadata;
+    }
+
+    public SimpleAsyncDocumentDbRepository(DocumentDbEntityInformation<T, ID> metadata,
+                                           AsyncDocumentDbOperations asyncOperations) {
+        this.asyncOperations = asyncOperations;
+        this.entityInformation = metadata;
+    }
+
+    /**
+     * save entity without partition, the collection is created first if not exists
+     *
+     * @param entity to be saved
+     * @param <S>
+     * @return future of the saved entity
+     */
+    @Override
+    public <S extends T> CompletableFuture<S> save(S entity) {
+        Assert.notNull(entity, "entity must not be null");
+
+        final String collectionName = entityInformation.getCollectionName();
+        final PartitionKey partitionKey = createKey(entityInformation.getPartitionKeyFieldValue(entity));
+        final boolean isNew = entityInformation.isNew(entity);
+
+        return asyncOperations.createCollectionIfNotExists(entityInformation,
+                entityInformation.getPartitionKeyFieldName())
+                .thenCompose(collection -> isNew ? asyncOperations.insert(collectionName, entity, partitionKey)
+                        : asyncOperations.upsert(collectionName, entity, partitionKey).thenApply(v -> entity));
+    }
+
+    private PartitionKey createKey(String partitionKeyValue) {
+        if (StringUtils.isEmpty(partitionKeyValue)) {
+            return null;
+        }
+
+        return new PartitionKey(partitionKeyValue);
+    }
+
+    @Override
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        Assert.notNull(id, "id must not be null");
+
+        if (id instanceof String && !StringUtils.hasText((String) id)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return asyncOperations.findById(entityInformation.getCollectionName(), id, entityInformation.getJavaType())
+                .thenApply(Optional::ofNullable);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsById(ID id) {
+        Assert.notNull(id, "id should not be null");
+
+        if (id instanceof String && !StringUtils.hasText((String) id)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return asyncOperations.existsById(entityInformation.getCollectionName(), id, null);
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAll() {
+        return asyncOperations.findAll(entityInformation.getCollectionName(), entityInformation.getJavaType());
+    }
+
+    /**
+     * find entities based on id list from one collection across partitions
+     *
+     * @param ids
+     * @return future of found entities, in the order of given ids
+     */
+    @Override
+    public CompletableFuture<List<T>> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "Iterable ids should not be null");
+
+        final List<ID> validIds = new ArrayList<>();
+
+        for (final ID id : ids) {
+            Assert.notNull(id, "id must not be null");
+
+            if (!(id instanceof String) || StringUtils.hasText((String) id)) {
+                validIds.add(id);
+            }
+        }
+
+        if (validIds.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        return asyncOperations.findByIds(entityInformation.getCollectionName(), validIds,
+                entityInformation.getJavaType());
+    }
+
+    @Override
+    public CompletableFuture<Page<T>> findAll(Pageable pageable) {
+        Assert.notNull(pageable, "pageable should not be null");
+
+        return asyncOperations.findAll(pageable, entityInformation.getJavaType(),
+                entityInformation.getCollectionName());
+    }
+
+    @Override
+    public CompletableFuture<Long> count() {
+        return asyncOperations.count(entityInformation.getCollectionName());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(ID id) {
+        Assert.notNull(id, "id to be deleted should not be null");
+
+        return asyncOperations.deleteById(entityInformation.getCollectionName(), id, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(T entity) {
+        Assert.notNull(entity, "entity to be deleted should not be null");
+
+        return asyncOperations.deleteById(entityInformation.getCollectionName(), entityInformation.getId(entity),
+                createKey(entityInformation.getPartitionKeyFieldValue(entity)));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll() {
+        return asyncOperations.deleteAll(entityInformation.getCollectionName());
+    }
+}
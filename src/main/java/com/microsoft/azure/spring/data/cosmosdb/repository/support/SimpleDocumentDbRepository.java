@@ -8,16 +8,26 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 
 import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkWriteResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.exception.BulkWriteException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.DocumentDbRepository;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.StreamUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class SimpleDocumentDbRepository<T, ID extends Serializable> implements DocumentDbRepository<T, ID> {
 
@@ -47,7 +57,7 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     public <S extends T> S save(S entity) {
         Assert.notNull(entity, "entity must not be null");
 
-        // create collection if not exists
+        // create collection if not exists, only verified against database on the first save
         documentDbOperations.createCollectionIfNotExists(this.entityInformation,
                 this.entityInformation.getPartitionKeyFieldName());
 
@@ -73,25 +83,65 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     }
 
     /**
-     * batch save entities
+     * batch save entities, new entities are inserted and the others upserted by concurrent bulk writes
      *
      * @param entities
      * @param <S>
-     * @return
+     * @return saved entities, in the order of given entities
+     * @throws BulkWriteException if any entity failed to be saved, with the results of inserts and upserts
      */
     @Override
     public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
+        final List<S> newEntities = new ArrayList<>();
+        final List<S> existingEntities = new ArrayList<>();
+        final List<Boolean> isNew = new ArrayList<>();
+
+        for (final S entity : entities) {
+            Assert.notNull(entity, "entity must not be null");
+
+            final boolean entityIsNew = entityInformation.isNew(entity);
+
+            if (entityIsNew) {
+                newEntities.add(entity);
+            } else {
+                existingEntities.add(entity);
+            }
+
+            isNew.add(entityIsNew);
+        }
+
+        if (isNew.isEmpty()) {
+            return new ArrayList<>();
+        }
+
         // create collection if not exists
         documentDbOperations.createCollectionIfNotExists(this.entityInformation,
                 this.entityInformation.getPartitionKeyFieldName());
 
-        for (final S entity : entities) {
-            save(entity);
+        final BulkWriteResult<S> inserted = documentDbOperations.insertAll(entityInformation.getCollectionName(),
+                newEntities);
+        final BulkWriteResult<S> upserted = documentDbOperations.upsertAll(entityInformation.getCollectionName(),
+                existingEntities);
+
+        if (inserted.hasFailures() || upserted.hasFailures()) {
+            final List<BulkWriteResult<?>> results = Arrays.asList(inserted, upserted);
+            final int failureCount = inserted.getFailures().size() + upserted.getFailures().size();
+
+            throw new BulkWriteException(String.format("Failed to save %d of %d entities", failureCount,
+                    isNew.size()), results);
         }
 
-        return entities;
+        final Iterator<S> insertedIterator = inserted.getResults().iterator();
+        final Iterator<S> upsertedIterator = upserted.getResults().iterator();
+        final List<S> savedEntities = new ArrayList<>(isNew.size());
+
+        for (final Boolean entityIsNew : isNew) {
+            savedEntities.add(entityIsNew ? insertedIterator.next() : upsertedIterator.next());
+        }
+
+        return savedEntities;
     }
 
     /**
@@ -104,26 +154,60 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
         return documentDbOperations.findAll(entityInformation.getCollectionName(), entityInformation.getJavaType());
     }
 
+    @Override
+    public Stream<T> streamAll() {
+        return StreamUtils.createStreamFromIterator(documentDbOperations.streamAll(
+                entityInformation.getCollectionName(), entityInformation.getJavaType()));
+    }
+
     /**
-     * find entities based on id list from one collection without partitions
+     * find all entities from one collection ordered by database
      *
-     * @param ids
+     * @param sort
      * @return
      */
     @Override
+    public Iterable<T> findAll(Sort sort) {
+        Assert.notNull(sort, "sort should not be null");
+
+        return documentDbOperations.find(new Query().with(sort), entityInformation.getJavaType(),
+                entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        Assert.notNull(pageable, "pageable should not be null");
+
+        return documentDbOperations.findAll(pageable, entityInformation.getJavaType(),
+                entityInformation.getCollectionName());
+    }
+
+    /**
+     * find entities based on id list from one collection across partitions, by chunked IN queries
+     *
+     * @param ids
+     * @return found entities, in the order of given ids
+     */
+    @Override
     public List<T> findAllById(Iterable<ID> ids) {
         Assert.notNull(ids, "Iterable ids should not be null");
 
-        final List<T> entities = new ArrayList<T>();
+        final List<ID> validIds = new ArrayList<>();
 
         for (final ID id : ids) {
-            final Optional<T> entity = findById(id);
+            Assert.notNull(id, "id must not be null");
 
-            if (entity.isPresent()) {
-                entities.add(entity.get());
+            if (!(id instanceof String) || StringUtils.hasText((String) id)) {
+                validIds.add(id);
             }
         }
-        return entities;
+
+        if (validIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return documentDbOperations.findByIds(entityInformation.getCollectionName(), validIds,
+                entityInformation.getJavaType());
     }
 
     /**
@@ -153,7 +237,7 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
      */
     @Override
     public long count() {
-        return findAll().spliterator().getExactSizeIfKnown();
+        return documentDbOperations.count(entityInformation.getCollectionName());
     }
 
     /**
@@ -216,6 +300,10 @@ public class SimpleDocumentDbRepository<T, ID extends Serializable> implements D
     public boolean existsById(ID primaryKey) {
         Assert.notNull(primaryKey, "primaryKey should not be null");
 
-        return findById(primaryKey).isPresent();
+        if (primaryKey instanceof String && !StringUtils.hasText((String) primaryKey)) {
+            return false;
+        }
+
+        return documentDbOperations.existsById(entityInformation.getCollectionName(), primaryKey, null);
     }
 }
@@ -104,6 +104,7 @@ public class TestConstants {
     public static final String UPDATED_STREET = "updatedTestStreet";
     public static final String MESSAGE = "test pojo with date";
     public static final String NEW_MESSAGE = "new test message";
+    public static final String TITLE = "test title";
 
     public static final String CRITERIA_KEY = "CriteriaTestKey";
     public static final String CRITERIA_OBJECT = "CriteriaTestObject";
@@ -121,6 +122,8 @@ public class TestConstants {
     public static final String PROPERTY_STREET = "street";
 
     public static final String PROPERTY_MESSAGE = "message";
+    public static final String PROPERTY_TITLE = "title";
+    public static final String PROPERTY_LEVEL = "level";
     public static final String PROPERTY_DATE = "date";
 }
 
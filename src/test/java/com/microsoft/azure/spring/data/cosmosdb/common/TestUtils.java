@@ -5,14 +5,28 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.common;
 
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedResponse;
 import com.microsoft.azure.documentdb.JsonSerializable;
+import com.microsoft.azure.documentdb.QueryIterable;
+import com.microsoft.azure.documentdb.Resource;
+import com.microsoft.azure.documentdb.ResourceResponse;
+import com.microsoft.azure.documentdb.StoredProcedureResponse;
+import com.microsoft.azure.documentdb.internal.DocumentServiceResponse;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
 import org.springframework.util.Assert;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
 public class TestUtils {
     public static <T> List<T> toList(Iterable<T> iterable) {
         if (iterable != null) {
@@ -42,5 +56,100 @@ public class TestUtils {
             Assert.isTrue(includedPath.toString().equals(path), "unmatched policy path");
         }
     }
-}
 
+    /**
+     * Create the response of a point operation, whose constructor is not public in the SDK.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Resource> ResourceResponse<T> createResourceResponse(T resource, int statusCode) {
+        final DocumentServiceResponse response = createServiceResponse(statusCode, null, resource);
+
+        return newInstance(ResourceResponse.class, new Class<?>[]{DocumentServiceResponse.class, Class.class},
+                response, resource == null ? Resource.class : resource.getClass());
+    }
+
+    public static StoredProcedureResponse createStoredProcedureResponse(String body) {
+        final DocumentServiceResponse response = createServiceResponse(200, body, null);
+
+        return newInstance(StoredProcedureResponse.class, new Class<?>[]{DocumentServiceResponse.class}, response);
+    }
+
+    /**
+     * Create the response of a query answering the pages in order.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static <T extends Resource> FeedResponse<T> createFeedResponse(List<T>... pages) {
+        return createFeedResponse(null, pages);
+    }
+
+    /**
+     * Create the response of a query answering the pages in order, then throttled (429) by database.
+     */
+    @SafeVarargs
+    public static <T extends Resource> FeedResponse<T> createThrottledFeedResponse(List<T>... pages) {
+        return createFeedResponse(new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS), pages);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static <T extends Resource> FeedResponse<T> createFeedResponse(DocumentClientException failure,
+                                                                           List<T>... pages) {
+        final Iterator<List<T>> remaining = Arrays.asList(pages).iterator();
+        final List<T> all = new ArrayList<>();
+
+        Arrays.asList(pages).forEach(all::addAll);
+
+        final QueryIterable<T> iterable = mock(QueryIterable.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "fetchNextBlock":
+                    if (!remaining.hasNext() && failure != null) {
+                        throw failure;
+                    }
+                    return remaining.hasNext() ? remaining.next() : null;
+                case "toList":
+                    return all;
+                case "getResponseHeaders":
+                    return Collections.emptyMap();
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+
+        return newInstance(FeedResponse.class, new Class<?>[]{QueryIterable.class}, iterable);
+    }
+
+    /**
+     * Mock the service response by answers instead of stubs, so that tests are not failed by unused stubbing.
+     */
+    private static DocumentServiceResponse createServiceResponse(int statusCode, String body, Resource resource) {
+        return mock(DocumentServiceResponse.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getStatusCode":
+                    return statusCode;
+                case "getResponseHeaders":
+                    return Collections.singletonMap(HttpConstants.HttpHeaders.REQUEST_CHARGE, "1.0");
+                case "getReponseBodyAsString":
+                    return body;
+                case "getResource":
+                    if (resource != null || body == null) {
+                        return resource;
+                    }
+                    return ((Class<?>) invocation.getArgument(0)).getConstructor(String.class).newInstance(body);
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private static <T> T newInstance(Class<T> type, Class<?>[] parameterTypes, Object... arguments) {
+        try {
+            final Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+
+            return constructor.newInstance(arguments);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -11,6 +11,8 @@ import com.microsoft.azure.documentdb.DocumentClient;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate;
 import org.assertj.core.api.Assertions;
 import org.junit.Rule;
 import org.junit.Test;
@@ -37,6 +39,15 @@ public class AbstractDocumentDbConfiguratinUnitTest {
         Assertions.assertThat(context.getBean(DocumentDbFactory.class)).isNotNull();
     }
 
+    @Test
+    public void containsAsyncDocumentDbTemplate() {
+        final AbstractApplicationContext context = new AnnotationConfigApplicationContext(
+                TestDocumentDbConfiguration.class);
+
+        Assertions.assertThat(context.getBean(AsyncDocumentDbTemplate.class).getOperations())
+                .isSameAs(context.getBean(DocumentDbTemplate.class));
+    }
+
     @Test(expected = NoSuchBeanDefinitionException.class)
     public void defaultObjectMapperBeanNotExists() {
         final AbstractApplicationContext context = new AnnotationConfigApplicationContext(
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbMetricsContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncDocumentDbTemplateUnitTest {
+    private static final String COLLECTION = "collection";
+    private static final String ID_1 = "id-1";
+    private static final String ID_2 = "id-2";
+
+    @Mock
+    DocumentDbOperations operations;
+
+    private ExecutorService executor;
+    private AsyncDocumentDbTemplate asyncTemplate;
+
+    @Before
+    public void setUp() {
+        this.executor = Executors.newFixedThreadPool(2);
+        this.asyncTemplate = new AsyncDocumentDbTemplate(operations, executor);
+    }
+
+    @After
+    public void cleanup() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void composeIndependentLookups() {
+        final Person first = new Person(ID_1, null, null, null, null);
+        final Person second = new Person(ID_2, null, null, null, null);
+        when(operations.findById(COLLECTION, ID_1, Person.class)).thenReturn(first);
+        when(operations.findById(COLLECTION, ID_2, Person.class)).thenReturn(second);
+
+        final CompletableFuture<Integer> found = asyncTemplate.findById(COLLECTION, ID_1, Person.class)
+                .thenCombine(asyncTemplate.findById(COLLECTION, ID_2, Person.class),
+                        (p1, p2) -> (p1 == first ? 1 : 0) + (p2 == second ? 1 : 0));
+
+        assertThat(found.join()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedOperationCompletesExceptionally() {
+        final DocumentDBAccessException failure = new DocumentDBAccessException("failure");
+        when(operations.findById(COLLECTION, ID_1, Person.class)).thenThrow(failure);
+
+        final CompletableFuture<Person> future = asyncTemplate.findById(COLLECTION, ID_1, Person.class);
+
+        assertThat(future.handle((person, e) -> e).join()).isSameAs(failure);
+
+        try {
+            future.join();
+            fail("join of failed operation should throw");
+        } catch (CompletionException e) {
+            assertThat(e.getCause()).isSameAs(failure);
+        }
+
+        assertThat(future.isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void defaultExecutorRunsOperations() {
+        final AsyncDocumentDbTemplate template = new AsyncDocumentDbTemplate(operations);
+        when(operations.count(null, Person.class, COLLECTION)).thenReturn(3L);
+
+        try {
+            assertThat(template.count(null, Person.class, COLLECTION).join()).isEqualTo(3L);
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void writesWithoutResultCarryRepositoryMethod() {
+        final List<String> repositoryMethods = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> repositoryMethods.add(DocumentDbMetricsContext.getRepositoryMethod()))
+                .when(operations).upsert(any(), any(), any());
+        doAnswer(invocation -> repositoryMethods.add(DocumentDbMetricsContext.getRepositoryMethod()))
+                .when(operations).deleteById(any(), any(), any());
+        doAnswer(invocation -> repositoryMethods.add(DocumentDbMetricsContext.getRepositoryMethod()))
+                .when(operations).deleteAll(any());
+
+        final String previous = DocumentDbMetricsContext.setRepositoryMethod("PersonRepository.save");
+
+        try {
+            CompletableFuture.allOf(asyncTemplate.upsert(COLLECTION, new Person(ID_1, null, null, null, null), null),
+                    asyncTemplate.deleteById(COLLECTION, ID_1, null),
+                    asyncTemplate.deleteAll(COLLECTION)).join();
+        } finally {
+            DocumentDbMetricsContext.setRepositoryMethod(previous);
+        }
+
+        assertThat(repositoryMethods).containsOnly("PersonRepository.save").hasSize(3);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkWriteExecutorUnitTest {
+    private static final int ITEM_COUNT = 50;
+    private static final int PARTITION_COUNT = 3;
+    private static final int FAILED_ITEM = 7;
+
+    private final List<Integer> items = IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+    private ExecutorService workers;
+
+    @Before
+    public void setUp() {
+        this.workers = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void cleanup() {
+        this.workers.shutdownNow();
+    }
+
+    @Test
+    public void resultsKeepItemOrder() {
+        final BulkWriteExecutor executor = new BulkWriteExecutor(workers, 4, 5, 0);
+
+        final BulkWriteResult<Integer> result = executor.execute(items, item -> item % PARTITION_COUNT,
+                item -> item * 2);
+
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.getResults()).isEqualTo(items.stream().map(i -> i * 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void itemsOfOnePartitionAreWrittenSeriallyWithinBatch() {
+        final BulkWriteExecutor executor = new BulkWriteExecutor(workers, 4, ITEM_COUNT, 0);
+        final Map<Integer, List<Integer>> written = new ConcurrentHashMap<>();
+
+        executor.execute(items, item -> item % PARTITION_COUNT, item -> {
+            written.computeIfAbsent(item % PARTITION_COUNT, k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(item);
+            return item;
+        });
+
+        assertThat(written).hasSize(PARTITION_COUNT);
+        written.values().forEach(partition -> assertThat(partition).isSorted());
+    }
+
+    @Test
+    public void failuresAreReportedPerItem() {
+        final BulkWriteExecutor executor = new BulkWriteExecutor(workers, 2, 10, 0);
+
+        final BulkWriteResult<Integer> result = executor.execute(items, item -> null, item -> {
+            if (item == FAILED_ITEM) {
+                throw new DocumentDBAccessException("write failure");
+            }
+            return item;
+        });
+
+        assertThat(result.getResults()).hasSize(ITEM_COUNT - 1);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getIndex()).isEqualTo(FAILED_ITEM);
+        assertThat(result.getFailures().get(0).getItem()).isEqualTo(FAILED_ITEM);
+    }
+
+    @Test
+    public void throttledWriteIsRetried() {
+        final BulkWriteExecutor executor = new BulkWriteExecutor(workers, 2, 10, 1);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final BulkWriteResult<Integer> result = executor.execute(items, item -> null, item -> {
+            if (item == FAILED_ITEM && attempts.getAndIncrement() == 0) {
+                throw new DocumentDBAccessException("throttled",
+                        new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS));
+            }
+            return item;
+        });
+
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentWritesAreBoundedByParallelismOnSharedExecutor() {
+        final BulkWriteExecutor executor = new BulkWriteExecutor(workers, 2, 1, 0);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final BulkWriteResult<Integer> result = executor.execute(items, item -> item, item -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.yield();
+            running.decrementAndGet();
+            return item;
+        });
+
+        assertThat(result.getResults()).isEqualTo(items);
+        assertThat(maxRunning.get()).isBetween(1, 2);
+        assertThat(workers.isShutdown()).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentCollectionCacheUnitTest {
+    private static final String COLLECTION_NAME = "collection";
+    private static final String OTHER_DB_NAME = "other_database";
+
+    @Test
+    public void loadOnlyOnceWithinTimeToLive() {
+        final DocumentCollectionCache cache = new DocumentCollectionCache(60);
+        final AtomicInteger loadCount = new AtomicInteger();
+        final DocumentCollection collection = new DocumentCollection();
+
+        for (int i = 0; i < 3; i++) {
+            final DocumentCollection cached = cache.get(TestConstants.DB_NAME, COLLECTION_NAME, () -> {
+                loadCount.incrementAndGet();
+                return collection;
+            });
+
+            assertThat(cached).isSameAs(collection);
+        }
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cache.get(OTHER_DB_NAME, COLLECTION_NAME)).isNull();
+    }
+
+    @Test
+    public void invalidateRemovesEntry() {
+        final DocumentCollectionCache cache = new DocumentCollectionCache(60);
+        cache.put(TestConstants.DB_NAME, COLLECTION_NAME, new DocumentCollection());
+
+        cache.invalidate(TestConstants.DB_NAME, COLLECTION_NAME);
+
+        assertThat(cache.get(TestConstants.DB_NAME, COLLECTION_NAME)).isNull();
+    }
+
+    @Test
+    public void zeroTimeToLiveDisablesCache() {
+        final DocumentCollectionCache cache = new DocumentCollectionCache(0);
+        cache.put(TestConstants.DB_NAME, COLLECTION_NAME, new DocumentCollection());
+
+        assertThat(cache.get(TestConstants.DB_NAME, COLLECTION_NAME)).isNull();
+    }
+}
@@ -6,18 +6,71 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
+import com.microsoft.azure.documentdb.AccessConditionType;
+import com.microsoft.azure.documentdb.Database;
+import com.microsoft.azure.documentdb.Document;
 import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.DocumentCollection;
+import com.microsoft.azure.documentdb.FeedOptions;
+import com.microsoft.azure.documentdb.FeedResponse;
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.RequestOptions;
+import com.microsoft.azure.documentdb.ResourceResponse;
+import com.microsoft.azure.documentdb.SqlParameter;
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
 import com.microsoft.azure.spring.data.cosmosdb.DocumentDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Currency;
+import com.microsoft.azure.spring.data.cosmosdb.domain.ExchangeRate;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Role;
+import com.microsoft.azure.spring.data.cosmosdb.domain.VersionedMemo;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.spring.data.cosmosdb.common.TestUtils.createFeedResponse;
+import static com.microsoft.azure.spring.data.cosmosdb.common.TestUtils.createResourceResponse;
+import static com.microsoft.azure.spring.data.cosmosdb.common.TestUtils.createStoredProcedureResponse;
+import static com.microsoft.azure.spring.data.cosmosdb.common.TestUtils.createThrottledFeedResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DocumentDbTemplateUnitTest {
+    private static final String PERSON = "Person";
+    private static final String CURRENCY = "Currency";
+    private static final String EXCHANGE_RATE = "ExchangeRate";
 
     DocumentDbTemplate dbTemplate;
 
@@ -27,6 +80,21 @@ public class DocumentDbTemplateUnitTest {
     @Mock
     MappingDocumentDbConverter dbConverter;
 
+    /**
+     * Answer the lookup of the collection, which queries through its self link.
+     */
+    private void mockCollectionLookup(String collectionName) {
+        final DocumentCollection collection = new DocumentCollection(String.format(
+                "{\"id\": \"%s\", \"_self\": \"dbs/db/colls/%s/\"}", collectionName, collectionName));
+
+        when(documentClient.queryCollections(anyString(), any(SqlQuerySpec.class), any()))
+                .thenAnswer(invocation -> createFeedResponse(Collections.singletonList(collection)));
+    }
+
+    private static Document createDocument(String json, Object... arguments) {
+        return new Document(String.format(json, arguments));
+    }
+
     @Before
     public void setUp() {
         this.dbTemplate = new DocumentDbTemplate(new DocumentDbFactory(documentClient), dbConverter,
@@ -37,4 +105,409 @@ public class DocumentDbTemplateUnitTest {
     public void rejectNullDbFactory() throws Exception {
         new DocumentDbTemplate(documentClient, null, TestConstants.DB_NAME);
     }
+
+    @Test
+    public void throttledOperationIsRetried() throws Exception {
+        final DocumentClientException throttled =
+                new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+        when(documentClient.deleteDocument(anyString(), any())).thenThrow(throttled);
+
+        dbTemplate.setMaxThrottleRetries(2);
+
+        try {
+            dbTemplate.deleteById(TestConstants.DB_NAME, TestConstants.ID, null);
+            fail("throttled operation should fail once retries are exhausted");
+        } catch (DocumentDBAccessException e) {
+            assertThat(e.getCause()).isSameAs(throttled);
+        }
+
+        verify(documentClient, times(3)).deleteDocument(anyString(), any());
+    }
+
+    @Test
+    public void throttledQueryIsRunAgainFromFirstPage() throws Exception {
+        final List<Document> first = Collections.singletonList(createDocument("{\"id\": \"p1\"}"));
+        final List<Document> second = Collections.singletonList(createDocument("{\"id\": \"p2\"}"));
+        final FeedResponse<Document> throttled = createThrottledFeedResponse(first);
+        final FeedResponse<Document> complete = createFeedResponse(first, second);
+
+        mockCollectionLookup(PERSON);
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(throttled, complete);
+        when(dbConverter.read(eq(Person.class), any())).thenAnswer(invocation ->
+                new Person(invocation.<Document>getArgument(1).getId(), null, null, null, null));
+
+        final List<Person> persons = dbTemplate.findAll(PERSON, Person.class);
+
+        assertThat(persons).extracting(Person::getId).containsExactly("p1", "p2");
+        verify(documentClient, times(2)).queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class));
+    }
+
+    @Test
+    public void throttledPageOfStreamIsNotRunAgain() throws Exception {
+        final List<Document> first = Collections.singletonList(createDocument("{\"id\": \"p1\"}"));
+        final FeedResponse<Document> throttled = createThrottledFeedResponse(first);
+
+        mockCollectionLookup(PERSON);
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(throttled);
+        when(dbConverter.read(eq(Person.class), any())).thenAnswer(invocation ->
+                new Person(invocation.<Document>getArgument(1).getId(), null, null, null, null));
+
+        final CloseableIterator<Person> persons = dbTemplate.streamAll(PERSON, Person.class);
+
+        assertThat(persons.next().getId()).isEqualTo("p1");
+
+        try {
+            persons.hasNext();
+            fail("throttled page of a stream should fail");
+        } catch (DocumentDBAccessException e) {
+            assertThat(e.getCause()).isInstanceOf(DocumentClientException.class);
+        }
+
+        verify(documentClient, times(1)).queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class));
+    }
+
+    @Test
+    public void upsertIsConditionalOnVersion() throws Exception {
+        final VersionedMemo memo = new VersionedMemo("1", "message", "\"1\"");
+        final ResourceResponse<Document> saved =
+                createResourceResponse(createDocument("{\"id\": \"1\", \"_etag\": \"\\\"2\\\"\"}"), 200);
+        final ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+
+        when(documentClient.upsertDocument(anyString(), any(), any(), anyBoolean())).thenReturn(saved);
+        doAnswer(invocation -> {
+            final Document document = invocation.getArgument(1);
+            document.setId(memo.getId());
+            document.set("_etag", memo.getVersion());
+            return null;
+        }).when(dbConverter).write(any(), any());
+
+        dbTemplate.upsert(TestConstants.DB_NAME, memo, null);
+
+        verify(documentClient).upsertDocument(anyString(), any(), options.capture(), anyBoolean());
+        assertThat(options.getValue().getAccessCondition().getType()).isEqualTo(AccessConditionType.IfMatch);
+        assertThat(options.getValue().getAccessCondition().getCondition()).isEqualTo("\"1\"");
+        verify(dbConverter).updateVersion(memo, "\"2\"");
+    }
+
+    @Test
+    public void preconditionFailureIsOptimisticLockingFailure() throws Exception {
+        final DocumentClientException modified = new DocumentClientException(412);
+        when(documentClient.upsertDocument(anyString(), any(), any(), anyBoolean())).thenThrow(modified);
+        doAnswer(invocation -> {
+            invocation.<Document>getArgument(1).set("_etag", "\"1\"");
+            return null;
+        }).when(dbConverter).write(any(), any());
+
+        try {
+            dbTemplate.upsert(TestConstants.DB_NAME, new VersionedMemo("1", "message", "\"1\""), null);
+            fail("upsert of a modified document should fail");
+        } catch (OptimisticLockingFailureException e) {
+            assertThat(e.getCause()).isSameAs(modified);
+        }
+
+        verify(dbConverter, never()).updateVersion(any(), any());
+    }
+
+    @Test
+    public void missingUpdateProcedureIsRegistered() throws Exception {
+        final DocumentClientException failed = new DocumentClientException(HttpConstants.StatusCodes.BADREQUEST);
+        when(documentClient.executeStoredProcedure(anyString(), any(), any()))
+                .thenThrow(new DocumentClientException(HttpConstants.StatusCodes.NOTFOUND))
+                .thenThrow(failed);
+        when(documentClient.createStoredProcedure(anyString(), any(), any()))
+                .thenThrow(new DocumentClientException(409));
+
+        try {
+            dbTemplate.updateById(TestConstants.DB_NAME, TestConstants.ID, null, Update.update("firstName", "a"),
+                    Person.class);
+            fail("update should fail as the procedure fails");
+        } catch (DocumentDBAccessException e) {
+            assertThat(e.getCause()).isSameAs(failed);
+        }
+
+        verify(documentClient).createStoredProcedure(anyString(), any(), any());
+        verify(documentClient, times(2)).executeStoredProcedure(anyString(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void updateResumesAfterPartialRunAndThrottlingWithoutUpdatingTwice() throws Exception {
+        final List<Document> matched = new ArrayList<>();
+
+        for (int i = 0; i < 150; i++) {
+            matched.add(createDocument("{\"id\": \"a%d\", \"name\": \"a\"}", i));
+        }
+        matched.add(createDocument("{\"id\": \"b0\", \"name\": \"b\"}"));
+
+        mockCollectionLookup(TestConstants.ROLE_COLLECTION_NAME);
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(createFeedResponse(matched.subList(0, 100), matched.subList(100, 151)));
+
+        final List<String> calls = new ArrayList<>();
+        final List<String> updatedIds = new ArrayList<>();
+        final int[] processedPerCall = {60, -1, 90, 1};
+
+        when(documentClient.executeStoredProcedure(anyString(), any(RequestOptions.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    final RequestOptions options = invocation.getArgument(1);
+                    final List<String> ids = (List<String>) ((Object[]) invocation.getArgument(2))[0];
+                    final int processed = processedPerCall[calls.size()];
+
+                    calls.add(options.getPartitionKey() + " " + ids.get(0) + ".." + ids.get(ids.size() - 1));
+
+                    if (processed < 0) {
+                        throw new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+                    }
+
+                    final List<String> documents = ids.subList(0, processed).stream()
+                            .map(id -> "{\"id\": \"" + id + "\"}").collect(Collectors.toList());
+
+                    updatedIds.addAll(ids.subList(0, processed));
+
+                    return createStoredProcedureResponse(String.format("{\"processed\": %d, \"documents\": [%s]}",
+                            processed, String.join(", ", documents)));
+                });
+
+        final List<Role> updated = dbTemplate.update(new Query(Criteria.where("level").is("high")),
+                new Update().inc("count", 1), Role.class, TestConstants.ROLE_COLLECTION_NAME);
+
+        assertThat(calls).containsExactly("[\"a\"] a0..a99", "[\"a\"] a60..a149", "[\"a\"] a60..a149",
+                "[\"b\"] b0..b0");
+        assertThat(updatedIds).hasSize(151);
+        assertThat(new HashSet<>(updatedIds)).hasSize(151);
+        assertThat(updated).hasSize(151);
+        verify(documentClient).queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class));
+    }
+
+    @Test
+    public void updateByIdWithPartitionKeyTakesOneRequest() throws Exception {
+        final Set<Object> sentIds = new HashSet<>();
+
+        when(documentClient.executeStoredProcedure(anyString(), any(RequestOptions.class), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    sentIds.add(((Object[]) invocation.getArgument(2))[0]);
+                    return createStoredProcedureResponse("{\"processed\": 1, \"documents\": []}");
+                });
+
+        assertThat(dbTemplate.updateById(TestConstants.ROLE_COLLECTION_NAME, "r1",
+                new PartitionKey("a"), Update.update("level", "low"), Role.class))
+                .isNull();
+
+        assertThat(sentIds).containsExactly(Collections.singletonList("r1"));
+        verify(documentClient, times(1)).executeStoredProcedure(anyString(), any(RequestOptions.class),
+                any(Object[].class));
+    }
+
+    @Test
+    public void cachedEntityIsServedWithoutReadingDocument() throws Exception {
+        final ResourceResponse<Document> response =
+                createResourceResponse(createDocument("{\"id\": \"eur\", \"code\": \"EUR\"}"), 200);
+        when(documentClient.readDocument(anyString(), any())).thenReturn(response);
+        when(dbConverter.read(eq(Currency.class), any())).thenReturn(new Currency("eur", "EUR"));
+
+        assertThat(dbTemplate.findById(CURRENCY, "eur", Currency.class).getCode()).isEqualTo("EUR");
+        assertThat(dbTemplate.findById(CURRENCY, "eur", Currency.class).getCode()).isEqualTo("EUR");
+
+        verify(documentClient, times(1)).readDocument(anyString(), any());
+        assertThat(dbTemplate.getEntityCache(CURRENCY).getStatistics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void everyWriteInvalidatesCachedEntity() throws Exception {
+        final Document document = createDocument("{\"id\": \"eur\", \"_self\": \"dbs/db/colls/c/docs/eur\"}");
+        final ResourceResponse<Document> response = createResourceResponse(document, 200);
+        final ResourceResponse<Document> deleted = createResourceResponse(null, 204);
+        final FeedResponse<Document> matched = createFeedResponse(Collections.singletonList(document));
+
+        when(documentClient.readDocument(anyString(), any())).thenReturn(response);
+        when(documentClient.createDocument(anyString(), any(), any(), anyBoolean())).thenReturn(response);
+        when(documentClient.upsertDocument(anyString(), any(), any(), anyBoolean())).thenReturn(response);
+        when(documentClient.deleteDocument(anyString(), any())).thenReturn(deleted);
+        when(documentClient.deleteCollection(anyString(), any()))
+                .thenThrow(new DocumentClientException(HttpConstants.StatusCodes.NOTFOUND));
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenReturn(matched);
+        mockCollectionLookup(CURRENCY);
+        doAnswer(invocation -> {
+            invocation.<Document>getArgument(1).setId(invocation.<Currency>getArgument(0).getId());
+            return null;
+        }).when(dbConverter).write(any(), any());
+
+        final List<Runnable> writes = new ArrayList<>();
+        writes.add(() -> dbTemplate.insert(CURRENCY, new Currency("eur", "EUR"), null));
+        writes.add(() -> dbTemplate.upsert(CURRENCY, new Currency("eur", "EUR"), null));
+        writes.add(() -> dbTemplate.deleteById(CURRENCY, "eur", null));
+        writes.add(() -> dbTemplate.delete(new Query(Criteria.where("code").is("EUR")), Currency.class, CURRENCY));
+        writes.add(() -> dbTemplate.deleteAll(CURRENCY));
+
+        dbTemplate.findById(CURRENCY, "eur", Currency.class);
+
+        for (int i = 0; i < writes.size(); i++) {
+            dbTemplate.findById(CURRENCY, "eur", Currency.class);
+            verify(documentClient, times(i + 1)).readDocument(anyString(), any());
+
+            writes.get(i).run();
+
+            dbTemplate.findById(CURRENCY, "eur", Currency.class);
+            verify(documentClient, times(i + 2)).readDocument(anyString(), any());
+        }
+    }
+
+    private List<RequestOptions> readExchangeRateTwice(ExchangeRate first, ExchangeRate second)
+            throws DocumentClientException {
+        final ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+
+        assertThat(dbTemplate.findById(EXCHANGE_RATE, "eur", ExchangeRate.class)).isSameAs(first);
+        assertThat(dbTemplate.findById(EXCHANGE_RATE, "eur", ExchangeRate.class)).isSameAs(second);
+
+        verify(documentClient, times(2)).readDocument(anyString(), options.capture());
+
+        return options.getAllValues();
+    }
+
+    @Test
+    public void unchangedDocumentIsServedFromExpiredEntity() throws Exception {
+        final ExchangeRate rate = new ExchangeRate("eur", 1.1);
+        final ResourceResponse<Document> read = createResourceResponse(createDocument("{\"id\": \"eur\", "
+                + "\"_etag\": \"\\\"1\\\"\"}"), 200);
+        final ResourceResponse<Document> notModified = createResourceResponse(null, 304);
+
+        when(documentClient.readDocument(anyString(), any())).thenReturn(read, notModified);
+        when(dbConverter.read(eq(ExchangeRate.class), any())).thenReturn(rate);
+
+        final List<RequestOptions> options = readExchangeRateTwice(rate, rate);
+
+        assertThat(options.get(0).getAccessCondition()).isNull();
+        assertThat(options.get(1).getAccessCondition().getType()).isEqualTo(AccessConditionType.IfNoneMatch);
+        assertThat(options.get(1).getAccessCondition().getCondition()).isEqualTo("\"1\"");
+        verify(dbConverter, times(1)).read(eq(ExchangeRate.class), any());
+    }
+
+    @Test
+    public void notModifiedExceptionIsServedFromExpiredEntity() throws Exception {
+        final ExchangeRate rate = new ExchangeRate("eur", 1.1);
+        final ResourceResponse<Document> read = createResourceResponse(createDocument("{\"id\": \"eur\", "
+                + "\"_etag\": \"\\\"1\\\"\"}"), 200);
+
+        when(documentClient.readDocument(anyString(), any())).thenReturn(read)
+                .thenThrow(new DocumentClientException(304));
+        when(dbConverter.read(eq(ExchangeRate.class), any())).thenReturn(rate);
+
+        final List<RequestOptions> options = readExchangeRateTwice(rate, rate);
+
+        assertThat(options.get(1).getAccessCondition().getCondition()).isEqualTo("\"1\"");
+        verify(dbConverter, times(1)).read(eq(ExchangeRate.class), any());
+    }
+
+    @Test
+    public void changedDocumentIsReadAndRevalidatedByNewETag() throws Exception {
+        final ExchangeRate rate = new ExchangeRate("eur", 1.1);
+        final ExchangeRate changed = new ExchangeRate("eur", 1.2);
+        final ResourceResponse<Document> read = createResourceResponse(createDocument("{\"id\": \"eur\", "
+                + "\"_etag\": \"\\\"1\\\"\"}"), 200);
+        final ResourceResponse<Document> readChanged = createResourceResponse(createDocument("{\"id\": \"eur\", "
+                + "\"_etag\": \"\\\"2\\\"\"}"), 200);
+        final ResourceResponse<Document> notModified = createResourceResponse(null, 304);
+
+        when(documentClient.readDocument(anyString(), any())).thenReturn(read, readChanged, notModified);
+        when(dbConverter.read(eq(ExchangeRate.class), any())).thenReturn(rate, changed);
+
+        final List<RequestOptions> options = readExchangeRateTwice(rate, changed);
+
+        assertThat(options.get(1).getAccessCondition().getCondition()).isEqualTo("\"1\"");
+        assertThat(dbTemplate.findById(EXCHANGE_RATE, "eur", ExchangeRate.class)).isSameAs(changed);
+
+        final ArgumentCaptor<RequestOptions> revalidated = ArgumentCaptor.forClass(RequestOptions.class);
+
+        verify(documentClient, times(3)).readDocument(anyString(), revalidated.capture());
+        assertThat(revalidated.getValue().getAccessCondition().getCondition()).isEqualTo("\"2\"");
+        verify(dbConverter, times(2)).read(eq(ExchangeRate.class), any());
+    }
+
+    @Test
+    public void findByIdsQueriesDistinctIdsInChunksAndKeepsOrder() throws Exception {
+        final List<String> ids = new ArrayList<>();
+
+        for (int i = 0; i < 250; i++) {
+            ids.add("p" + i);
+            if (i % 10 == 0) {
+                ids.add("p" + i / 2);
+            }
+        }
+
+        mockCollectionLookup(PERSON);
+        when(documentClient.queryDocuments(anyString(), any(SqlQuerySpec.class), any(FeedOptions.class)))
+                .thenAnswer(invocation -> {
+                    final List<Document> found = new ArrayList<>();
+
+                    for (final SqlParameter parameter : invocation.<SqlQuerySpec>getArgument(1).getParameters()) {
+                        final String id = parameter.getString("value");
+
+                        if (Integer.parseInt(id.substring(1)) % 7 != 0) {
+                            found.add(0, createDocument("{\"id\": \"%s\"}", id));
+                        }
+                    }
+
+                    return createFeedResponse(found);
+                });
+        when(dbConverter.read(eq(Person.class), any())).thenAnswer(invocation ->
+                new Person(invocation.<Document>getArgument(1).getId(), null, null, null, null));
+
+        final List<Person> persons = dbTemplate.findByIds(PERSON, ids, Person.class);
+
+        final ArgumentCaptor<SqlQuerySpec> queries = ArgumentCaptor.forClass(SqlQuerySpec.class);
+        verify(documentClient, times(3)).queryDocuments(anyString(), queries.capture(), any(FeedOptions.class));
+
+        final List<String> queried = new ArrayList<>();
+
+        assertThat(queries.getAllValues()).extracting(query -> query.getParameters().size())
+                .containsExactlyInAnyOrder(100, 100, 50);
+
+        for (final SqlQuerySpec query : queries.getAllValues()) {
+            for (final SqlParameter parameter : query.getParameters()) {
+                queried.add(parameter.getString("value"));
+            }
+        }
+
+        assertThat(queried).doesNotHaveDuplicates().hasSameElementsAs(new HashSet<>(ids));
+        assertThat(persons).extracting(Person::getId).containsExactlyElementsOf(ids.stream().distinct()
+                .filter(id -> Integer.parseInt(id.substring(1)) % 7 != 0).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void collectionIsLookedUpAgainOnlyOnceItIsGone() throws Exception {
+        final DocumentDbEntityInformation<Person, String> information =
+                new DocumentDbEntityInformation<>(Person.class);
+        final FeedResponse<Database> databases =
+                createFeedResponse(Collections.singletonList(new Database("{\"id\": \"db\"}")));
+
+        when(documentClient.queryDatabases(any(SqlQuerySpec.class), any())).thenReturn(databases);
+        when(documentClient.upsertDocument(anyString(), any(), any(), anyBoolean()))
+                .thenThrow(new DocumentClientException(HttpConstants.StatusCodes.NOTFOUND))
+                .thenThrow(new DocumentClientException(HttpConstants.StatusCodes.GONE));
+        mockCollectionLookup(information.getCollectionName());
+
+        dbTemplate.createCollectionIfNotExists(information, null);
+        dbTemplate.createCollectionIfNotExists(information, null);
+
+        verify(documentClient, times(1)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+
+        for (int gone = 1; gone <= 2; gone++) {
+            try {
+                dbTemplate.upsert(information.getCollectionName(), createDocument("{\"id\": \"1\"}"), null);
+                fail("upsert to a collection gone should fail");
+            } catch (DocumentDBAccessException e) {
+                assertThat(e.getCause()).isInstanceOf(DocumentClientException.class);
+            }
+
+            dbTemplate.createCollectionIfNotExists(information, null);
+            dbTemplate.createCollectionIfNotExists(information, null);
+
+            verify(documentClient, times(1 + gone)).queryCollections(anyString(), any(SqlQuerySpec.class), any());
+        }
+
+        verify(documentClient, times(1)).queryDatabases(any(SqlQuerySpec.class), any());
+    }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentQueryIteratorUnitTest {
+    private static final String ID_1 = "id_1";
+    private static final String ID_2 = "id_2";
+
+    private final List<Document> documents = Arrays.asList(createDocument(ID_1), createDocument(ID_2));
+
+    private static Document createDocument(String id) {
+        final Document document = new Document();
+        document.setId(id);
+
+        return document;
+    }
+
+    @Test
+    public void mapDocumentsOnlyWhenIterated() {
+        final AtomicInteger readCount = new AtomicInteger();
+        final DocumentQueryIterator<String> iterator = new DocumentQueryIterator<>(documents.iterator(),
+                document -> {
+                    readCount.incrementAndGet();
+                    return document.getId();
+                });
+
+        assertThat(readCount.get()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(ID_1);
+        assertThat(readCount.get()).isEqualTo(1);
+        assertThat(iterator.next()).isEqualTo(ID_2);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void closeStopsIteration() {
+        final Iterator<Document> source = documents.iterator();
+        final DocumentQueryIterator<String> iterator = new DocumentQueryIterator<>(source, Document::getId);
+
+        iterator.next();
+        iterator.close();
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(source.hasNext()).isTrue();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void nextAfterCloseThrows() {
+        final DocumentQueryIterator<String> iterator = new DocumentQueryIterator<>(documents.iterator(),
+                Document::getId);
+
+        iterator.close();
+        iterator.next();
+    }
+
+    @Test
+    public void finishRunsOnceWhenConsumed() {
+        final AtomicInteger finishCount = new AtomicInteger();
+        final DocumentQueryIterator<String> iterator = new DocumentQueryIterator<>(documents.iterator(),
+                Document::getId, finishCount::incrementAndGet);
+
+        iterator.next();
+        assertThat(finishCount.get()).isEqualTo(0);
+
+        iterator.next();
+        assertThat(iterator.hasNext()).isFalse();
+        iterator.close();
+
+        assertThat(finishCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void finishRunsWhenClosedEarly() {
+        final AtomicInteger finishCount = new AtomicInteger();
+        final DocumentQueryIterator<String> iterator = new DocumentQueryIterator<>(documents.iterator(),
+                Document::getId, finishCount::incrementAndGet);
+
+        iterator.next();
+        iterator.close();
+
+        assertThat(finishCount.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.Document;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentReadCacheUnitTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    private static Document createDocument(String id) {
+        final Document document = new Document();
+        document.setId(id);
+        return document;
+    }
+
+    private static void load(DocumentReadCache cache, String id) {
+        cache.put(id, createDocument(id), cache.startLoad());
+    }
+
+    @Test
+    public void cachedDocumentIsServedUntilExpired() {
+        final DocumentReadCache cache = new DocumentReadCache(10, 60, false, clock::get);
+
+        load(cache, "a");
+
+        assertThat(cache.get("a").getId()).isEqualTo("a");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    public void frequentlyReadDocumentSurvivesScanOfNewDocuments() {
+        final DocumentReadCache cache = new DocumentReadCache(5, 60, false, clock::get);
+
+        load(cache, "hot");
+        cache.get("hot");
+
+        for (int i = 0; i < 20; i++) {
+            load(cache, "cold" + i);
+        }
+
+        assertThat(cache.get("hot")).isNotNull();
+        assertThat(cache.get("cold0")).isNull();
+        assertThat(cache.get("cold19")).isNotNull();
+        assertThat(cache.getStatistics().getSize()).isEqualTo(5);
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(16);
+    }
+
+    @Test
+    public void documentLoadedDuringInvalidationIsNotCached() {
+        final DocumentReadCache cache = new DocumentReadCache(10, 60, false, clock::get);
+
+        load(cache, "a");
+
+        final long loadToken = cache.startLoad();
+        cache.invalidate("a");
+        cache.put("a", createDocument("a"), loadToken);
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    public void hitsAndMissesAreCounted() {
+        final DocumentReadCache cache = new DocumentReadCache(10, 60, false, clock::get);
+
+        load(cache, "a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.invalidateAll();
+        cache.get("a");
+
+        final DocumentReadCache.Statistics statistics = cache.getStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(2);
+        assertThat(statistics.getMissCount()).isEqualTo(2);
+        assertThat(statistics.getHitRate()).isEqualTo(0.5);
+        assertThat(statistics.getSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void expiredDocumentIsKeptForRevalidation() {
+        final DocumentReadCache cache = new DocumentReadCache(10, 60, true, clock::get);
+        final Object entity = new Object();
+        final Document document = createDocument("a");
+        document.set("_etag", "etag-1");
+
+        cache.put("a", document, entity, cache.startLoad());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        final DocumentReadCache.CachedDocument expired = cache.getForRevalidation("a");
+        assertThat(expired.isExpired()).isTrue();
+        assertThat(expired.getETag()).isEqualTo("etag-1");
+        assertThat(expired.getEntity()).isSameAs(entity);
+
+        cache.putNotModified("a", expired, cache.startLoad());
+
+        final DocumentReadCache.CachedDocument revalidated = cache.getForRevalidation("a");
+        assertThat(revalidated.isExpired()).isFalse();
+        assertThat(revalidated.getEntity()).isSameAs(entity);
+        assertThat(cache.getStatistics().getNotModifiedCount()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(1);
+    }
+}
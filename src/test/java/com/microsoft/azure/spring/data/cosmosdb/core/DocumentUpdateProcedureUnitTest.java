@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
+import com.microsoft.azure.spring.data.cosmosdb.domain.PageView;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Role;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Run the body of the procedure on the JavaScript engine of the JDK, against a stub of the server side
+ * collection API keeping documents in a map and accepting a limited number of requests.
+ */
+public class DocumentUpdateProcedureUnitTest {
+    private static final String SERVER_STUB = "var ErrorCodes = {NotFound: 404};\n"
+            + "var documents = JSON.parse(documentsJson);\n"
+            + "var budget = requestBudget;\n"
+            + "var body;\n"
+            + "var collection = {\n"
+            + "    getAltLink: function () { return 'dbs/db/colls/coll'; },\n"
+            + "    readDocument: function (link, options, callback) {\n"
+            + "        if (budget-- <= 0) { return false; }\n"
+            + "        var document = documents[link.substring(link.lastIndexOf('/') + 1)];\n"
+            + "        if (document === undefined) { callback({number: 404}); }\n"
+            + "        else { callback(undefined, JSON.parse(JSON.stringify(document))); }\n"
+            + "        return true;\n"
+            + "    },\n"
+            + "    replaceDocument: function (link, document, options, callback) {\n"
+            + "        if (budget-- <= 0) { return false; }\n"
+            + "        documents[document.id] = document;\n"
+            + "        callback(undefined, document);\n"
+            + "        return true;\n"
+            + "    }\n"
+            + "};\n"
+            + "function getContext() {\n"
+            + "    return {\n"
+            + "        getCollection: function () { return collection; },\n"
+            + "        getResponse: function () { return {setBody: function (b) { body = b; }}; }\n"
+            + "    };\n"
+            + "}\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MappingDocumentDbConverter converter;
+    private ScriptEngine engine;
+
+    @Before
+    public void setup() {
+        converter = new MappingDocumentDbConverter(new DocumentDbMappingContext(), null);
+        engine = new ScriptEngineManager().getEngineByName("nashorn");
+    }
+
+    /**
+     * @return the response body of the procedure
+     */
+    private JsonNode execute(String documentsJson, int requestBudget, List<String> ids, Update update)
+            throws ScriptException, IOException {
+        engine.put("documentsJson", documentsJson);
+        engine.put("requestBudget", requestBudget);
+        engine.put("idsJson", objectMapper.writeValueAsString(ids));
+        engine.put("operationsJson", objectMapper.writeValueAsString(
+                DocumentUpdateProcedure.toParameters(update, PageView.class, converter)));
+        engine.eval(SERVER_STUB);
+        engine.eval(DocumentUpdateProcedure.create().getBody());
+        engine.eval("update(JSON.parse(idsJson), JSON.parse(operationsJson));");
+
+        return objectMapper.readTree((String) engine.eval("JSON.stringify(body)"));
+    }
+
+    private JsonNode getStored(String id) throws ScriptException, IOException {
+        return objectMapper.readTree((String) engine.eval("JSON.stringify(documents['" + id + "'])"));
+    }
+
+    @Test
+    public void operatorsAreAppliedInOrderOnNestedPaths() throws Exception {
+        final JsonNode body = execute("{\"1\": {\"id\": \"1\", \"page\": \"home\", \"views\": 41,"
+                        + " \"referrers\": null, \"stats\": {\"likes\": 1}}}", 10, Arrays.asList("1"),
+                new Update().inc("views", 1)
+                        .push("referrers", "search")
+                        .push("referrers", "mail")
+                        .inc("stats.likes", 2)
+                        .set("stats.shares.total", 3)
+                        .unset("page")
+                        .unset("missing.deep"));
+
+        assertThat(body.get(DocumentUpdateProcedure.PROCESSED).asInt()).isEqualTo(1);
+        assertThat(body.get(DocumentUpdateProcedure.DOCUMENTS)).hasSize(1);
+
+        final JsonNode stored = getStored("1");
+
+        assertThat(stored.get("views").asInt()).isEqualTo(42);
+        assertThat(stored.get("referrers").toString()).isEqualTo("[\"search\",\"mail\"]");
+        assertThat(stored.get("stats").toString()).isEqualTo("{\"likes\":3,\"shares\":{\"total\":3}}");
+        assertThat(stored.has("page")).isFalse();
+        assertThat(stored.has("missing")).isFalse();
+        assertThat(body.get(DocumentUpdateProcedure.DOCUMENTS).get(0)).isEqualTo(stored);
+    }
+
+    @Test
+    public void missingDocumentIsSkipped() throws Exception {
+        final JsonNode body = execute("{\"1\": {\"id\": \"1\"}, \"3\": {\"id\": \"3\"}}", 10,
+                Arrays.asList("1", "2", "3"), Update.update("page", "about"));
+
+        assertThat(body.get(DocumentUpdateProcedure.PROCESSED).asInt()).isEqualTo(3);
+        assertThat(body.get(DocumentUpdateProcedure.DOCUMENTS)).extracting(document -> document.get("id").asText())
+                .containsExactly("1", "3");
+    }
+
+    @Test
+    public void processedIdsAreAnsweredWhenRequestsAreNoLongerAccepted() throws Exception {
+        final JsonNode body = execute("{\"1\": {\"id\": \"1\", \"views\": 1}, \"2\": {\"id\": \"2\", \"views\": 1}}",
+                3, Arrays.asList("1", "2"), new Update().inc("views", 1));
+
+        assertThat(body.get(DocumentUpdateProcedure.PROCESSED).asInt()).isEqualTo(1);
+        assertThat(getStored("1").get("views").asInt()).isEqualTo(2);
+        assertThat(getStored("2").get("views").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void propertyOfAnotherTypeFailsTheProcedure() throws Exception {
+        final String documents = "{\"1\": {\"id\": \"1\", \"page\": \"home\", \"views\": [1]}}";
+
+        assertThatThrownBy(() -> execute(documents, 10, Arrays.asList("1"), new Update().inc("page", 1)))
+                .isInstanceOf(ScriptException.class).hasMessageContaining("page is not a number");
+        assertThatThrownBy(() -> execute(documents, 10, Arrays.asList("1"), new Update().push("page", "a")))
+                .isInstanceOf(ScriptException.class).hasMessageContaining("page is not an array");
+        assertThatThrownBy(() -> execute(documents, 10, Arrays.asList("1"), Update.update("views.total", 1)))
+                .isInstanceOf(ScriptException.class).hasMessageContaining("views is not an object");
+        assertThat(getStored("1").get("page").asText()).isEqualTo("home");
+    }
+
+    @Test
+    public void idAndPartitionKeyAreRejected() {
+        assertThatThrownBy(() -> DocumentUpdateProcedure.toParameters(Update.update("id", "2"), Role.class,
+                converter)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DocumentUpdateProcedure.toParameters(Update.update("name", "admin"), Role.class,
+                converter)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
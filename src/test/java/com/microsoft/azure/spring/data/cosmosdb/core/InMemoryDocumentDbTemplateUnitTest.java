@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbOperationMetrics;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentDbSliceImpl;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Update;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.PageView;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.VersionedMemo;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemoryDocumentDbTemplateUnitTest {
+    private static final String PERSON = "Person";
+    private static final String ADDRESS = "Address";
+
+    private final List<DocumentDbOperationMetrics> recorded = new ArrayList<>();
+    private InMemoryDocumentDbTemplate template;
+
+    @Before
+    public void setup() {
+        template = new InMemoryDocumentDbTemplate(new MappingDocumentDbConverter(new DocumentDbMappingContext(),
+                null));
+        template.setMetricsListener(recorded::add);
+
+        template.insert(PERSON, new Person("1", "alice", "smith", Arrays.asList("chess", "golf"), null), null);
+        template.insert(PERSON, new Person("2", "bob", "jones", Collections.singletonList("golf"), null), null);
+        template.insert(PERSON, new Person("3", "Carol", null, Collections.emptyList(), null), null);
+        recorded.clear();
+    }
+
+    private static List<String> getIds(List<Person> persons) {
+        return persons.stream().map(Person::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void insertedDocumentIsFoundById() {
+        final Person person = template.findById(PERSON, "2", Person.class);
+
+        assertThat(person.getFirstName()).isEqualTo("bob");
+        assertThat(person.getHobbies()).containsExactly("golf");
+        assertThat(template.findById(PERSON, "4", Person.class)).isNull();
+    }
+
+    @Test
+    public void insertOfExistingIdIsRejected() {
+        assertThatThrownBy(() -> template.insert(PERSON, new Person("1", "dave", null, null, null), null))
+                .isInstanceOf(DocumentDBAccessException.class);
+
+        assertThat(template.findById(PERSON, "1", Person.class).getFirstName()).isEqualTo("alice");
+    }
+
+    @Test
+    public void upsertReplacesDocument() {
+        template.upsert(PERSON, new Person("1", "dave", null, null, null), null);
+
+        assertThat(template.findById(PERSON, "1", Person.class).getFirstName()).isEqualTo("dave");
+        assertThat(template.count(PERSON)).isEqualTo(3);
+    }
+
+    @Test
+    public void upsertOfStaleVersionIsRejected() {
+        final VersionedMemo memo = new VersionedMemo("1", "first", null);
+
+        template.upsert("Memo", memo, null);
+        final String firstVersion = memo.getVersion();
+        final VersionedMemo stale = template.findById("Memo", "1", VersionedMemo.class);
+
+        memo.setMessage("second");
+        template.upsert("Memo", memo, null);
+
+        assertThat(memo.getVersion()).isNotNull().isNotEqualTo(firstVersion);
+        assertThat(stale.getVersion()).isEqualTo(firstVersion);
+        assertThatThrownBy(() -> template.upsert("Memo", stale, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(template.findById("Memo", "1", VersionedMemo.class).getMessage()).isEqualTo("second");
+    }
+
+    @Test
+    public void documentsAreScopedByPartition() {
+        template.createCollectionIfNotExists(new DocumentDbEntityInformation<>(Address.class), "city");
+        template.insert(ADDRESS, new Address("98052", "first street", "redmond"), new PartitionKey("redmond"));
+        template.insert(ADDRESS, new Address("98052", "second street", "seattle"), new PartitionKey("seattle"));
+
+        assertThat(template.count(ADDRESS)).isEqualTo(2);
+        assertThat(template.existsById(ADDRESS, "98052", new PartitionKey("seattle"))).isTrue();
+        assertThat(template.existsById(ADDRESS, "98052", new PartitionKey("tacoma"))).isFalse();
+        assertThat(template.findByIds(ADDRESS, Collections.singletonList("98052"), Address.class,
+                new PartitionKey("seattle"))).extracting(Address::getStreet).containsExactly("second street");
+
+        template.deleteById(ADDRESS, "98052", new PartitionKey("redmond"));
+
+        assertThat(template.findAll(ADDRESS, Address.class)).extracting(Address::getCity).containsExactly("seattle");
+        assertThatThrownBy(() -> template.insert(ADDRESS, new Address("98101", "street", "seattle"),
+                new PartitionKey("redmond"))).isInstanceOf(DocumentDBAccessException.class);
+    }
+
+    @Test
+    public void lookupAcrossPartitionsFollowsWrites() {
+        template.createCollectionIfNotExists(new DocumentDbEntityInformation<>(Address.class), "city");
+        template.insert(ADDRESS, new Address("98052", "first street", "redmond"), new PartitionKey("redmond"));
+        template.insert(ADDRESS, new Address("98052", "second street", "seattle"), new PartitionKey("seattle"));
+        template.updateById(ADDRESS, "98052", new PartitionKey("seattle"), Update.update("street", "third street"),
+                Address.class);
+        template.deleteById(ADDRESS, "98052", new PartitionKey("redmond"));
+
+        assertThat(template.findById(ADDRESS, "98052", Address.class).getStreet()).isEqualTo("third street");
+
+        template.deleteById(ADDRESS, "98052", null);
+
+        assertThat(template.findById(ADDRESS, "98052", Address.class)).isNull();
+        assertThat(template.count(ADDRESS)).isEqualTo(0);
+
+        template.insert(ADDRESS, new Address("98052", "first street", "redmond"), new PartitionKey("redmond"));
+
+        assertThat(template.findById(ADDRESS, "98052", Address.class).getCity()).isEqualTo("redmond");
+    }
+
+    @Test
+    public void criteriaAreEvaluatedWithIdMappedAndIgnoreCase() {
+        final Query query = new Query(Criteria.anyOf(
+                Criteria.where("firstName").startsWith("car").ignoreCase(),
+                Criteria.where("id").in(Arrays.asList("1", "4"))));
+
+        assertThat(getIds(template.find(query, Person.class, PERSON))).containsExactlyInAnyOrder("1", "3");
+    }
+
+    @Test
+    public void comparisonWithMissingPropertyIsUndefinedEvenUnderNot() {
+        final Query query = new Query(Criteria.not(Criteria.where("lastName").is("smith")));
+
+        assertThat(getIds(template.find(query, Person.class, PERSON))).containsExactly("2");
+        assertThat(template.count(new Query(Criteria.where("lastName").isNull()), Person.class, PERSON))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void arrayCriteriaAndSortAndLimitAreApplied() {
+        final Query query = new Query(Criteria.where("hobbies").arrayContains("golf"))
+                .with(Sort.by(Sort.Direction.DESC, "firstName"))
+                .limit(1);
+
+        assertThat(getIds(template.find(query, Person.class, PERSON))).containsExactly("2");
+        assertThat(template.exists(new Query(Criteria.where("hobbies").isEmpty()), Person.class, PERSON)).isTrue();
+    }
+
+    @Test
+    public void pagesAreContinuedByContinuation() {
+        final Query query = new Query().with(Sort.by("id")).with(DocumentDbPageRequest.of(0, 2, (String) null));
+
+        final Page<Person> first = template.paginationQuery(query, Person.class, PERSON);
+
+        assertThat(getIds(first.getContent())).containsExactly("1", "2");
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.hasNext()).isTrue();
+
+        final Slice<Person> second = template.sliceQuery(new Query().with(Sort.by("id"))
+                .with(first.nextPageable()), Person.class, PERSON);
+
+        assertThat(getIds(second.getContent())).containsExactly("3");
+        assertThat(second.hasNext()).isFalse();
+        assertThat(((DocumentDbSliceImpl<Person>) second).getResponseContinuation()).isNull();
+    }
+
+    @Test
+    public void invalidContinuationIsRejected() {
+        final Query query = new Query().with(DocumentDbPageRequest.of(1, 2, "invalid"));
+
+        assertThatThrownBy(() -> template.sliceQuery(query, Person.class, PERSON))
+                .isInstanceOf(DocumentDBAccessException.class);
+    }
+
+    @Test
+    public void deleteByQueryRemovesMatchingDocuments() {
+        final List<Person> deleted = template.delete(new Query(Criteria.where("hobbies").arrayContains("golf")),
+                Person.class, PERSON);
+
+        assertThat(getIds(deleted)).containsExactlyInAnyOrder("1", "2");
+        assertThat(getIds(template.findAll(PERSON, Person.class))).containsExactly("3");
+    }
+
+    @Test
+    public void updateByIdAppliesOperationsInOrder() {
+        template.insert("PageView", new PageView("1", "home", 41L, null), null);
+
+        final PageView updated = template.updateById("PageView", "1", null, new Update()
+                .inc("views", 1)
+                .push("referrers", "search")
+                .push("referrers", "mail")
+                .unset("page"), PageView.class);
+
+        assertThat(updated.getViews()).isEqualTo(42L);
+        assertThat(updated.getReferrers()).containsExactly("search", "mail");
+        assertThat(updated.getPage()).isNull();
+        assertThat(template.findById("PageView", "1", PageView.class)).isEqualTo(updated);
+        assertThat(template.updateById("PageView", "2", null, Update.update("page", "about"), PageView.class))
+                .isNull();
+    }
+
+    @Test
+    public void updateByQueryUpdatesMatchingDocuments() {
+        final List<Person> updated = template.update(new Query(Criteria.where("hobbies").arrayContains("golf")),
+                Update.update("lastName", "golfer").push("hobbies", "tennis"), Person.class, PERSON);
+
+        assertThat(getIds(updated)).containsExactlyInAnyOrder("1", "2");
+        assertThat(template.findById(PERSON, "2", Person.class).getHobbies()).containsExactly("golf", "tennis");
+        assertThat(template.findById(PERSON, "3", Person.class).getLastName()).isNull();
+    }
+
+    @Test
+    public void updateOfPropertyOfAnotherTypeIsRejected() {
+        assertThatThrownBy(() -> template.updateById(PERSON, "1", null, new Update().inc("hobbies", 1),
+                Person.class)).isInstanceOf(DocumentDBAccessException.class);
+        assertThatThrownBy(() -> template.updateById(PERSON, "1", null, Update.update("id", "5"), Person.class))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(template.findById(PERSON, "1", Person.class).getHobbies()).containsExactly("chess", "golf");
+    }
+
+    @Test
+    public void operationsAreChargedAndRecorded() {
+        template.setReadCharge(2);
+        template.setQueryCharge(3);
+
+        template.findById(PERSON, "1", Person.class);
+        template.findAll(PERSON, Person.class);
+
+        assertThat(recorded).hasSize(2);
+        assertThat(recorded.get(0).getOperation()).isEqualTo("findById");
+        assertThat(recorded.get(0).getRequestCharge()).isEqualTo(2.0);
+        assertThat(recorded.get(1).getOperation()).isEqualTo("findAll");
+        assertThat(recorded.get(1).getRequestCharge()).isEqualTo(5.0);
+        assertThat(recorded.get(1).getItemCount()).isEqualTo(3);
+        assertThat(recorded.get(1).getPageCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedOperationIsRecordedAsError() {
+        assertThatThrownBy(() -> template.deleteById(PERSON, "4", null))
+                .isInstanceOf(DocumentDBAccessException.class);
+
+        assertThat(recorded).hasSize(1);
+        assertThat(recorded.get(0).isSuccess()).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.metrics.DocumentDbOperationMetrics;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OperationRecordingUnitTest {
+    private static final String OPERATION = "find";
+    private static final String COLLECTION = "person";
+    private static final String REPOSITORY_METHOD = "PersonRepository.findByFirstName";
+
+    private final List<DocumentDbOperationMetrics> recorded = new ArrayList<>();
+
+    @Test
+    public void responsesAreSummedUp() {
+        final OperationRecording recording = new OperationRecording(OPERATION, COLLECTION, REPOSITORY_METHOD,
+                recorded::add);
+
+        recording.addResponse(2.5, "activity-1", 10);
+        recording.addResponse(1.5, "activity-2", 3);
+        recording.finish();
+
+        assertThat(recorded).hasSize(1);
+
+        final DocumentDbOperationMetrics metrics = recorded.get(0);
+        assertThat(metrics.getOperation()).isEqualTo(OPERATION);
+        assertThat(metrics.getCollectionName()).isEqualTo(COLLECTION);
+        assertThat(metrics.getRepositoryMethod()).isEqualTo(REPOSITORY_METHOD);
+        assertThat(metrics.getRequestCharge()).isEqualTo(4.0);
+        assertThat(metrics.getItemCount()).isEqualTo(13);
+        assertThat(metrics.getPageCount()).isEqualTo(2);
+        assertThat(metrics.getActivityId()).isEqualTo("activity-2");
+        assertThat(metrics.isSuccess()).isTrue();
+        assertThat(metrics.isThrottled()).isFalse();
+    }
+
+    @Test
+    public void onlyFirstFinishIsReported() {
+        final OperationRecording recording = new OperationRecording(OPERATION, COLLECTION, null, recorded::add);
+
+        recording.finish();
+        recording.finish();
+
+        assertThat(recorded).hasSize(1);
+    }
+
+    @Test
+    public void throttledFailureIsDetected() {
+        final OperationRecording recording = new OperationRecording(OPERATION, COLLECTION, null, recorded::add);
+        final DocumentDBAccessException error = new DocumentDBAccessException("query exception",
+                new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS));
+
+        recording.fail(error);
+        recording.fail(new IllegalStateException());
+        recording.finish();
+
+        assertThat(recorded.get(0).isSuccess()).isFalse();
+        assertThat(recorded.get(0).isThrottled()).isTrue();
+        assertThat(recorded.get(0).getError()).isSameAs(error);
+    }
+
+    @Test
+    public void listenerFailureIsNotPropagated() {
+        final OperationRecording recording = new OperationRecording(OPERATION, COLLECTION, null, metrics -> {
+            throw new IllegalStateException("listener failure");
+        });
+
+        recording.finish();
+    }
+}
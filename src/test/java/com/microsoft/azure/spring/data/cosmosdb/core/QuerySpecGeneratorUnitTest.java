@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuerySpecGeneratorUnitTest {
+    private static final String SELECT_ALL = "SELECT * FROM ROOT r";
+
+    private final QuerySpecGenerator generator = new QuerySpecGenerator(
+            new MappingDocumentDbConverter(new DocumentDbMappingContext(), null));
+
+    private static List<Object> getParameterValues(SqlQuerySpec querySpec) {
+        return querySpec.getParameters().stream()
+                .map(parameter -> parameter.get("value"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void generateQueryWithoutCriteria() {
+        assertThat(generator.generate(new Query(), Person.class).getQueryText()).isEqualTo(SELECT_ALL);
+    }
+
+    @Test
+    public void generateComparisonAndRangePredicates() {
+        final Query query = new Query(Criteria.where("firstName").is("first")
+                .and("lastName").ne("last")
+                .and("age").gt(20)
+                .and("score").between(1, 5));
+
+        final SqlQuerySpec querySpec = generator.generate(query, Person.class);
+
+        assertThat(querySpec.getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.firstName = @p0 AND r.lastName != @p1"
+                + " AND r.age > @p2 AND (r.score BETWEEN @p3 AND @p4)");
+        assertThat(getParameterValues(querySpec)).containsExactly("first", "last", 20, 1, 5);
+    }
+
+    @Test
+    public void generateInPredicateWithParameterPerValue() {
+        final Query query = new Query(Criteria.where("firstName").in(Arrays.asList("a", "b"))
+                .and("lastName").nin(Collections.emptyList()));
+
+        final SqlQuerySpec querySpec = generator.generate(query, Person.class);
+
+        assertThat(querySpec.getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.firstName IN (@p0, @p1) AND true");
+        assertThat(getParameterValues(querySpec)).containsExactly("a", "b");
+    }
+
+    @Test
+    public void generateListValueOfOtherOperatorsAsOneParameter() {
+        final Query query = new Query(Criteria.where("hobbies").is(Arrays.asList("a", "b"))
+                .and("shippingAddresses").arrayContains(Arrays.asList("c", "d")));
+
+        final SqlQuerySpec querySpec = generator.generate(query, Person.class);
+
+        assertThat(querySpec.getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.hobbies = @p0"
+                + " AND ARRAY_CONTAINS(r.shippingAddresses, @p1)");
+        assertThat(getParameterValues(querySpec)).extracting(Object::toString)
+                .containsExactly("[\"a\",\"b\"]", "[\"c\",\"d\"]");
+    }
+
+    @Test
+    public void reuseQueryTextOfListValueOfAnySize() {
+        final SqlQuerySpec first = generator.generate(new Query(Criteria.where("hobbies")
+                .is(Arrays.asList("a", "b"))), Person.class);
+        final SqlQuerySpec second = generator.generate(new Query(Criteria.where("hobbies")
+                .is(Collections.singletonList("c"))), Person.class);
+
+        assertThat(second.getQueryText()).isSameAs(first.getQueryText());
+        assertThat(getParameterValues(second)).extracting(Object::toString).containsExactly("[\"c\"]");
+    }
+
+    @Test
+    public void generateFunctionPredicates() {
+        final Query query = new Query(Criteria.where("firstName").startsWith("f").ignoreCase()
+                .and("hobbies").arrayContains("fishing")
+                .and("lastName").isNull());
+
+        final SqlQuerySpec querySpec = generator.generate(query, Person.class);
+
+        assertThat(querySpec.getQueryText()).isEqualTo(SELECT_ALL + " WHERE STARTSWITH(LOWER(r.firstName), LOWER(@p0))"
+                + " AND ARRAY_CONTAINS(r.hobbies, @p1) AND (NOT IS_DEFINED(r.lastName) OR IS_NULL(r.lastName))");
+    }
+
+    @Test
+    public void generateNestedBooleanConditions() {
+        final Criteria either = Criteria.anyOf(Criteria.where("age").lt(20),
+                Criteria.where("age").gt(60).and("lastName").is("last"));
+        final Query query = new Query(Criteria.where("firstName").is("first"))
+                .addCriteria(either)
+                .addCriteria(Criteria.not(Criteria.where("age").is(40)));
+
+        final SqlQuerySpec querySpec = generator.generate(query, Person.class);
+
+        assertThat(querySpec.getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.firstName = @p0"
+                + " AND (r.age < @p1 OR (r.age > @p2 AND r.lastName = @p3)) AND (NOT (r.age = @p4))");
+        assertThat(getParameterValues(querySpec)).containsExactly("first", 20, 60, "last", 40);
+    }
+
+    @Test
+    public void generateIdPropertyAsDocumentId() {
+        final Query query = new Query(Criteria.where("id").is("id_value"));
+
+        assertThat(generator.generate(query, Person.class).getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.id = @p0");
+    }
+
+    @Test
+    public void generateTopAndOrderBy() {
+        final Query query = new Query(Criteria.where("firstName").is("first"))
+                .with(Sort.by(Sort.Direction.DESC, "lastName")).limit(3);
+
+        assertThat(generator.generate(query, Person.class).getQueryText())
+                .isEqualTo("SELECT TOP 3 * FROM ROOT r WHERE r.firstName = @p0 ORDER BY r.lastName DESC");
+    }
+
+    @Test
+    public void generateWithSelectClauseIgnoresSortAndLimit() {
+        final Query query = new Query(Criteria.where("firstName").is("first")).with(Sort.by("lastName")).limit(3);
+
+        assertThat(generator.generate("SELECT VALUE COUNT(1) FROM ROOT r", query, Person.class).getQueryText())
+                .isEqualTo("SELECT VALUE COUNT(1) FROM ROOT r WHERE r.firstName = @p0");
+    }
+
+    @Test
+    public void reuseQueryTextOfSameShapeWithNewValues() {
+        final SqlQuerySpec first = generator.generate(new Query(Criteria.where("firstName").is("first")
+                .and("lastName").in(Arrays.asList("a", "b"))), Person.class);
+        final SqlQuerySpec second = generator.generate(new Query(Criteria.where("firstName").is("other")
+                .and("lastName").in(Arrays.asList("c", "d"))), Person.class);
+
+        assertThat(second.getQueryText()).isSameAs(first.getQueryText());
+        assertThat(getParameterValues(second)).containsExactly("other", "c", "d");
+        assertThat(second.getParameters().stream().map(parameter -> parameter.getName()).collect(Collectors.toList()))
+                .containsExactly("@p0", "@p1", "@p2");
+    }
+
+    @Test
+    public void generateNewQueryTextForDifferentShape() {
+        final SqlQuerySpec twoValues = generator.generate(new Query(Criteria.where("lastName")
+                .in(Arrays.asList("a", "b"))), Person.class);
+        final SqlQuerySpec noValue = generator.generate(new Query(Criteria.where("lastName")
+                .in(Collections.emptyList())), Person.class);
+        final SqlQuerySpec sorted = generator.generate(new Query(Criteria.where("lastName")
+                .in(Arrays.asList("a", "b"))).with(Sort.by("firstName")), Person.class);
+
+        assertThat(twoValues.getQueryText()).isEqualTo(SELECT_ALL + " WHERE r.lastName IN (@p0, @p1)");
+        assertThat(noValue.getQueryText()).isEqualTo(SELECT_ALL + " WHERE false");
+        assertThat(sorted.getQueryText()).isEqualTo(twoValues.getQueryText() + " ORDER BY r.firstName ASC");
+    }
+
+    @Test(expected = IllegalQueryException.class)
+    public void rejectIgnoreCaseSort() {
+        generator.generate(new Query().with(Sort.by(Sort.Order.by("lastName").ignoreCase())), Person.class);
+    }
+
+    @Test(expected = IllegalQueryException.class)
+    public void rejectSortOfUnknownProperty() {
+        generator.generate(new Query().with(Sort.by("age")), Person.class);
+    }
+
+    @Test(expected = IllegalQueryException.class)
+    public void rejectSortInjectingSql() {
+        generator.generate(new Query().with(Sort.by("lastName, r.password")), Person.class);
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedQueryText() {
+        final Query recent = new Query(Criteria.where("firstName").is("first"));
+        final Query eldest = new Query(Criteria.where("lastName").is("last"));
+        final String recentText = generator.generate(recent, Person.class).getQueryText();
+        final String eldestText = generator.generate(eldest, Person.class).getQueryText();
+
+        for (int limit = 1; limit < QuerySpecGenerator.MAX_CACHED_QUERY_TEXTS; limit++) {
+            generator.generate(recent, Person.class);
+            generator.generate(new Query(Criteria.where("firstName").is("first")).limit(limit), Person.class);
+        }
+
+        assertThat(generator.generate(recent, Person.class).getQueryText()).isSameAs(recentText);
+        assertThat(generator.generate(eldest, Person.class).getQueryText()).isEqualTo(eldestText)
+                .isNotSameAs(eldestText);
+    }
+}
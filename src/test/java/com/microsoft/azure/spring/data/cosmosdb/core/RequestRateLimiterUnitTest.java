@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.exception.DocumentDBAccessException;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestRateLimiterUnitTest {
+    private static final int PROVISIONED_THROUGHPUT = 100;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void requestIsAdmittedWhileBucketHoldsTokens() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(PROVISIONED_THROUGHPUT, clock::get);
+
+        limiter.consume(PROVISIONED_THROUGHPUT);
+
+        assertThat(limiter.getWaitInNanos()).isEqualTo(0);
+    }
+
+    @Test
+    public void debtIsPaidBackAtProvisionedRate() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(PROVISIONED_THROUGHPUT, clock::get);
+
+        limiter.consume(PROVISIONED_THROUGHPUT * 1.5);
+        assertThat(limiter.getWaitInNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.getWaitInNanos()).isEqualTo(0);
+    }
+
+    @Test
+    public void throttlingHoldsRequestsAndSlowsDown() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(PROVISIONED_THROUGHPUT, clock::get);
+
+        limiter.onThrottled(200);
+
+        assertThat(limiter.getWaitInNanos()).isBetween(TimeUnit.MILLISECONDS.toNanos(200),
+                TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(limiter.getRate()).isEqualTo(PROVISIONED_THROUGHPUT / 2.0);
+
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        assertThat(limiter.getRate()).isEqualTo(PROVISIONED_THROUGHPUT * 0.1);
+    }
+
+    @Test
+    public void rateRecoversWithResponses() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(PROVISIONED_THROUGHPUT, clock::get);
+
+        limiter.onThrottled(0);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.consume(0);
+        }
+
+        assertThat(limiter.getRate()).isEqualTo(PROVISIONED_THROUGHPUT);
+    }
+
+    @Test
+    public void unknownThroughputOnlyHoldsAfterThrottling() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(0, clock::get);
+
+        limiter.consume(PROVISIONED_THROUGHPUT);
+        assertThat(limiter.getWaitInNanos()).isEqualTo(0);
+
+        limiter.onThrottled(100);
+        assertThat(limiter.getWaitInNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void throttledExceptionIsFoundInCauses() {
+        final DocumentClientException throttled =
+                new DocumentClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+
+        assertThat(RequestRateLimiter.getThrottledException(new DocumentDBAccessException("error", throttled)))
+                .isSameAs(throttled);
+        assertThat(RequestRateLimiter.getThrottledException(new DocumentDBAccessException("error",
+                new DocumentClientException(HttpConstants.StatusCodes.NOTFOUND)))).isNull();
+    }
+}
@@ -11,7 +11,12 @@ import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.ImportantMemo;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Memo;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.RevisedMemo;
+import com.microsoft.azure.spring.data.cosmosdb.domain.VersionedMemo;
+import com.microsoft.azure.spring.data.cosmosdb.repository.Contact;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,6 +81,38 @@ public class MappingDocumentDbConverterUnitTest {
         assertThat(address.getStreet()).isEqualTo(TestConstants.STREET);
     }
 
+    @Test
+    public void convertDocumentWithNestedPropertiesToPersonCorrectly() {
+        final Document document = new Document();
+
+        document.setId(TestConstants.ID);
+        document.set(TestConstants.PROPERTY_FIRST_NAME, TestConstants.FIRST_NAME);
+        document.set(TestConstants.PROPERTY_LAST_NAME, null);
+        document.set(TestConstants.PROPERTY_HOBBIES, TestConstants.HOBBIES);
+        document.set(TestConstants.PROPERTY_SHIPPING_ADDRESSES, TestConstants.ADDRESSES);
+
+        final Person person = dbConverter.read(Person.class, document);
+
+        assertThat(person.getId()).isEqualTo(TestConstants.ID);
+        assertThat(person.getFirstName()).isEqualTo(TestConstants.FIRST_NAME);
+        assertThat(person.getLastName()).isNull();
+        assertThat(person.getHobbies()).isEqualTo(TestConstants.HOBBIES);
+        assertThat(person.getShippingAddresses()).isEqualTo(TestConstants.ADDRESSES);
+    }
+
+    @Test
+    public void convertDocumentIdToAnnotatedIdField() {
+        final Document document = new Document();
+
+        document.setId(TestConstants.ID);
+        document.set(TestConstants.PROPERTY_TITLE, TestConstants.TITLE);
+
+        final Contact contact = dbConverter.read(Contact.class, document);
+
+        assertThat(contact.getLogicId()).isEqualTo(TestConstants.ID);
+        assertThat(contact.getTitle()).isEqualTo(TestConstants.TITLE);
+    }
+
     @Test
     public void canWritePojoWithDateToDocument() throws ParseException {
         final Document document = new Document();
@@ -87,6 +124,19 @@ public class MappingDocumentDbConverterUnitTest {
         assertThat(document.getLong(TestConstants.PROPERTY_DATE)).isEqualTo(memo.getDate().getTime());
     }
 
+    @Test
+    public void canWriteInheritedPropertiesToDocument() throws ParseException {
+        final Document document = new Document();
+        final ImportantMemo memo = new ImportantMemo(TestConstants.ID, TestConstants.MESSAGE,
+                DATE.parse(TestConstants.DATE_STRING), TestConstants.LEVEL);
+        dbConverter.write(memo, document);
+
+        assertThat(document.getId()).isEqualTo(memo.getId());
+        assertThat(document.getString(TestConstants.PROPERTY_MESSAGE)).isEqualTo(memo.getMessage());
+        assertThat(document.getLong(TestConstants.PROPERTY_DATE)).isEqualTo(memo.getDate().getTime());
+        assertThat(document.getString(TestConstants.PROPERTY_LEVEL)).isEqualTo(memo.getLevel());
+    }
+
     @Test
     public void canReadPojoWithDateFromDocument() throws ParseException {
         final Document document = new Document();
@@ -109,5 +159,42 @@ public class MappingDocumentDbConverterUnitTest {
 
         assertThat(time).isEqualTo(TestConstants.MILLI_SECONDS);
     }
-}
 
+    @Test
+    public void mapVersionPropertyToETag() {
+        final Document document = new Document();
+
+        dbConverter.write(new VersionedMemo("1", "message", "\"etag\""), document);
+
+        assertThat(document.getETag()).isEqualTo("\"etag\"");
+        assertThat(document.has("version")).isFalse();
+
+        document.set("_etag", "\"changed\"");
+        final VersionedMemo memo = dbConverter.read(VersionedMemo.class, document);
+
+        assertThat(memo.getVersion()).isEqualTo("\"changed\"");
+
+        dbConverter.updateVersion(memo, "\"saved\"");
+
+        assertThat(memo.getVersion()).isEqualTo("\"saved\"");
+    }
+
+    @Test
+    public void writeVersionPropertyOfOtherTypeAsPlainProperty() {
+        final Document document = new Document();
+
+        dbConverter.write(new RevisedMemo("1", "message", 3L), document);
+
+        assertThat(document.getLong("revision")).isEqualTo(3L);
+        assertThat(document.getETag()).isNull();
+
+        document.set("_etag", "\"etag\"");
+        final RevisedMemo memo = dbConverter.read(RevisedMemo.class, document);
+
+        assertThat(memo.getRevision()).isEqualTo(3L);
+
+        dbConverter.updateVersion(memo, "\"saved\"");
+
+        assertThat(memo.getRevision()).isEqualTo(3L);
+    }
+}
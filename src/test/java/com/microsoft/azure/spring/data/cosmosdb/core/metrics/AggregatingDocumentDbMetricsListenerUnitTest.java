@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.metrics;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregatingDocumentDbMetricsListenerUnitTest {
+    private static final String COLLECTION = "person";
+    private static final String REPOSITORY_METHOD = "PersonRepository.findByFirstName";
+
+    private final AggregatingDocumentDbMetricsListener listener = new AggregatingDocumentDbMetricsListener();
+
+    private static DocumentDbOperationMetrics createMetrics(String operation, long millis, double charge,
+                                                            Throwable error) {
+        return new DocumentDbOperationMetrics(operation, COLLECTION, REPOSITORY_METHOD,
+                TimeUnit.MILLISECONDS.toNanos(millis), charge, 1, 1, null, false, error);
+    }
+
+    @Test
+    public void metricsAreSummedUpPerOperation() {
+        listener.onOperation(createMetrics("find", 10, 2.0, null));
+        listener.onOperation(createMetrics("find", 30, 3.0, new IllegalStateException()));
+        listener.onOperation(createMetrics("count", 5, 1.0, null));
+
+        final Map<AggregatingDocumentDbMetricsListener.Key, AggregatingDocumentDbMetricsListener.Summary> summaries =
+                listener.getSummaries();
+        assertThat(summaries).hasSize(2);
+
+        final AggregatingDocumentDbMetricsListener.Summary find =
+                summaries.get(new AggregatingDocumentDbMetricsListener.Key(COLLECTION, "find", REPOSITORY_METHOD));
+        assertThat(find.getCount()).isEqualTo(2);
+        assertThat(find.getErrorCount()).isEqualTo(1);
+        assertThat(find.getRequestCharge()).isEqualTo(5.0);
+        assertThat(find.getItemCount()).isEqualTo(2);
+        assertThat(find.getTotalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(find.getMaxTime(TimeUnit.MILLISECONDS)).isEqualTo(30);
+    }
+
+    @Test
+    public void summariesAreSnapshots() {
+        listener.onOperation(createMetrics("find", 10, 2.0, null));
+
+        final Map<AggregatingDocumentDbMetricsListener.Key, AggregatingDocumentDbMetricsListener.Summary> summaries =
+                listener.getSummaries();
+        listener.onOperation(createMetrics("find", 10, 2.0, null));
+
+        assertThat(summaries.values().iterator().next().getCount()).isEqualTo(1);
+
+        listener.reset();
+        assertThat(listener.getSummaries()).isEmpty();
+    }
+}
@@ -22,4 +22,51 @@ public class CriteriaUnitTest {
         assertThat(c.getKey()).isEqualTo(TestConstants.CRITERIA_KEY);
         assertThat(c.getCriteriaObject()).isEqualTo(TestConstants.CRITERIA_OBJECT);
     }
+
+    @Test
+    public void testOperatorCriteria() {
+        final Criteria c = Criteria.where(TestConstants.CRITERIA_KEY).between(1, 5);
+
+        assertThat(c.getType()).isEqualTo(CriteriaType.BETWEEN);
+        assertThat(c.getValues()).containsExactly(1, 5);
+        assertThat(c.getCriteriaObject()).isEqualTo(1);
+
+        final Criteria chain = c.and(TestConstants.PROPERTY_TITLE).startsWith(TestConstants.TITLE).ignoreCase();
+
+        assertThat(chain.getType()).isEqualTo(CriteriaType.STARTS_WITH);
+        assertThat(chain.isIgnoreCase()).isTrue();
+        assertThat(c.getCriteriaChain()).containsExactly(c, chain);
+    }
+
+    @Test
+    public void testCriteriaWithoutValue() {
+        final Criteria c = Criteria.where(TestConstants.CRITERIA_KEY).isNull();
+
+        assertThat(c.getType()).isEqualTo(CriteriaType.IS_NULL);
+        assertThat(c.getValues()).isEmpty();
+        assertThat(c.getCriteriaObject()).isNull();
+    }
+
+    @Test
+    public void testCompositeCriteria() {
+        final Criteria first = Criteria.where(TestConstants.CRITERIA_KEY).is(1);
+        final Criteria chained = Criteria.where(TestConstants.PROPERTY_TITLE).is(TestConstants.TITLE)
+                .and(TestConstants.CRITERIA_KEY).is(2);
+        final Criteria third = Criteria.where(TestConstants.CRITERIA_KEY).is(3);
+
+        final Criteria or = Criteria.anyOf(Criteria.anyOf(first, chained), Criteria.not(third));
+
+        assertThat(or.getType()).isEqualTo(CriteriaType.OR);
+        assertThat(or.getSubCriteria()).hasSize(3);
+        assertThat(or.getSubCriteria().get(0)).isEqualTo(first);
+        assertThat(or.getSubCriteria().get(1).getType()).isEqualTo(CriteriaType.AND);
+        assertThat(or.getSubCriteria().get(1).getSubCriteria()).containsExactlyElementsOf(chained.getCriteriaChain());
+        assertThat(or.getSubCriteria().get(2).getType()).isEqualTo(CriteriaType.NOT);
+        assertThat(or.getSubCriteria().get(2).getSubCriteria()).containsExactly(third);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompositeCriteriaTakesNoOperator() {
+        Criteria.anyOf(Criteria.where(TestConstants.CRITERIA_KEY).is(1)).is(2);
+    }
 }
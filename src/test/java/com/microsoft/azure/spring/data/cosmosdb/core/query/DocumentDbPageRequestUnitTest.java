@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentDbPageRequestUnitTest {
+    private static final String CONTINUATION = "continuation";
+    private static final List<String> CONTENT = Arrays.asList("a", "b");
+
+    @Test
+    public void nextPageableOfPageCarriesContinuation() {
+        final Page<String> page = new DocumentDbPageImpl<>(CONTENT, PageRequest.of(0, 2), 10, CONTINUATION);
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextPageable()).isEqualTo(DocumentDbPageRequest.of(1, 2, CONTINUATION));
+    }
+
+    @Test
+    public void nextPageableOfSliceCarriesContinuation() {
+        final Slice<String> slice = new DocumentDbSliceImpl<>(CONTENT, DocumentDbPageRequest.of(3, 2, "previous"),
+                CONTINUATION);
+
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.nextPageable()).isEqualTo(DocumentDbPageRequest.of(4, 2, CONTINUATION));
+    }
+
+    @Test
+    public void noNextPageWithoutContinuation() {
+        final Page<String> page = new DocumentDbPageImpl<>(CONTENT, PageRequest.of(0, 2), 10, null);
+        final Slice<String> slice = new DocumentDbSliceImpl<>(CONTENT, PageRequest.of(0, 2), null);
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextPageable()).isEqualTo(Pageable.unpaged());
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(slice.nextPageable()).isEqualTo(Pageable.unpaged());
+    }
+
+    @Test
+    public void continuationIsPartOfEquality() {
+        final Pageable pageable = DocumentDbPageRequest.of(1, 2, CONTINUATION);
+
+        assertThat(pageable).isEqualTo(DocumentDbPageRequest.of(1, 2, CONTINUATION));
+        assertThat(pageable).isNotEqualTo(DocumentDbPageRequest.of(1, 2, (String) null));
+        assertThat(DocumentDbPageRequest.of(1, 2, (String) null)).isNotEqualTo(PageRequest.of(1, 2));
+    }
+}
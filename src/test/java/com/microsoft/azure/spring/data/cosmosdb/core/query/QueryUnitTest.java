@@ -7,6 +7,7 @@ package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import org.junit.Test;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 
@@ -21,14 +22,39 @@ public class QueryUnitTest {
 
         final Query query = new Query().addCriteria(criteria);
 
-        assertThat(query.getCriteria().size()).isEqualTo(1);
-        assertThat(query.getCriteria().get(TestConstants.CRITERIA_KEY)).isEqualTo(TestConstants.CRITERIA_OBJECT);
+        assertThat(query.getCriteria().get()).isEqualTo(criteria);
+        assertThat(query.getCriteria().get().getCriteriaObject()).isEqualTo(TestConstants.CRITERIA_OBJECT);
     }
 
     @Test
     public void testWhere() {
-        final Query query = new Query((Criteria.where(TestConstants.CRITERIA_KEY).is(TestConstants.CRITERIA_OBJECT)));
-        assertThat(query.getCriteria().size()).isEqualTo(1);
-        assertThat(query.getCriteria().get(TestConstants.CRITERIA_KEY)).isEqualTo(TestConstants.CRITERIA_OBJECT);
+        final Criteria criteria = Criteria.where(TestConstants.CRITERIA_KEY).is(TestConstants.CRITERIA_OBJECT);
+        final Query query = new Query(criteria);
+
+        assertThat(query.getCriteria().get()).isEqualTo(criteria);
+        assertThat(new Query().getCriteria().isPresent()).isFalse();
+    }
+
+    @Test
+    public void testAddCriteriaOnSameKey() {
+        final Criteria lower = Criteria.where(TestConstants.CRITERIA_KEY).gt(1);
+        final Criteria upper = Criteria.where(TestConstants.CRITERIA_KEY).lt(5);
+
+        final Query query = new Query(lower).addCriteria(upper);
+
+        assertThat(query.getCriteria().get().getType()).isEqualTo(CriteriaType.AND);
+        assertThat(query.getCriteria().get().getSubCriteria()).containsExactly(lower, upper);
+    }
+
+    @Test
+    public void testSortAndLimit() {
+        final Query query = new Query().with(Sort.by(Sort.Direction.DESC, TestConstants.CRITERIA_KEY))
+                .with(Sort.by(TestConstants.PROPERTY_TITLE)).limit(10);
+
+        assertThat(query.getSort()).containsExactly(Sort.Order.desc(TestConstants.CRITERIA_KEY),
+                Sort.Order.asc(TestConstants.PROPERTY_TITLE));
+        assertThat(query.getLimit()).isEqualTo(10);
+        assertThat(new Query().getSort().isSorted()).isFalse();
+        assertThat(new Query().getLimit()).isEqualTo(0);
     }
 }
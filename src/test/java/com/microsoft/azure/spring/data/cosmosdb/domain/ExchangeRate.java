@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.domain;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.EntityCache;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * For testing entity cache revalidation purpose
+ */
+@Document
+@EntityCache(timeToLive = 0, revalidate = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+    private String id;
+    private Double rate;
+}
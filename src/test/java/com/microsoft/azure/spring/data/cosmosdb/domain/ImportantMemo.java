@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.domain;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * For testing inherited properties purpose
+ */
+@Document
+@Getter
+public class ImportantMemo extends Memo {
+    private String level;
+
+    public ImportantMemo(String id, String message, Date date, String level) {
+        super(id, message, date);
+        this.level = level;
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.domain;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Version;
+
+/**
+ * For testing version property of another type than the etag purpose
+ */
+@Document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevisedMemo {
+    private String id;
+    private String message;
+    @Version
+    private Long revision;
+}
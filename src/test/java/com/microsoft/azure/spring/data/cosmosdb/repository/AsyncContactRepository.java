@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public interface AsyncContactRepository extends AsyncDocumentDbRepository<Contact, String> {
+    CompletableFuture<List<Contact>> findByTitle(String title);
+
+    CompletableFuture<Long> countByTitle(String title);
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = TestRepositoryConfig.class)
+public class AsyncContactRepositoryIT {
+
+    private static final Contact TEST_CONTACT = new Contact("testId", "faketitle");
+
+    @Autowired
+    AsyncContactRepository repository;
+
+    @Before
+    public void setup() {
+        repository.save(TEST_CONTACT).join();
+    }
+
+    @After
+    public void cleanup() {
+        repository.deleteAll().join();
+    }
+
+    @Test
+    public void testFindById() {
+        final Contact contact = repository.findById(TEST_CONTACT.getLogicId()).join().get();
+
+        assertThat(contact.getTitle()).isEqualTo(TEST_CONTACT.getTitle());
+        assertThat(repository.existsById("unknown").join()).isFalse();
+    }
+
+    @Test
+    public void testDerivedQueries() {
+        final List<Contact> result = repository.findByTitle(TEST_CONTACT.getTitle()).join();
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getLogicId()).isEqualTo(TEST_CONTACT.getLogicId());
+        assertThat(repository.countByTitle(TEST_CONTACT.getTitle()).join()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testPagesOnDemand() {
+        repository.save(new Contact("newid", "newtitle")).join();
+
+        final Page<Contact> first = repository.findAll(PageRequest.of(0, 1)).join();
+        final Page<Contact> second = repository.findAll(first.nextPageable()).join();
+
+        assertThat(first.getContent().size()).isEqualTo(1);
+        assertThat(second.getContent().size()).isEqualTo(1);
+        assertThat(second.getContent().get(0).getLogicId()).isNotEqualTo(first.getContent().get(0).getLogicId());
+    }
+}
@@ -5,11 +5,34 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContactRepository extends DocumentDbRepository<Contact, String> {
     List<Contact> findByTitle(String title);
+
+    Slice<Contact> findByTitle(String title, Pageable pageable);
+
+    List<Contact> findTop2ByTitleOrderByLogicIdDesc(String title);
+
+    List<Contact> findByTitle(String title, Sort sort);
+
+    List<Contact> findByTitleStartingWithAndLogicIdIn(String prefix, Collection<String> ids);
+
+    List<Contact> findByTitleIsNotNullAndLogicIdGreaterThan(String id);
+
+    List<Contact> findByTitleOrLogicId(String title, String id);
+
+    long countByTitle(String title);
+
+    boolean existsByTitle(String title);
+
+    Stream<Contact> streamByTitle(String title);
 }
@@ -13,12 +13,19 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -128,6 +135,112 @@ public class ContactRepositoryIT {
         assertThat(result2.size()).isEqualTo(0);
     }
 
+    @Test
+    public void testCountByTitle() {
+        repository.save(new Contact("newid", "newtitle"));
+
+        assertThat(repository.countByTitle(TEST_CONTACT.getTitle())).isEqualTo(1);
+        assertThat(repository.countByTitle("newtitle")).isEqualTo(1);
+        assertThat(repository.countByTitle("unknown")).isEqualTo(0);
+    }
+
+    @Test
+    public void testExists() {
+        assertThat(repository.existsById(TEST_CONTACT.getLogicId())).isTrue();
+        assertThat(repository.existsById("unknown")).isFalse();
+        assertThat(repository.existsByTitle(TEST_CONTACT.getTitle())).isTrue();
+        assertThat(repository.existsByTitle("unknown")).isFalse();
+    }
+
+    @Test
+    public void testStream() {
+        try (Stream<Contact> contacts = repository.streamAll()) {
+            assertThat(contacts.map(Contact::getLogicId).collect(Collectors.toList()))
+                    .containsExactly(TEST_CONTACT.getLogicId());
+        }
+
+        try (Stream<Contact> contacts = repository.streamByTitle(TEST_CONTACT.getTitle())) {
+            assertThat(contacts.map(Contact::getTitle).collect(Collectors.toList()))
+                    .containsExactly(TEST_CONTACT.getTitle());
+        }
+    }
+
+    @Test
+    public void testFindAllByPageable() {
+        repository.save(new Contact("newid1", "newtitle"));
+        repository.save(new Contact("newid2", "newtitle"));
+
+        final Page<Contact> firstPage = repository.findAll(PageRequest.of(0, 2));
+
+        assertThat(firstPage.getContent().size()).isEqualTo(2);
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.hasNext()).isTrue();
+
+        final Page<Contact> secondPage = repository.findAll(firstPage.nextPageable());
+
+        assertThat(secondPage.getContent().size()).isEqualTo(1);
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(repository.findAll(PageRequest.of(1, 2)).getContent()).isEqualTo(secondPage.getContent());
+    }
+
+    @Test
+    public void testFindSliceByTitle() {
+        repository.save(new Contact("newid1", "newtitle"));
+        repository.save(new Contact("newid2", "newtitle"));
+
+        final Slice<Contact> firstSlice = repository.findByTitle("newtitle", PageRequest.of(0, 1));
+
+        assertThat(firstSlice.getContent().size()).isEqualTo(1);
+        assertThat(firstSlice.hasNext()).isTrue();
+
+        final Slice<Contact> secondSlice = repository.findByTitle("newtitle", firstSlice.nextPageable());
+
+        assertThat(secondSlice.getContent().size()).isEqualTo(1);
+        assertThat(secondSlice.getContent()).doesNotContainAnyElementsOf(firstSlice.getContent());
+    }
+
+    @Test
+    public void testSortAndLimit() {
+        repository.save(new Contact("newid1", "newtitle"));
+        repository.save(new Contact("newid2", "newtitle"));
+        repository.save(new Contact("newid3", "newtitle"));
+
+        final List<Contact> top = repository.findTop2ByTitleOrderByLogicIdDesc("newtitle");
+        assertThat(top.stream().map(Contact::getLogicId).collect(Collectors.toList()))
+                .containsExactly("newid3", "newid2");
+
+        final List<Contact> sorted = repository.findByTitle("newtitle", Sort.by("logicId"));
+        assertThat(sorted.stream().map(Contact::getLogicId).collect(Collectors.toList()))
+                .containsExactly("newid1", "newid2", "newid3");
+
+        final List<Contact> all = Lists.newArrayList(repository.findAll(Sort.by(Sort.Direction.DESC, "title")));
+        assertThat(all.get(0).getTitle()).isEqualTo("newtitle");
+        assertThat(all.get(all.size() - 1).getTitle()).isEqualTo(TEST_CONTACT.getTitle());
+    }
+
+    @Test
+    public void testOperatorQuery() {
+        repository.save(new Contact("newid1", "newtitle"));
+        repository.save(new Contact("newid2", "othertitle"));
+
+        final List<Contact> started = repository.findByTitleStartingWithAndLogicIdIn("new",
+                Arrays.asList("newid1", "newid2", TEST_CONTACT.getLogicId()));
+        assertThat(started.size()).isEqualTo(1);
+        assertThat(started.get(0).getLogicId()).isEqualTo("newid1");
+
+        final List<Contact> greater = repository.findByTitleIsNotNullAndLogicIdGreaterThan("newid1");
+        assertThat(greater.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testOrQuery() {
+        repository.save(new Contact("newid1", "newtitle"));
+
+        final List<Contact> result = repository.findByTitleOrLogicId(TEST_CONTACT.getTitle(), "newid1");
+
+        assertThat(result.size()).isEqualTo(2);
+    }
+
     @Test
     public void testCustomQuery() {
         final List<Contact> result = repository.findByTitle(TEST_CONTACT.getTitle());
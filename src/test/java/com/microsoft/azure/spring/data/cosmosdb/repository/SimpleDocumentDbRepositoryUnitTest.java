@@ -7,9 +7,12 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkWriteResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbOperations;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.VersionedMemo;
+import com.microsoft.azure.spring.data.cosmosdb.exception.BulkWriteException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.DocumentDbEntityInformation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.SimpleDocumentDbRepository;
 import org.assertj.core.util.Lists;
@@ -20,13 +23,24 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -65,6 +79,50 @@ public class SimpleDocumentDbRepositoryUnitTest {
         assertEquals(TEST_PERSON, result.get(0));
     }
 
+    @Test
+    public void testFirstSaveOfVersionedEntityIsInsert() {
+        final SimpleDocumentDbRepository<VersionedMemo, String> memoRepository = new SimpleDocumentDbRepository<>(
+                new DocumentDbEntityInformation<>(VersionedMemo.class), dbOperations);
+        final VersionedMemo memo = new VersionedMemo(TestConstants.ID, TestConstants.FIRST_NAME, null);
+
+        when(dbOperations.insert(VersionedMemo.class.getSimpleName(), memo, null)).thenReturn(memo);
+
+        memoRepository.save(memo);
+
+        verify(dbOperations).insert(VersionedMemo.class.getSimpleName(), memo, null);
+        verify(dbOperations, never()).upsert(anyString(), any(), any());
+    }
+
+    @Test
+    public void testSaveAllReportsFailuresOfInsertsAndUpserts() {
+        final SimpleDocumentDbRepository<VersionedMemo, String> memoRepository = new SimpleDocumentDbRepository<>(
+                new DocumentDbEntityInformation<>(VersionedMemo.class), dbOperations);
+        final VersionedMemo newMemo = new VersionedMemo(TestConstants.ID, TestConstants.FIRST_NAME, null);
+        final VersionedMemo savedMemo = new VersionedMemo(TestConstants.NEW_ID, TestConstants.LAST_NAME, "\"1\"");
+        final RuntimeException insertFailure = new IllegalStateException("insert");
+        final RuntimeException upsertFailure = new IllegalStateException("upsert");
+        final BulkWriteResult<VersionedMemo> inserted = new BulkWriteResult<>(Collections.emptyList(),
+                Collections.singletonList(new BulkWriteResult.Failure<>(0, newMemo, insertFailure)));
+        final BulkWriteResult<VersionedMemo> upserted = new BulkWriteResult<>(Collections.emptyList(),
+                Collections.singletonList(new BulkWriteResult.Failure<>(0, savedMemo, upsertFailure)));
+
+        when(dbOperations.insertAll(VersionedMemo.class.getSimpleName(), Arrays.asList(newMemo)))
+                .thenReturn(inserted);
+        when(dbOperations.upsertAll(VersionedMemo.class.getSimpleName(), Arrays.asList(savedMemo)))
+                .thenReturn(upserted);
+
+        try {
+            memoRepository.saveAll(Arrays.asList(newMemo, savedMemo));
+            fail("saveAll should fail when any entity failed to be saved");
+        } catch (BulkWriteException e) {
+            assertTrue(e.getMessage().startsWith("Failed to save 2 of 2 entities"));
+            assertEquals(2, e.getFailureCount());
+            assertEquals(Arrays.asList(inserted, upserted), e.getResults());
+            assertSame(insertFailure, e.getCause());
+            assertArrayEquals(new Throwable[]{upsertFailure}, e.getSuppressed());
+        }
+    }
+
     @Test
     public void testFindOne() {
         when(dbOperations.findById(anyString(), any(), any())).thenReturn(TEST_PERSON);
@@ -103,4 +161,43 @@ public class SimpleDocumentDbRepositoryUnitTest {
         final Person result = repository.findById(TEST_PERSON.getId()).get();
         assertEquals(updatedPerson, result);
     }
+
+    @Test
+    public void testFindAllByIdQueriesNonEmptyIdsAtOnce() {
+        final List<String> ids = Arrays.asList(TEST_PERSON.getId(), "", TestConstants.NEW_ID);
+        final List<String> queriedIds = Arrays.asList(TEST_PERSON.getId(), TestConstants.NEW_ID);
+
+        when(dbOperations.findByIds(Person.class.getSimpleName(), queriedIds, Person.class))
+                .thenReturn(Arrays.asList(TEST_PERSON));
+
+        final List<Person> result = Lists.newArrayList(repository.findAllById(ids));
+
+        assertEquals(Arrays.asList(TEST_PERSON), result);
+        verify(dbOperations).findByIds(Person.class.getSimpleName(), queriedIds, Person.class);
+    }
+
+    @Test
+    public void testCountIsQueriedByDatabase() {
+        when(dbOperations.count(Person.class.getSimpleName())).thenReturn(2L);
+
+        assertEquals(2L, repository.count());
+    }
+
+    @Test
+    public void testExistsByIdDoesNotReadEntity() {
+        when(dbOperations.existsById(Person.class.getSimpleName(), TEST_PERSON.getId(), null)).thenReturn(true);
+
+        assertEquals(true, repository.existsById(TEST_PERSON.getId()));
+        assertEquals(false, repository.existsById(""));
+    }
+
+    @Test
+    public void testFindAllByPageable() {
+        final Pageable pageable = PageRequest.of(0, 1);
+        final Page<Person> page = new PageImpl<>(Arrays.asList(TEST_PERSON), pageable, 1);
+
+        when(dbOperations.findAll(pageable, Person.class, Person.class.getSimpleName())).thenReturn(page);
+
+        assertEquals(page, repository.findAll(pageable));
+    }
 }
@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.repository.config;
 
+import com.microsoft.azure.spring.data.cosmosdb.repository.AsyncDocumentDbRepository;
 import com.microsoft.azure.spring.data.cosmosdb.repository.DocumentDbRepository;
 import org.junit.Test;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -48,9 +49,19 @@ public class DocumentDbRepositoryConfigurationExtensionUnitTest {
         assertHashRepo(TestRepository.class, extension.getRepositoryConfigurations(configurationSource, loader, true));
     }
 
+    @Test
+    public void isStrictMatchIfRepositoryExtendsAsyncBase() {
+        final DocumentDbRepositoryConfigurationExtension extension = new DocumentDbRepositoryConfigurationExtension();
+        assertHashRepo(TestAsyncRepository.class,
+                extension.getRepositoryConfigurations(configurationSource, loader, true));
+    }
+
     interface TestRepository extends DocumentDbRepository<Object, String> {
     }
 
+    interface TestAsyncRepository extends AsyncDocumentDbRepository<Object, String> {
+    }
+
     @EnableDocumentDbRepositories(considerNestedRepositories = true)
     static class Config {
 
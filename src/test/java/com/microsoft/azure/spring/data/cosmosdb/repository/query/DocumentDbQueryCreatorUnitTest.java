@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Query;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DocumentDbQueryCreatorUnitTest {
+
+    private static Query createQuery(PartTree tree) {
+        final DocumentDbParameterAccessor accessor = mock(DocumentDbParameterAccessor.class);
+
+        when(accessor.getSort()).thenReturn(Sort.unsorted());
+        when(accessor.iterator()).thenReturn(Collections.emptyIterator());
+
+        return new DocumentDbQueryCreator(tree, accessor, new DocumentDbMappingContext()).createQuery();
+    }
+
+    @Test
+    public void createSortedQueryOfMethodWithoutPredicate() {
+        final PartTree tree = new PartTree("findTop10ByOrderByFirstNameDesc", Person.class);
+
+        final Query query = createQuery(tree);
+
+        assertThat(tree.getMaxResults()).isEqualTo(10);
+        assertThat(query.getCriteria().isPresent()).isFalse();
+        assertThat(query.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "firstName"));
+    }
+
+    @Test
+    public void createQueryOfFindAllOrderedBy() {
+        final Query query = createQuery(new PartTree("findAllByOrderByLastNameAsc", Person.class));
+
+        assertThat(query.getCriteria().isPresent()).isFalse();
+        assertThat(query.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "lastName"));
+    }
+}
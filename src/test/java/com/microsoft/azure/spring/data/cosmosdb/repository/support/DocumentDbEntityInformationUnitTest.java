@@ -7,8 +7,10 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.EntityCache;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.VersionedMemo;
 import org.junit.Test;
 
 import java.util.List;
@@ -33,6 +35,19 @@ public class DocumentDbEntityInformationUnitTest {
         assertThat(idField).isEqualTo(testPerson.getId());
     }
 
+    @Test
+    public void testVersionedEntityIsNewUntilSaved() {
+        final DocumentDbEntityInformation<VersionedMemo, String> entityInformation =
+                new DocumentDbEntityInformation<>(VersionedMemo.class);
+        final VersionedMemo memo = new VersionedMemo(ID, "message", null);
+
+        assertThat(entityInformation.isNew(memo)).isTrue();
+
+        memo.setVersion("\"etag\"");
+
+        assertThat(entityInformation.isNew(memo)).isFalse();
+    }
+
     @Test
     public void testGetIdType() {
         final DocumentDbEntityInformation<Person, String> entityInformation =
@@ -42,6 +57,15 @@ public class DocumentDbEntityInformationUnitTest {
         assertThat(idType.getSimpleName()).isEqualTo(String.class.getSimpleName());
     }
 
+    @Test
+    public void testGetInstanceIsSharedPerDomainClass() {
+        final DocumentDbEntityInformation<Person, String> entityInformation =
+                DocumentDbEntityInformation.getInstance(Person.class);
+
+        assertThat(DocumentDbEntityInformation.<Person, String>getInstance(Person.class)).isSameAs(entityInformation);
+        assertThat(entityInformation.getCollectionName()).isEqualTo(Person.class.getSimpleName());
+    }
+
     @Test
     public void testGetCollectionName() {
         final DocumentDbEntityInformation<Person, String> entityInformation =
@@ -60,6 +84,25 @@ public class DocumentDbEntityInformationUnitTest {
         assertThat(collectionName).isEqualTo("testCollection");
     }
 
+    @Test
+    public void testEntityCacheSettings() {
+        final DocumentDbEntityInformation<Country, String> cached = new DocumentDbEntityInformation<>(Country.class);
+        final DocumentDbEntityInformation<Person, String> notCached = new DocumentDbEntityInformation<>(Person.class);
+
+        assertThat(cached.isEntityCacheEnabled()).isTrue();
+        assertThat(cached.getEntityCacheMaximumSize()).isEqualTo(500);
+        assertThat(cached.getEntityCacheTimeToLive()).isEqualTo(30);
+        assertThat(notCached.isEntityCacheEnabled()).isFalse();
+        assertThat(notCached.getEntityCacheMaximumSize()).isEqualTo(0);
+    }
+
+    @Document
+    @EntityCache(maximumSize = 500, timeToLive = 30)
+    class Country {
+        String id;
+        String name;
+    }
+
     @Document(collection = "testCollection")
     class Volunteer {
         String id;
@@ -5,17 +5,29 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import com.microsoft.azure.spring.data.cosmosdb.core.AsyncDocumentDbTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.DocumentDbTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingDocumentDbConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentDbMappingContext;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.repository.AsyncContactRepository;
+import com.microsoft.azure.spring.data.cosmosdb.repository.Contact;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.data.repository.core.EntityInformation;
 
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DocumentDbRepositoryFactoryUnitTest {
@@ -32,4 +44,23 @@ public class DocumentDbRepositoryFactoryUnitTest {
         final EntityInformation<Person, String> entityInfo = factory.getEntityInformation(Person.class);
         assertTrue(entityInfo instanceof DocumentDbEntityInformation);
     }
+
+    @Test
+    public void createAsyncRepositoryWithAsyncQueries() {
+        final Contact contact = new Contact("id", "title");
+        final AsyncDocumentDbTemplate asyncTemplate = new AsyncDocumentDbTemplate(dbTemplate, Runnable::run);
+        final StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("asyncDocumentDbTemplate", asyncTemplate);
+
+        when(dbTemplate.getConverter()).thenReturn(new MappingDocumentDbConverter(new DocumentDbMappingContext(),
+                null));
+        when(dbTemplate.find(any(), eq(Contact.class), any())).thenReturn(Collections.singletonList(contact));
+        when(dbTemplate.findById(any(), eq("id"), eq(Contact.class))).thenReturn(contact);
+
+        final AsyncContactRepository repository = new DocumentDbRepositoryFactory(dbTemplate, asyncTemplate, context)
+                .getRepository(AsyncContactRepository.class);
+
+        assertThat(repository.findByTitle("title").join()).containsExactly(contact);
+        assertThat(repository.findById("id").join().get()).isSameAs(contact);
+    }
 }